@@ -1,13 +1,106 @@
 package com.techelevator;
 
+import com.techelevator.api.VendingMachineServer;
 import com.techelevator.application.*;
+import com.techelevator.models.Catalog;
+import com.techelevator.models.file_io.CatalogWatcher;
+import com.techelevator.ui.UserInput;
+import com.techelevator.ui.UserOutput;
+import com.techelevator.view.Screen;
 
-public class VendingMachineCLI 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+public class VendingMachineCLI
 {
 
-	public static void main(String[] args) 
+	// Without arguments the machine in data/ runs at the terminal. With --script <file> --dir <directory> the
+	// commands in the file are run without any screens (see ScriptRunner) against the machine in directory,
+	// e.g. a scratch copy for a load test - never the live one in data/, so --dir is required. With
+	// --http <port> the machine in data/ is served to the mobile app and back office on localhost (see
+	// VendingMachineServer)
+	public static void main(String[] args) throws IOException
 	{
+		String port = option(args, "--http");
+		if (port != null) {
+			try {
+				serve(Integer.parseInt(port));
+			} catch (NumberFormatException ex) {
+				System.out.println("--http needs a port number, not \"" + port + "\"");
+			}
+			return;
+		}
+
+		String script = option(args, "--script");
+		if (script != null) {
+			String directory = option(args, "--dir");
+			if (directory == null) {
+				System.out.println("--script needs --dir <directory>, a scratch directory to run the machine in");
+			} else {
+				runScript(new File(script), directory);
+			}
+			return;
+		}
+
+		// on a terminal only the parts of the screen that change are repainted
+		if (System.console() != null) Screen.install();
+
 		VendingMachine vendingMachine = new VendingMachine();
+
+		// pick up changes to the products file without restarting the machine
+		try {
+			new CatalogWatcher(new File("data/vendingmachine.csv"), vendingMachine::reloadCatalog).start();
+		} catch (IOException ex) {
+			System.out.println("Could not watch the products file for changes: " + ex.getMessage());
+		}
+
 		vendingMachine.run();
+		Screen.uninstall();
+	}
+
+	private static void runScript(File script, String directory) {
+		// nothing is drawn and nothing is asked
+		PrintStream nowhere = new PrintStream(OutputStream.nullOutputStream());
+		UserInput input = new UserInput(InputStream.nullInputStream(), nowhere);
+		UserOutput output = new UserOutput(nowhere);
+		new File(directory).mkdirs();
+		VendingMachine vendingMachine = new VendingMachine(Catalog.load(new File("data/vendingmachine.csv")), directory, input, output);
+
+		ScriptRunner runner = new ScriptRunner(vendingMachine);
+		try {
+			runner.run(script);
+		} catch (IOException ex) {
+			System.out.println("Could not read the script: " + ex.getMessage());
+		}
+		vendingMachine.checkpoint();
+		vendingMachine.close();
+		System.out.print(runner.summary());
+	}
+
+	private static void serve(int port) throws IOException {
+		PrintStream nowhere = new PrintStream(OutputStream.nullOutputStream());
+		VendingMachine vendingMachine = new VendingMachine(new UserInput(InputStream.nullInputStream(), nowhere), new UserOutput(nowhere));
+		VendingMachineServer server = new VendingMachineServer(vendingMachine, port);
+
+		// Ctrl+C finishes the open sessions (see VendingMachineServer.stop), then saves the machine's state,
+		// like leaving the main menu does
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			server.stop(1);
+			vendingMachine.checkpoint();
+			vendingMachine.close();
+		}));
+		server.start();
+		System.out.println("Serving the vending machine on http://localhost:" + server.getPort() + "/inventory");
+	}
+
+	// The value after name in args, or null
+	private static String option(String[] args, String name) {
+		for (int i = 0; i < args.length - 1; i++) {
+			if (args[i].equals(name)) return args[i + 1];
+		}
+		return null;
 	}
 }
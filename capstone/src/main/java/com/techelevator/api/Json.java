@@ -0,0 +1,102 @@
+package com.techelevator.api;
+
+import java.util.List;
+
+// Just enough JSON writing for the API's responses: objects are built up field by field in a StringBuilder,
+// so a response is rendered in one pass without a JSON library
+final class Json {
+
+    private final StringBuilder json = new StringBuilder(256);
+    // whether the object or array just opened still has no members, so the next one needs no comma
+    private boolean first = true;
+
+    Json beginObject() {
+        separate();
+        json.append('{');
+        first = true;
+        return this;
+    }
+
+    Json beginObject(String name) {
+        name(name);
+        json.append('{');
+        first = true;
+        return this;
+    }
+
+    Json endObject() {
+        json.append('}');
+        first = false;
+        return this;
+    }
+
+    Json beginArray(String name) {
+        name(name);
+        json.append('[');
+        first = true;
+        return this;
+    }
+
+    Json endArray() {
+        json.append(']');
+        first = false;
+        return this;
+    }
+
+    Json field(String name, String value) {
+        name(name);
+        quote(value);
+        first = false;
+        return this;
+    }
+
+    Json field(String name, long value) {
+        name(name);
+        json.append(value);
+        first = false;
+        return this;
+    }
+
+    Json field(String name, List<String> values) {
+        beginArray(name);
+        for (String value : values) {
+            separate();
+            quote(value);
+            first = false;
+        }
+        return endArray();
+    }
+
+    @Override
+    public String toString() {
+        return json.toString();
+    }
+
+    private void name(String name) {
+        separate();
+        quote(name);
+        json.append(':');
+    }
+
+    private void separate() {
+        if (!first) json.append(',');
+    }
+
+    private void quote(String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20) json.append(String.format("\\u%04x", (int) c));
+                    else json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
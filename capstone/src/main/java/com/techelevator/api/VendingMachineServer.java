@@ -0,0 +1,373 @@
+package com.techelevator.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.techelevator.application.VendingMachine;
+import com.techelevator.models.Catalog;
+import com.techelevator.models.SalesSnapshot;
+import com.techelevator.models.Session;
+import com.techelevator.models.TimerWheel;
+import com.techelevator.models.exceptions.AmountLessThanOneException;
+import com.techelevator.models.exceptions.ChangeUnavailableException;
+import com.techelevator.models.exceptions.InsufficientFundsException;
+import com.techelevator.models.exceptions.InvalidIDException;
+import com.techelevator.models.exceptions.SoldOutException;
+import com.techelevator.models.file_io.SalesReportPrinter;
+import com.techelevator.models.products.Product;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// A local HTTP/JSON API for one machine, for the mobile ordering app and the back office:
+//   GET  /inventory                          every product with its price and stock
+//   POST /sessions                           starts a customer session, returns its token
+//   GET  /sessions/{token}                   the session's balance
+//   POST /sessions/{token}/feed?amount=5     feeds whole dollars (the amount can also be a form body)
+//   POST /sessions/{token}/purchase/{id}     buys a product
+//   POST /sessions/{token}/finish            dispenses the change and ends the session
+//   GET  /report                             the sales report
+// Remote customers each get their own Session, exactly like a second customer at the machine, so the API goes
+// through the same purchase, journal and sales report logic as the terminal. Requests are handled on virtual
+// threads when the JVM has them; idle keep-alive connections wait in the server's selector, not on a thread.
+// A session nobody has used for a while is finished by the server, which dispenses and journals its change, and
+// only so many sessions can be open at once, past that opening one answers 503
+public class VendingMachineServer {
+
+    // pending connections the OS queues while the server is busy accepting others
+    private static final int BACKLOG = 4096;
+    private static final long DEFAULT_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final int DEFAULT_MAX_SESSIONS = 10_000;
+
+    static {
+        // The JDK server closes keep-alive connections beyond 200 idle ones, and waits for the client's ACK
+        // before sending a response's body (Nagle), unless told otherwise. Read once, when the first server starts
+        setDefault("sun.net.httpserver.maxIdleConnections", "20000");
+        setDefault("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final VendingMachine machine;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    // session token -> the remote customer's session. Tokens are random, so a client can't guess its way into
+    // another customer's balance, and they are never reused even though the sessions themselves are
+    private final Map<String, RemoteSession> sessions = new ConcurrentHashMap<>();
+    // counted apart from the map, so two customers can't both take the last place
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private final TimerWheel timerWheel;
+    private final long idleMillis;
+    private final int maxSessions;
+
+    // Listens on localhost only; port 0 picks a free port (see getPort)
+    public VendingMachineServer(VendingMachine machine, int port) throws IOException {
+        this(machine, port, TimerWheel.shared(), DEFAULT_IDLE_MILLIS, DEFAULT_MAX_SESSIONS);
+    }
+
+    public VendingMachineServer(VendingMachine machine, int port, TimerWheel timerWheel, long idleMillis, int maxSessions) throws IOException {
+        this.machine = machine;
+        this.timerWheel = timerWheel;
+        this.idleMillis = idleMillis;
+        this.maxSessions = maxSessions;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        this.executor = newExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    // Stops taking requests and waits up to delaySeconds for the ones in flight, then finishes every session
+    // still open: its change is dispensed and journaled, since its token means nothing after a restart
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        for (RemoteSession remote : sessions.values()) {
+            remote.lock.lock();
+            try {
+                if (!remote.finished) close(remote);
+            } finally {
+                remote.lock.unlock();
+            }
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public int getOpenSessions() {
+        return openSessions.get();
+    }
+
+    // A virtual thread per request on Java 21 and later. The project targets Java 11, so the method is looked up
+    // at run time; older JVMs get a pool that starts a thread per request in flight and reuses them afterwards
+    static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "vending-machine-http");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            // the body is read before answering, so the connection can be kept alive
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+
+            if (path.length == 1 && path[0].equals("inventory")) {
+                if (allowed(exchange, method, "GET")) send(exchange, 200, inventory());
+            } else if (path.length == 1 && path[0].equals("report")) {
+                if (allowed(exchange, method, "GET")) send(exchange, 200, report());
+            } else if (path.length == 1 && path[0].equals("sessions")) {
+                if (allowed(exchange, method, "POST")) openSession(exchange);
+            } else if (path.length >= 2 && path[0].equals("sessions")) {
+                handleSession(exchange, method, path, parameter(exchange.getRequestURI().getRawQuery(), body, "amount"));
+            } else {
+                send(exchange, 404, error("Not found"));
+            }
+        } catch (RuntimeException ex) {
+            // once the status has gone out a second one can't be sent, closing the exchange is all that's left
+            // the details stay in the machine's output, the client only learns that it failed
+            System.out.println("A request to " + exchange.getRequestURI().getPath() + " failed: " + ex);
+            if (exchange.getResponseCode() == -1) send(exchange, 500, error("Internal error"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleSession(HttpExchange exchange, String method, String[] path, String amount) throws IOException {
+        RemoteSession remote = sessions.get(path[1]);
+        if (remote == null) {
+            send(exchange, 404, error("No such session"));
+            return;
+        }
+
+        // one request at a time per customer, so a finish can't hand the session back to the pool while a
+        // purchase on it is still running. A lock rather than synchronized, which would pin a virtual thread
+        remote.lock.lock();
+        try {
+            if (remote.finished) {
+                send(exchange, 404, error("No such session"));
+                return;
+            }
+            remote.lastUsed = System.nanoTime();
+            if (path.length == 2) {
+                if (allowed(exchange, method, "GET")) send(exchange, 200, balance(remote).endObject().toString());
+            } else if (path.length == 3 && path[2].equals("feed")) {
+                if (allowed(exchange, method, "POST")) feed(exchange, remote, amount);
+            } else if (path.length == 4 && path[2].equals("purchase")) {
+                if (allowed(exchange, method, "POST")) purchase(exchange, remote, path[3]);
+            } else if (path.length == 3 && path[2].equals("finish")) {
+                if (allowed(exchange, method, "POST")) finish(exchange, remote);
+            } else {
+                send(exchange, 404, error("Not found"));
+            }
+        } finally {
+            remote.lock.unlock();
+        }
+    }
+
+    private String inventory() {
+        Json json = new Json().beginObject().beginArray("products");
+        for (Product product : machine.getInventory().getCatalog().getProducts()) {
+            product(json.beginObject(), product).field("quantity", machine.getInventory().getQuantity(product)).endObject();
+        }
+        return json.endArray().endObject().toString();
+    }
+
+    // Rendered from one snapshot of the counters, so the numbers and the text always agree
+    private String report() {
+        Catalog catalog = machine.getInventory().getCatalog();
+        SalesSnapshot sales = machine.getSalesCounters().snapshot();
+        Json json = new Json().beginObject().beginArray("products");
+        for (Product product : catalog.getProducts()) {
+            product(json.beginObject(), product).field("unitsSold", sales.getUnitsSold(product.getId())).endObject();
+        }
+        return json.endArray()
+                .field("totalSalesInCents", sales.getRevenue())
+                .field("report", SalesReportPrinter.render(catalog, sales))
+                .endObject().toString();
+    }
+
+    private void openSession(HttpExchange exchange) throws IOException {
+        if (openSessions.incrementAndGet() > maxSessions) {
+            openSessions.decrementAndGet();
+            exchange.getResponseHeaders().set("Retry-After", "60");
+            send(exchange, 503, error("Too many customers, please try again later"));
+            return;
+        }
+        String token = UUID.randomUUID().toString();
+        RemoteSession remote = new RemoteSession(token, machine.openSession());
+        sessions.put(token, remote);
+        timerWheel.schedule(remote, idleMillis);
+        send(exchange, 201, balance(remote).field("session", token).endObject().toString());
+    }
+
+    private void feed(HttpExchange exchange, RemoteSession remote, String amount) throws IOException {
+        try {
+            // checked here, the machine quietly ignores an amount that isn't whole dollars
+            Integer.parseInt(amount == null ? "" : amount.trim());
+            machine.feedMoney(remote.session, amount.trim());
+            send(exchange, 200, balance(remote).endObject().toString());
+        } catch (NumberFormatException ex) {
+            send(exchange, 400, error("Please enter a whole dollar amount only"));
+        } catch (AmountLessThanOneException ex) {
+            send(exchange, 400, error(ex.getMessage()));
+        }
+    }
+
+    private void purchase(HttpExchange exchange, RemoteSession remote, String id) throws IOException {
+        try {
+            Product product = machine.purchase(remote.session, id);
+            send(exchange, 200, product(balance(remote).beginObject("product"), product).endObject().endObject().toString());
+        } catch (InvalidIDException ex) {
+            send(exchange, 404, error(ex.getMessage()));
+        } catch (InsufficientFundsException ex) {
+            send(exchange, 402, error(ex.getMessage()));
+        } catch (SoldOutException | ChangeUnavailableException ex) {
+            send(exchange, 409, error(ex.getMessage()));
+        }
+    }
+
+    private void finish(HttpExchange exchange, RemoteSession remote) throws IOException {
+        String change = close(remote);
+        send(exchange, 200, new Json().beginObject().field("change", lines(change)).endObject().toString());
+    }
+
+    // Called with the session's lock held
+    private String close(RemoteSession remote) {
+        remote.finished = true;
+        sessions.remove(remote.token);
+        openSessions.decrementAndGet();
+        return machine.finish(remote.session);
+    }
+
+    // An open object with the session's balance, for the caller to add to and close
+    private static Json balance(RemoteSession remote) {
+        return new Json().beginObject().field("balanceInCents", remote.session.getWallet().getMoneyInMachine());
+    }
+
+    // Adds the product's fields to the object json has open
+    private static Json product(Json json, Product product) {
+        return json
+                .field("id", product.getId())
+                .field("name", product.getName())
+                .field("type", product.getType())
+                .field("priceInCents", product.getPriceInCents());
+    }
+
+    // The machine's messages are written for the terminal, across several indented lines
+    private static String error(String message) {
+        String text = message == null ? "" : message.trim().replaceAll("\\s*\\R\\s*", " ");
+        return new Json().beginObject().field("error", text).endObject().toString();
+    }
+
+    // "\n1 x $1\n2 x $0.25" -> ["1 x $1", "2 x $0.25"]
+    private static List<String> lines(String text) {
+        List<String> lines = new ArrayList<>();
+        for (String line : text.split("\\R")) {
+            if (!line.isBlank()) lines.add(line.trim());
+        }
+        return lines;
+    }
+
+    // A parameter from the query string, or else from a form encoded body
+    private static String parameter(String query, String body, String name) {
+        String value = parameter(query, name);
+        return value != null ? value : parameter(body, name);
+    }
+
+    private static String parameter(String encoded, String name) {
+        if (encoded == null) return null;
+        for (String pair : encoded.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0 && URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8).equals(name)) {
+                return URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static boolean allowed(HttpExchange exchange, String method, String expected) throws IOException {
+        if (method.equals(expected)) return true;
+        exchange.getResponseHeaders().set("Allow", expected);
+        send(exchange, 405, error("Use " + expected));
+        return false;
+    }
+
+    // Always with a Content-Length, so the client can keep the connection for its next request
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(bytes);
+        }
+    }
+
+    private static void setDefault(String property, String value) {
+        if (System.getProperty(property) == null) System.setProperty(property, value);
+    }
+
+    // Expires on the timer wheel once nobody has used it for idleMillis. A customer who walked away gets their
+    // change dispensed and journaled, like the finish they never sent, so the balance isn't stranded in the machine
+    private final class RemoteSession implements TimerWheel.Timeout {
+        private final String token;
+        private final Session session;
+        private final Lock lock = new ReentrantLock();
+        private volatile boolean finished;
+        private volatile long lastUsed = System.nanoTime();
+
+        RemoteSession(String token, Session session) {
+            this.token = token;
+            this.session = session;
+        }
+
+        @Override
+        public boolean isDone() {
+            return finished;
+        }
+
+        @Override
+        public void expire() {
+            // the ticker thread doesn't wait behind a request, a session in use isn't idle anyway
+            if (!lock.tryLock()) {
+                timerWheel.schedule(this, idleMillis);
+                return;
+            }
+            try {
+                if (finished) return;
+                long idle = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastUsed);
+                if (idle < idleMillis) {
+                    timerWheel.schedule(this, idleMillis - idle);
+                } else {
+                    close(this);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
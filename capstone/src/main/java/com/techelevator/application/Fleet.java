@@ -0,0 +1,63 @@
+package com.techelevator.application;
+
+import com.techelevator.models.Catalog;
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Runs many vending machines side by side in one process. Every machine has its own inventory,
+// money, log and sales report (written to its own directory); only the immutable catalog is shared
+public class Fleet {
+
+    private volatile Catalog catalog;
+    private final File rootDirectory;
+    private final Map<String, VendingMachine> machines = new ConcurrentHashMap<>();
+
+    //Constructor
+    public Fleet(Catalog catalog, File rootDirectory) {
+        this.catalog = catalog;
+        this.rootDirectory = rootDirectory;
+    }
+
+    public Catalog getCatalog() {
+        return catalog;
+    }
+
+    // Switches every machine to a new catalog; products in both catalogs keep their stock
+    public synchronized void reloadCatalog(Catalog catalog) {
+        this.catalog = catalog;
+        for (VendingMachine machine : machines.values()) {
+            machine.reloadCatalog(catalog);
+        }
+    }
+
+    // Adds a machine with the given ID, or returns the existing one if the ID is already in use
+    public VendingMachine addMachine(String machineId) {
+        return machines.computeIfAbsent(machineId, id -> {
+            File directory = new File(rootDirectory, id);
+            directory.mkdirs();
+            return new VendingMachine(catalog, directory.getPath());
+        });
+    }
+
+    public VendingMachine getMachine(String machineId) {
+        return machines.get(machineId);
+    }
+
+    // The removed machine is closed, so its log is complete
+    public VendingMachine removeMachine(String machineId) {
+        VendingMachine machine = machines.remove(machineId);
+        if (machine != null) machine.close();
+        return machine;
+    }
+
+    public Collection<VendingMachine> getMachines() {
+        return Collections.unmodifiableCollection(machines.values());
+    }
+
+    public int size() {
+        return machines.size();
+    }
+}
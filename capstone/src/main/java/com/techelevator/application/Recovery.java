@@ -0,0 +1,78 @@
+package com.techelevator.application;
+
+import com.techelevator.models.Inventory;
+import com.techelevator.models.SalesCounters;
+import com.techelevator.models.SalesTimeSeries;
+import com.techelevator.models.file_io.JournalRecord;
+import com.techelevator.models.products.Product;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Replays journal records written after the last checkpoint, bringing the stock levels, the sales (totals
+// and time series) and every session's balance back to where they were when the machine stopped
+class Recovery implements Consumer<JournalRecord> {
+
+    private final Inventory inventory;
+    private final SalesCounters sales;
+    private final SalesTimeSeries timeSeries;
+    private final int sessionID;
+    // session ID -> balance in cents, the terminal customer's included
+    private final Map<Integer, Long> balances = new HashMap<>();
+    private long replayed;
+
+    // balance is the terminal customer's balance (in cents) at the checkpoint, sessionBalances the other
+    // sessions' balances
+    Recovery(Inventory inventory, SalesCounters sales, SalesTimeSeries timeSeries, int sessionID, long balance,
+             Map<Integer, Long> sessionBalances) {
+        this.inventory = inventory;
+        this.sales = sales;
+        this.timeSeries = timeSeries;
+        this.sessionID = sessionID;
+        this.balances.putAll(sessionBalances);
+        this.balances.put(sessionID, balance);
+    }
+
+    @Override
+    public void accept(JournalRecord record) {
+        replayed++;
+
+        Product product = record.getProductID().isEmpty() ? null : inventory.findProductByID(record.getProductID());
+        switch (record.getType()) {
+            case JournalRecord.PURCHASE:
+                // a product taken out of the catalog since still counts as sold
+                if (product != null) inventory.tryDecrementQuantity(product);
+                sales.add(record.getProductID(), 1, record.getAmount());
+                timeSeries.record(record.getProductID(), 1, record.getTimestamp());
+                break;
+            case JournalRecord.RESTOCK:
+                if (product != null) inventory.incrementQuantity(product, (int) record.getAmount());
+                return;
+            default:
+                break;
+        }
+
+        // every money record carries its session's balance after it
+        balances.put(record.getSessionID(), record.getBalance());
+    }
+
+    // The terminal customer's balance
+    long getBalance() {
+        return balances.getOrDefault(sessionID, 0L);
+    }
+
+    // Money other sessions (remote orders) still held when the machine stopped, by session ID. Their
+    // customers can't get back to those sessions after a restart
+    Map<Integer, Long> getOtherBalances() {
+        Map<Integer, Long> others = new HashMap<>();
+        for (Map.Entry<Integer, Long> entry : balances.entrySet()) {
+            if (entry.getKey() != sessionID && entry.getValue() > 0) others.put(entry.getKey(), entry.getValue());
+        }
+        return others;
+    }
+
+    long getReplayed() {
+        return replayed;
+    }
+}
@@ -0,0 +1,136 @@
+package com.techelevator.application;
+
+import com.techelevator.models.exceptions.AmountLessThanOneException;
+import com.techelevator.models.exceptions.ChangeUnavailableException;
+import com.techelevator.models.exceptions.InsufficientFundsException;
+import com.techelevator.models.exceptions.InvalidIDException;
+import com.techelevator.models.exceptions.SoldOutException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Runs a command file against a machine without drawing any screens, as fast as the machine can go - for
+// replaying sessions from the field and for load testing the purchase logic. One command per line:
+//   feed <whole dollars>
+//   select <product ID>
+//   finish
+// Blank lines and lines starting with # are skipped. A command that fails (sold out, not enough money, ...)
+// is counted and the script carries on, like a customer at the machine would
+public class ScriptRunner {
+
+    // only the first failures are kept, a load test can have millions
+    private static final int MAX_FAILURE_MESSAGES = 100;
+
+    private final VendingMachine machine;
+    private long commands;
+    private long purchases;
+    private long transactions;
+    private long failureCount;
+    private final List<String> failures = new ArrayList<>();
+    private long elapsedNanos;
+
+    public ScriptRunner(VendingMachine machine) {
+        this.machine = machine;
+    }
+
+    public void run(File script) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(script, StandardCharsets.UTF_8))) {
+            run(reader);
+        }
+    }
+
+    public void run(BufferedReader script) throws IOException {
+        long start = System.nanoTime();
+        String line;
+        int lineNumber = 0;
+        while ((line = script.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            commands++;
+            String error = execute(line);
+            if (error != null) fail(lineNumber, line, error);
+        }
+        elapsedNanos += System.nanoTime() - start;
+    }
+
+    // Runs one command, returns why it failed or null
+    private String execute(String line) {
+        String[] parts = line.split("\\s+", 2);
+        String argument = parts.length > 1 ? parts[1] : "";
+
+        switch (parts[0].toLowerCase()) {
+            case "feed":
+                try {
+                    // checked here, so a bad amount is a failure instead of a message on the screen
+                    Integer.parseInt(argument);
+                    machine.feedMoney(argument);
+                    return null;
+                } catch (NumberFormatException ex) {
+                    return "Not a whole dollar amount";
+                } catch (AmountLessThanOneException ex) {
+                    return reason(ex);
+                }
+            case "select":
+                try {
+                    machine.purchase(argument);
+                    purchases++;
+                    return null;
+                } catch (InvalidIDException | InsufficientFundsException | SoldOutException | ChangeUnavailableException ex) {
+                    return reason(ex);
+                }
+            case "finish":
+                machine.finish();
+                transactions++;
+                return null;
+            default:
+                return "Unknown command";
+        }
+    }
+
+    private static String reason(Throwable ex) {
+        return ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage().trim().replaceAll("\\s*\\R\\s*", " ");
+    }
+
+    private void fail(int lineNumber, String line, String error) {
+        failureCount++;
+        if (failures.size() < MAX_FAILURE_MESSAGES) failures.add("line " + lineNumber + " (" + line + "): " + error);
+    }
+
+    public long getCommands() {
+        return commands;
+    }
+
+    public long getPurchases() {
+        return purchases;
+    }
+
+    public long getTransactions() {
+        return transactions;
+    }
+
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    // The first failures, e.g. "line 3 (select A1): Sorry, that item is sold out"
+    public List<String> getFailures() {
+        return new ArrayList<>(failures);
+    }
+
+    public String summary() {
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%d commands, %d purchases, %d transactions, %d failed in %.3f s (%.0f commands/sec)%n",
+                commands, purchases, transactions, failureCount, seconds, seconds == 0 ? 0 : commands / seconds));
+        for (String failure : failures) summary.append(failure).append(System.lineSeparator());
+        if (failureCount > failures.size()) summary.append("... and ").append(failureCount - failures.size()).append(" more").append(System.lineSeparator());
+        return summary.toString();
+    }
+}
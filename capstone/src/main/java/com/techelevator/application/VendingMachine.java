@@ -1,31 +1,159 @@
 package com.techelevator.application;
 
+import com.techelevator.models.CashBoxLedger;
+import com.techelevator.models.CashCassette;
+import com.techelevator.models.Catalog;
 import com.techelevator.models.CurrencyController;
 import com.techelevator.models.Inventory;
+import com.techelevator.models.MappedSalesCounters;
+import com.techelevator.models.Money;
+import com.techelevator.models.ParLevels;
+import com.techelevator.models.Reservation;
+import com.techelevator.models.ReservationBook;
+import com.techelevator.models.RestockManifest;
+import com.techelevator.models.SalesCounters;
+import com.techelevator.models.SalesTimeSeries;
+import com.techelevator.models.Session;
+import com.techelevator.models.SessionPool;
 import com.techelevator.models.exceptions.AmountLessThanOneException;
+import com.techelevator.models.exceptions.ChangeUnavailableException;
+import com.techelevator.models.exceptions.HoldExpiredException;
 import com.techelevator.models.exceptions.InsufficientFundsException;
 import com.techelevator.models.exceptions.InvalidIDException;
+import com.techelevator.models.exceptions.InvalidRestockException;
 import com.techelevator.models.exceptions.SoldOutException;
-import com.techelevator.models.file_io.Logger;
+import com.techelevator.models.file_io.InventorySnapshot;
+import com.techelevator.models.file_io.Journal;
+import com.techelevator.models.file_io.JournalLogger;
 import com.techelevator.models.file_io.SalesReportPrinter;
 import com.techelevator.models.products.Product;
+import com.techelevator.ui.ProductGrid;
 import com.techelevator.ui.UserInput;
 import com.techelevator.ui.UserOutput;
-import java.math.BigDecimal;
-import java.math.BigInteger;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 
 public class VendingMachine
 {
-    private Inventory inventory = new Inventory();
-    private CurrencyController currencyController = new CurrencyController();
-    private Logger logger = new Logger("data");
-    private SalesReportPrinter salesReportPrinter = new SalesReportPrinter("data");
+    private static final String SNAPSHOT_FILE = "inventory.snapshot";
+    private static final String PAR_LEVELS_FILE = "par_levels.csv";
+    private static final String RESTOCK_MANIFEST_FILE = "restock.csv";
+    private static final String SALES_COUNTERS_FILE = "sales.counters";
+    // what remote customers were owed when the machine restarted, for the operator to pay out
+    private static final String OWED_REFUNDS_FILE = "owed_refunds.txt";
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // a checkpoint is taken at least this often (in journal records), so replay at startup stays short
+    private static final long CHECKPOINT_INTERVAL = 1000;
+
+    private final Inventory inventory;
+    private final CashCassette cassette = new CashCassette();
+    private final CashBoxLedger cashBoxLedger = new CashBoxLedger();
+    private final SessionPool sessions = new SessionPool(cassette, cashBoxLedger);
+    // the customer standing at the terminal; remote customers open their own sessions
+    private final Session terminalSession = sessions.open();
+    private final CurrencyController currencyController = terminalSession.getWallet();
+    private final JournalLogger logger;
+    private final SalesCounters salesCounters;
+    private final SalesTimeSeries salesTimeSeries;
+    private final SalesReportPrinter salesReportPrinter;
+    private final InventorySnapshot inventorySnapshot;
+    private final String directory;
+    private final ReservationBook reservationBook;
+    // where the screens are drawn and the customer's answers come from
+    private final UserInput userInput;
+    private final UserOutput userOutput;
+    // kept between screens, so the grid's layout is only worked out again when the catalog changes
+    private final ProductGrid productGrid;
+    // changes that are journaled hold the read lock from the change until its record is written, so a
+    // checkpoint (write lock) never sees a change without its record or the other way round
+    private final ReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+    private volatile long lastCheckpointSequence;
+
+    public VendingMachine() {
+        this(new UserInput(), new UserOutput());
+    }
+
+    // The machine in data/, drawing its screens to output and reading the customer's answers from input
+    public VendingMachine(UserInput userInput, UserOutput userOutput) {
+        this("data", userInput, userOutput, checkpoint -> Inventory.load(new File("data/vendingmachine.csv"), new File("data", SNAPSHOT_FILE),
+                checkpoint == null ? null : checkpoint.getInventory()));
+    }
+
+    // Each machine gets its own inventory, money, log and sales report; only the catalog is shared
+    public VendingMachine(Catalog catalog, String directory) {
+        this(catalog, directory, new UserInput(), new UserOutput());
+    }
+
+    // A machine whose screens are drawn to output and whose customer answers through input
+    public VendingMachine(Catalog catalog, String directory, UserInput userInput, UserOutput userOutput) {
+        this(directory, userInput, userOutput, checkpoint -> {
+            if (checkpoint == null) return new Inventory(catalog);
+            checkpoint.getInventory().reload(catalog);
+            return checkpoint.getInventory();
+        });
+    }
+
+    // Starts from the machine's last checkpoint (if any) and replays the journal written after it
+    private VendingMachine(String directory, UserInput userInput, UserOutput userOutput, Function<InventorySnapshot.Checkpoint, Inventory> inventoryFromCheckpoint) {
+        this.directory = directory;
+        this.userInput = userInput;
+        this.userOutput = userOutput;
+        this.inventorySnapshot = new InventorySnapshot(new File(directory, SNAPSHOT_FILE));
+        InventorySnapshot.Checkpoint checkpoint = inventorySnapshot.loadCheckpoint();
+
+        this.inventory = inventoryFromCheckpoint.apply(checkpoint);
+        this.inventory.setParLevels(ParLevels.load(new File(directory, PAR_LEVELS_FILE)));
+        // a machine with neither a checkpoint nor a journal kept its all-time sales in the report alone (it was
+        // set up before the counters were saved), so they are seeded from it instead of being written over
+        SalesCounters recovered = checkpoint != null ? checkpoint.getSales()
+                : new File(directory, Journal.DIRECTORY).exists() ? new SalesCounters()
+                : SalesReportPrinter.load(directory, inventory.getCatalog());
+        this.salesCounters = openSalesCounters(directory, recovered);
+        this.salesTimeSeries = checkpoint == null ? new SalesTimeSeries() : checkpoint.getTimeSeries();
+        // transactions go to the journal; the text log is rendered from it on a background writer
+        this.logger = new JournalLogger(directory, openJournal(directory));
+        this.salesReportPrinter = new SalesReportPrinter(directory, inventory, salesCounters);
+        this.reservationBook = new ReservationBook(inventory);
+        this.productGrid = new ProductGrid(inventory);
+
+        recover(checkpoint);
+    }
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    public CurrencyController getCurrencyController() {
+        return currencyController;
+    }
+
+    public CashCassette getCashCassette() {
+        return cassette;
+    }
+
+    public CashBoxLedger getCashBoxLedger() {
+        return cashBoxLedger;
+    }
 
 
     public void run()
     {
         // clear screen
-        UserOutput.clearScreen();
+        userOutput.clearScreen();
 
         // display a welcome screen
         welcome();
@@ -36,10 +164,10 @@ public class VendingMachine
     }
 
     public void welcome() {
-        UserOutput.displayWelcomeScreen();
+        userOutput.displayWelcomeScreen();
 
         // prompt user to press enter to continue
-        UserInput.pressEnterToContinuePrompt();
+        userInput.pressEnterToContinuePrompt();
 
     }
 
@@ -48,16 +176,16 @@ public class VendingMachine
         while(!option.equals("3"))
         {
             // clear screen
-            UserOutput.clearScreen();
+            userOutput.clearScreen();
 
             // display menu
-            UserOutput.displayHomeScreenMenu();
+            userOutput.displayHomeScreenMenu();
 
             // get user input
-            option = UserInput.getSelection();
+            option = userInput.getSelection();
 
             // clear screen
-            UserOutput.clearScreen();
+            userOutput.clearScreen();
 
             mainMenuMakeChoice(option);
 
@@ -75,31 +203,41 @@ public class VendingMachine
                 purchaseMenu();
                 break;
             case "3":
+                // keep the stock levels for the next start
+                checkpoint();
+                // write out anything still waiting to be logged
+                close();
                 // say goodbye to the user
-                UserOutput.goodbye();
+                userOutput.goodbye();
                 break;
             case "4":
                 // print sales report
                 salesReportPrinter.printReport();
-                UserOutput.salesReportMessage();
+                userOutput.salesReportMessage();
+                break;
+            case "5":
+                // restock from the manifest left by the route driver
+                restockFromManifest();
+                // prompt user to press enter to continue
+                userInput.pressEnterToContinuePrompt();
                 break;
             default:
-                UserOutput.printSorryMessage();
+                userOutput.printSorryMessage();
                 // invalid option try again
-                UserOutput.invalidSelection();
+                userOutput.invalidSelection();
                 // prompt user to press enter to continue
-                UserInput.pressEnterToContinuePrompt();
+                userInput.pressEnterToContinuePrompt();
                 break;
         }
     }
 
     public void displayInventoryScreen() {
-        UserOutput.displayInventoryAsGrid(inventory);
+        userOutput.displayInventoryAsGrid(productGrid);
         // prompt user to press enter to continue
-        UserInput.pressEnterToContinuePrompt();
+        userInput.pressEnterToContinuePrompt();
 
         // clear screen
-        UserOutput.clearScreen();
+        userOutput.clearScreen();
     }
 
     public void purchaseMenu(){
@@ -107,19 +245,19 @@ public class VendingMachine
 
         while (keepLooping) {
             // clear screen
-            UserOutput.clearScreen();
+            userOutput.clearScreen();
 
             // output vending machine image
-            UserOutput.printVendingMachine();
+            userOutput.printVendingMachine();
 
             // show current money provided
-            UserOutput.displayMoneyInMachine(currencyController);
+            userOutput.displayMoneyInMachine(currencyController);
 
             // display three menu options
-            UserOutput.displayPurchaseMenu();
+            userOutput.displayPurchaseMenu();
 
             // get user input
-            String option = UserInput.getSelection();
+            String option = userInput.getSelection();
 
             keepLooping = purchaseMenuMakeChoice(option);
 
@@ -136,7 +274,7 @@ public class VendingMachine
                 feedMoneyScreen();
 
                 // prompt user if they want to add more money or return to previous screen
-                String choice = UserInput.addMoreMoneyPrompt();
+                String choice = userInput.addMoreMoneyPrompt();
 
                 // break if they want to return to prev screen
                 if (choice.equalsIgnoreCase("n")) break;
@@ -146,35 +284,35 @@ public class VendingMachine
              else if(option.equals("2"))
             {
                 // clear screen
-                UserOutput.clearScreen();
+                userOutput.clearScreen();
 
                 // display inventory
-                UserOutput.displayInventoryAsGrid(inventory);
+                userOutput.displayInventoryAsGrid(productGrid);
 
                 // show current money provided
-                UserOutput.displayMoneyInMachine(currencyController);
+                userOutput.displayMoneyInMachine(currencyController);
 
                 // if there's no money in machine, display no money message
-                if (currencyController.getMoneyInMachine().compareTo(BigDecimal.ZERO) <= 0) {
-                    UserInput.noMoneyInMachineMessage();
+                if (currencyController.getMoneyInMachine() <= 0) {
+                    userInput.noMoneyInMachineMessage();
                     break;
                 }
 
                 // get user input
-                String id = UserInput.getUserItemId();
+                String id = userInput.getUserItemId();
 
                 // clear screen
-                UserOutput.clearScreen();
+                userOutput.clearScreen();
 
                 validateAndMakePurchase(id);
 
                 // show current money provided
-                UserOutput.displayMoneyInMachine(currencyController);
+                userOutput.displayMoneyInMachine(currencyController);
 
                 // if money in machine <= 0, break
-                if (currencyController.getMoneyInMachine().compareTo(BigDecimal.ZERO) <= 0) break;
+                if (currencyController.getMoneyInMachine() <= 0) break;
 
-                String choice = UserInput.buyAnotherItemPrompt();
+                String choice = userInput.buyAnotherItemPrompt();
 
                 // break if they want to return to prev screen
                 if (choice.equalsIgnoreCase("n")) break;
@@ -191,11 +329,11 @@ public class VendingMachine
             else
             {
                 // invalid option try again
-                UserOutput.printSorryMessage();
-                UserOutput.invalidSelection();
+                userOutput.printSorryMessage();
+                userOutput.invalidSelection();
 
                 // prompt user to press enter to continue
-                UserInput.pressEnterToContinuePrompt();
+                userInput.pressEnterToContinuePrompt();
 
                 // break
                 break;
@@ -208,98 +346,402 @@ public class VendingMachine
 
     public void finishTransaction() {
         // clear screen
-        UserOutput.clearScreen();
+        userOutput.clearScreen();
 
-        // Logs the dispensing of change
-        if (!currencyController.getMoneyInMachine().equals(BigDecimal.ZERO))
-            logger.logMessage("DISPENSE CHANGE" , currencyController.getMoneyInMachine(), new BigDecimal(BigInteger.ZERO));
+        // Logs the dispensing of change and dispenses it
+        long balance = currencyController.getMoneyInMachine();
+        String change = settle(terminalSession, false);
 
-        // dispense change to the user
-        UserOutput.dispenseChange(currencyController);
+        // show the change to the user
+        userOutput.dispenseChange(change, balance);
+
+        // the journal keeps the transaction; a checkpoint is only taken when one is due
+        checkpointIfDue();
 
         // prompt user to press enter to continue
-        UserInput.pressEnterToContinuePrompt();
+        userInput.pressEnterToContinuePrompt();
     }
 
     public void validateAndMakePurchase(String id) {
         try {
-            if (!inventory.isIDValid(id)) throw new InvalidIDException("\nThe ID you entered is invalid", id);
-            Product product = inventory.getProductByID(id);
+            // resolve the ID once - null means there is no product with that ID
+            Product product = inventory.findProductByID(id);
+            if (product == null) throw new InvalidIDException("\nThe ID you entered is invalid", id);
 
             // attempt to make purchase
             boolean wasPurchaseSuccessful = purchaseItem(product);
+            checkpointIfDue();
 
             // if purchase was successful, output vending machine success message
             if(wasPurchaseSuccessful) {
-                UserOutput.vendingMachineSuccessMessage(product);
+                userOutput.vendingMachineSuccessMessage(product);
+            }
+
+        } catch (InvalidIDException ex) {
+            userOutput.printSorryMessage();
+            userOutput.printMessage(ex.getMessage());
+        }
+    }
+
+    // Swaps in a new catalog, see Inventory.reload. Holds the checkpoint read lock, so a checkpoint never saves
+    // the stock levels while they are being carried over to the new catalog
+    public void reloadCatalog(Catalog catalog) {
+        checkpointLock.readLock().lock();
+        try {
+            inventory.reload(catalog);
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+    }
+
+    // Starts a customer session with its own balance, e.g. for a remote order. Finish it with finish(session)
+    public Session openSession() {
+        return sessions.open();
+    }
+
+    // Feeds money without any screen output (used when the machine is not driven by a person at the terminal)
+    public void feedMoney(String amount) throws AmountLessThanOneException {
+        feedMoney(terminalSession, amount);
+    }
 
-                // Logs the purchase in the transaction logger
-                logger.logMessage((product.getName() + " " + product.getId()) , product.getPrice(), currencyController.getMoneyInMachine());
+    public void feedMoney(Session session, String amount) throws AmountLessThanOneException {
+        checkpointLock.readLock().lock();
+        try {
+            long added = session.feedMoney(amount);
+            if (added > 0) logger.logFeedMoney(session.getId(), added, session.getWallet().getMoneyInMachine());
+        } catch (IOException ex) {
+            journalError(ex);
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+        checkpointIfDue();
+    }
+
+    // Buys the product with the given ID without any screen output, returns the product dispensed
+    public Product purchase(String id) throws InvalidIDException, InsufficientFundsException, SoldOutException, ChangeUnavailableException {
+        return purchase(terminalSession, id);
+    }
+
+    public Product purchase(Session session, String id) throws InvalidIDException, InsufficientFundsException, SoldOutException, ChangeUnavailableException {
+        Product product = inventory.findProductByID(id);
+        if (product == null) throw new InvalidIDException("\nThe ID you entered is invalid", id);
+
+        checkpointLock.readLock().lock();
+        try {
+            sell(product, session.getWallet());
+            recordSale(product, session);
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+        checkpointIfDue();
+
+        return product;
+    }
+
+    // Holds one unit and its price for the customer (e.g. a remote order) until it is committed or aborted.
+    // A hold that is neither is released automatically after ReservationBook.DEFAULT_HOLD_MILLIS
+    public Reservation hold(String id) throws InvalidIDException, InsufficientFundsException, SoldOutException, ChangeUnavailableException {
+        return hold(terminalSession, id);
+    }
+
+    public Reservation hold(Session session, String id) throws InvalidIDException, InsufficientFundsException, SoldOutException, ChangeUnavailableException {
+        Product product = inventory.findProductByID(id);
+        if (product == null) throw new InvalidIDException("\nThe ID you entered is invalid", id);
+
+        return reservationBook.hold(product, session.getWallet());
+    }
+
+    // Commits a hold made with hold(id)
+    public void commit(Reservation reservation) throws HoldExpiredException {
+        commit(terminalSession, reservation);
+    }
+
+    public void commit(Session session, Reservation reservation) throws HoldExpiredException {
+        checkpointLock.readLock().lock();
+        try {
+            if (!reservationBook.commit(reservation)) throw new HoldExpiredException("\nYour hold has expired", reservation.getProduct());
+            recordSale(reservation.getProduct(), session);
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+        checkpointIfDue();
+    }
+
+    public void abort(Reservation reservation) {
+        reservationBook.abort(reservation);
+    }
+
+    // Ends the transaction without any screen output, returns the change that was dispensed
+    public String finish() {
+        String change = settle(terminalSession, false);
+        checkpointIfDue();
+        return change;
+    }
+
+    // Ends the session and returns it to the pool, returns the change that was dispensed.
+    // The session must not be used afterwards
+    public String finish(Session session) {
+        String change = settle(session, true);
+        checkpointIfDue();
+        return change;
+    }
+
+    // Applies data/restock.csv (id|quantity per line) as one batch, then shows what is still below par
+    public void restockFromManifest() {
+        File manifestFile = new File(directory, RESTOCK_MANIFEST_FILE);
+        try {
+            restock(RestockManifest.load(manifestFile));
+
+            // keep the manifest for the records, but make sure it can't be applied twice
+            Files.move(manifestFile.toPath(), new File(directory, RESTOCK_MANIFEST_FILE + ".applied").toPath(), StandardCopyOption.REPLACE_EXISTING);
+            checkpoint();
+            userOutput.restockMessage();
+        } catch (InvalidRestockException ex) {
+            userOutput.printSorryMessage();
+            userOutput.printMessage(ex.getMessage());
+        } catch (IOException ex) {
+            userOutput.printMessage("Could not read the restock manifest: " + ex.getMessage());
+        }
 
-                // Logs the purchase in the Sales Report
-                salesReportPrinter.logSale(product);
+        userOutput.displayPickList(inventory.getPickList());
+    }
+
+    // Finishes writing the transaction log and sales counters. The machine shouldn't be used afterwards
+    public void close() {
+        try {
+            logger.close();
+            if (salesCounters instanceof MappedSalesCounters) ((MappedSalesCounters) salesCounters).close();
+        } catch (IOException ex) {
+            journalError(ex);
+        }
+    }
+
+    // Saves the catalog, stock levels, sales and the customers' balances so a restart picks up where the
+    // machine left off, then deletes the journal segments the checkpoint covers. A hold can't be committed
+    // after a restart, so a unit on hold is saved as in stock and its price as still in the customer's balance
+    public void checkpoint() {
+        checkpointLock.writeLock().lock();
+        List<Reservation> holds = reservationBook.pause();
+        try {
+            Map<String, Integer> heldUnits = new HashMap<>();
+            Map<CurrencyController, Long> heldMoney = new IdentityHashMap<>();
+            for (Reservation hold : holds) {
+                heldUnits.merge(hold.getProduct().getId(), 1, Integer::sum);
+                heldMoney.merge(hold.getWallet(), hold.getPrice(), Long::sum);
             }
 
-        } catch (InvalidIDException ex) {
-            UserOutput.printSorryMessage();
-            System.out.println(ex.getMessage());
+            long lastSequence = logger.getJournal().getNextSequence() - 1;
+            inventorySnapshot.save(new InventorySnapshot.Checkpoint(holds.isEmpty() ? inventory : inventory.copyWith(heldUnits),
+                    salesCounters, salesTimeSeries, currencyController.getMoneyInMachine() + heldMoney.getOrDefault(currencyController, 0L),
+                    sessionBalances(heldMoney), lastSequence));
+            lastCheckpointSequence = lastSequence;
+            logger.getJournal().deleteSegmentsThrough(lastSequence);
+        } catch (IOException ex) {
+            System.out.println("Could not save inventory snapshot: " + ex.getMessage());
+        } finally {
+            reservationBook.resume();
+            checkpointLock.writeLock().unlock();
+        }
+
+        // keep TotalSalesReport.txt as current as the checkpoint
+        salesReportPrinter.generateNewReport();
+    }
+
+    public SalesCounters getSalesCounters() {
+        return salesCounters;
+    }
+
+    // When things sell, e.g. for planning restock routes
+    public SalesTimeSeries getSalesTimeSeries() {
+        return salesTimeSeries;
+    }
+
+    // What the open sessions other than the terminal customer's hold (with the price of their holds), so a
+    // restart can refund it
+    private Map<Integer, Long> sessionBalances(Map<CurrencyController, Long> heldMoney) {
+        Map<Integer, Long> balances = new HashMap<>();
+        for (Session session : sessions.getOpenSessions()) {
+            long balance = session.getWallet().getMoneyInMachine() + heldMoney.getOrDefault(session.getWallet(), 0L);
+            if (session != terminalSession && balance > 0) balances.put(session.getId(), balance);
+        }
+        return balances;
+    }
+
+    private void checkpointIfDue() {
+        if (logger.getJournal().getNextSequence() - 1 - lastCheckpointSequence >= CHECKPOINT_INTERVAL) checkpoint();
+    }
+
+    private void recover(InventorySnapshot.Checkpoint checkpoint) {
+        long lastSequence = checkpoint == null ? 0 : checkpoint.getLastSequence();
+        Recovery recovery = new Recovery(inventory, salesCounters, salesTimeSeries, terminalSession.getId(),
+                checkpoint == null ? 0 : checkpoint.getBalance(), checkpoint == null ? Map.of() : checkpoint.getSessionBalances());
+        try {
+            logger.getJournal().replay(lastSequence, recovery);
+        } catch (IOException ex) {
+            journalError(ex);
+        }
+
+        if (recovery.getBalance() > 0) terminalSession.restoreBalance(recovery.getBalance());
+        // a remote customer's session can't be reached after a restart, so what it held is refunded: it is
+        // written to owed_refunds.txt for the operator and goes on the cash box ledger as owed to the customer
+        Map<Integer, Long> refunds = recovery.getOtherBalances();
+        lastCheckpointSequence = lastSequence;
+        if (!refunds.isEmpty() && !recordOwedRefunds(refunds)) {
+            // without the record the checkpoint would forget what is owed; the next start tries again
+            return;
+        }
+        for (Map.Entry<Integer, Long> refund : refunds.entrySet()) {
+            cashBoxLedger.post(refund.getValue(), 0, refund.getValue());
+            System.out.println("Session " + refund.getKey() + " still had " + Money.format(refund.getValue())
+                    + " when the machine stopped; it is owed to the customer");
+        }
+        // start the next run from here rather than replaying the same records (or refunding the same sessions) again
+        if (recovery.getReplayed() > 0 || !refunds.isEmpty()) checkpoint();
+    }
+
+    // Appends one "timestamp|session ID|cents" line per refund and syncs the file. False if it couldn't be written
+    private boolean recordOwedRefunds(Map<Integer, Long> refunds) {
+        String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<Integer, Long> refund : refunds.entrySet()) {
+            lines.add(timestamp + "|" + refund.getKey() + "|" + refund.getValue());
+        }
+        try {
+            Files.write(new File(directory, OWED_REFUNDS_FILE).toPath(), lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+            return true;
+        } catch (IOException ex) {
+            System.out.println("Could not record the refunds owed to customers: " + ex.getMessage());
+            return false;
+        }
+    }
+
+    // Adds the manifest to the stock and journals each product's restock
+    private void restock(RestockManifest manifest) throws InvalidRestockException {
+        checkpointLock.readLock().lock();
+        try {
+            inventory.restock(manifest);
+            // every line was checked by restock, so every ID is valid
+            for (RestockManifest.Line line : manifest.getLines()) {
+                logger.logRestock(inventory.findProductByID(line.getId()), line.getQuantity());
+            }
+        } catch (IOException ex) {
+            journalError(ex);
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+    }
+
+    // Logs and dispenses the session's change; close also puts the session back in the pool
+    private String settle(Session session, boolean close) {
+        checkpointLock.readLock().lock();
+        try {
+            logChangeDispensed(session);
+            return close ? sessions.close(session) : sessions.settle(session);
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+    }
+
+    private void recordSale(Product product, Session session) {
+        // Logs the purchase in the journal (and from there the transaction log)
+        try {
+            logger.logPurchase(session.getId(), product, session.getWallet().getMoneyInMachine());
+        } catch (IOException ex) {
+            journalError(ex);
+        }
+        // Counts the sale for the Sales Report and the sales time series
+        salesCounters.record(product);
+        salesTimeSeries.record(product);
+    }
+
+    private void logChangeDispensed(Session session) {
+        long balance = session.getWallet().getMoneyInMachine();
+        // if the cassette can't pay it out nothing is dispensed, so there is nothing to log
+        if (balance != 0 && session.getWallet().canMakeChangeAfter(0)) {
+            try {
+                logger.logDispenseChange(session.getId(), balance);
+            } catch (IOException ex) {
+                journalError(ex);
+            }
         }
     }
 
+    // The running sales totals live in a memory mapped file; if it can't be opened they are only kept in memory
+    private static SalesCounters openSalesCounters(String directory, SalesCounters recovered) {
+        try {
+            return MappedSalesCounters.open(new File(directory, SALES_COUNTERS_FILE), recovered);
+        } catch (IOException ex) {
+            System.out.println("Could not open the sales counters file: " + ex.getMessage());
+            return recovered;
+        }
+    }
+
+    private static Journal openJournal(String directory) {
+        try {
+            return new Journal(new File(directory));
+        } catch (IOException ex) {
+            // without a journal nothing the machine does could be accounted for
+            throw new UncheckedIOException("Could not open the transaction journal", ex);
+        }
+    }
+
+    private static void journalError(IOException ex) {
+        System.out.println("Could not write to the transaction journal: " + ex.getMessage());
+    }
+
     private void feedMoneyScreen() {
         // clear screen
-        UserOutput.clearScreen();
+        userOutput.clearScreen();
 
         // print money stack graphic
-        UserOutput.printMoneyStack();
+        userOutput.printMoneyStack();
 
         // display money in machine
-        UserOutput.displayMoneyInMachine(currencyController);
+        userOutput.displayMoneyInMachine(currencyController);
 
         // get user input
-        String payment = UserInput.getPayment();
+        String payment = userInput.getPayment();
 
-        // add money to currencyController
+        // add money to the terminal session and log the transaction
         try {
-            currencyController.addMoneyToMachine(payment);
-            //Log the transaction
-            logger.logMessage("FEED MONEY", new BigDecimal(payment), currencyController.getMoneyInMachine());
+            feedMoney(payment);
         }catch (AmountLessThanOneException ex) {
-            System.out.println(ex.getMessage());
+            userOutput.printMessage(ex.getMessage());
         } catch (Exception ex) {
-            System.out.println("Please enter a whole dollar amount only");
+            userOutput.printMessage("Please enter a whole dollar amount only");
         }
         // show current money provided
-        UserOutput.displayMoneyInMachine(currencyController);
+        userOutput.displayMoneyInMachine(currencyController);
 
     }
 
     public boolean purchaseItem(Product product){
-        BigDecimal price = product.getPrice();
-        BigDecimal balance = currencyController.getMoneyInMachine();
-
-        boolean hasInsufficientFunds = currencyController.getMoneyInMachine().compareTo(price) < 0;
-        boolean isSoldOut = inventory.getQuantity(product).compareTo(0) <= 0;
-
+        checkpointLock.readLock().lock();
         try {
-            // only if there is enough money/product in the machine
-            if (!hasInsufficientFunds && !isSoldOut) {
-                // subtract price from money in machine
-                currencyController.subtractMoney(price);
-                // decrement quantity in inventory
-                inventory.decrementQuantity(product);
-                // if successful, return true
-                return true;
-            }
-            else if (hasInsufficientFunds) throw new InsufficientFundsException("\nYou have insufficient funds to purchase that item", balance, price);
-            else throw new SoldOutException("\nSOLD OUT", product);
+            sell(product, currencyController);
+            // Logs the purchase in the transaction log and the sales report
+            recordSale(product, terminalSession);
+            // if successful, return true
+            return true;
         } catch (InsufficientFundsException ex) {
-            System.out.println(ex.getMessage());
+            userOutput.printMessage(ex.getMessage());
         } catch (SoldOutException ex) {
-            UserOutput.printSorryMessage();
-            System.out.println(ex.getMessage());
+            userOutput.printSorryMessage();
+            userOutput.printMessage(ex.getMessage());
+        } catch (ChangeUnavailableException ex) {
+            userOutput.printSorryMessage();
+            userOutput.printMessage(ex.getMessage());
+        } finally {
+            checkpointLock.readLock().unlock();
         }
 
         return false;
     }
+
+    // Takes the unit and the money in one step, with the same checks as a hold. If either can't be taken
+    // nothing is
+    private void sell(Product product, CurrencyController wallet) throws InsufficientFundsException, SoldOutException, ChangeUnavailableException {
+        reservationBook.sell(product, wallet);
+    }
 }
@@ -0,0 +1,142 @@
+package com.techelevator.models;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Running totals for the cash box, fed by settled sessions. Sessions only copy their posting into a
+// preallocated slot of a ring buffer (shared by every ledger, so posting allocates nothing); a single writer
+// thread applies the postings, so the totals need no lock
+public class CashBoxLedger {
+
+    private static final int RING_SIZE = 4096;
+    private static final long FULL_PARK_NANOS = 50_000;
+
+    private final AtomicLong posted = new AtomicLong();
+
+    // only written by the writer thread
+    private volatile long totalFed;
+    private volatile long totalChange;
+    private volatile long totalOwed;
+    private volatile long settlements;
+
+    // Amounts are in cents: fed into the session, paid back as change, and owed when change couldn't be made
+    public void post(long fed, long change, long owed) {
+        posted.incrementAndGet();
+        Writer.publish(this, fed, change, owed);
+    }
+
+    public long getTotalFed() {
+        return totalFed;
+    }
+
+    public long getTotalChange() {
+        return totalChange;
+    }
+
+    public long getTotalOwed() {
+        return totalOwed;
+    }
+
+    // what has stayed in the cash box: sales plus anything owed
+    public long getCashRetained() {
+        return totalFed - totalChange;
+    }
+
+    public long getSettlements() {
+        return settlements;
+    }
+
+    // Waits until every posting made so far has been applied. Returns false on timeout
+    public boolean awaitSettled(long timeoutMillis) throws InterruptedException {
+        long target = posted.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (settlements < target) {
+            if (System.nanoTime() > deadline) return false;
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    private void apply(long fed, long change, long owed) {
+        totalFed += fed;
+        totalChange += change;
+        totalOwed += owed;
+        settlements++;
+    }
+
+    // A posting. sequence says whose turn the slot is: position when free for the producer claiming that
+    // position, position + 1 once the posting is ready for the writer
+    private static final class Slot {
+        volatile long sequence;
+        CashBoxLedger ledger;
+        long fed;
+        long change;
+        long owed;
+    }
+
+    // The single writer, started the first time anything is posted. It parks while the ring is empty and
+    // producers wake it, so an idle machine costs no CPU
+    private static final class Writer {
+        private static final Slot[] RING = new Slot[RING_SIZE];
+        private static final int MASK = RING_SIZE - 1;
+        private static final AtomicLong TAIL = new AtomicLong();
+        private static volatile boolean waiting;
+        private static final Thread THREAD = start();
+
+        private static Thread start() {
+            for (int i = 0; i < RING_SIZE; i++) {
+                RING[i] = new Slot();
+                RING[i].sequence = i;
+            }
+            Thread thread = new Thread(Writer::run, "cash-box-ledger");
+            thread.setDaemon(true);
+            thread.start();
+            return thread;
+        }
+
+        private static void publish(CashBoxLedger ledger, long fed, long change, long owed) {
+            long position;
+            Slot slot;
+            while (true) {
+                position = TAIL.get();
+                slot = RING[(int) position & MASK];
+                long lag = slot.sequence - position;
+                if (lag == 0) {
+                    if (TAIL.compareAndSet(position, position + 1)) break;
+                } else if (lag < 0) {
+                    // the writer hasn't applied this slot yet, so the ring is full
+                    LockSupport.parkNanos(FULL_PARK_NANOS);
+                }
+                // otherwise another producer claimed this position first - try the next one
+            }
+
+            slot.ledger = ledger;
+            slot.fed = fed;
+            slot.change = change;
+            slot.owed = owed;
+            slot.sequence = position + 1;
+            if (waiting) LockSupport.unpark(THREAD);
+        }
+
+        private static void run() {
+            long head = 0;
+            while (true) {
+                Slot slot = RING[(int) head & MASK];
+                if (slot.sequence != head + 1) {
+                    // look again after saying so, a producer that published in between sees waiting and unparks
+                    waiting = true;
+                    if (slot.sequence != head + 1) LockSupport.park();
+                    waiting = false;
+                    continue;
+                }
+                CashBoxLedger ledger = slot.ledger;
+                ledger.apply(slot.fed, slot.change, slot.owed);
+                slot.ledger = null;
+                // free the slot for the producer one lap ahead
+                slot.sequence = head + RING_SIZE;
+                head++;
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.techelevator.models;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+// The bills and coins physically in the machine. Money fed by customers goes in, change comes out,
+// and a sale is only allowed if the change it leaves can actually be paid from what is here.
+// Several wallets can share one cassette, so each wallet reserves the pieces that will pay out its balance;
+// a check for one wallet only counts what the others haven't reserved, and two customers can never both be
+// promised the last quarter
+public class CashCassette {
+
+    // denominations in cents, largest first
+    public static final long[] DENOMINATIONS = {10000, 5000, 2000, 1000, 500, 100, 25, 10, 5};
+    // what a freshly serviced machine starts with
+    private static final int[] DEFAULT_FLOAT = {0, 0, 0, 0, 10, 20, 40, 50, 40};
+
+    private final int[] counts;
+    private final ChangeSolver solver = new ChangeSolver(DENOMINATIONS);
+    // owner -> the pieces held back for its balance, and their total per denomination
+    private final Map<Object, int[]> reservations = new IdentityHashMap<>();
+    private final int[] reserved = new int[DENOMINATIONS.length];
+
+    //Constructors
+    public CashCassette() {
+        this(DEFAULT_FLOAT);
+    }
+
+    // counts are given in the order of DENOMINATIONS
+    public CashCassette(int[] counts) {
+        this.counts = counts.clone();
+    }
+
+    public synchronized int getCount(int denominationIndex) {
+        return counts[denominationIndex];
+    }
+
+    // Adds the bills for a whole dollar amount fed into the machine, largest bills first
+    public synchronized void deposit(long cents) {
+        long remaining = cents;
+        for (int i = 0; i < DENOMINATIONS.length && remaining > 0; i++) {
+            long quantity = remaining / DENOMINATIONS[i];
+            counts[i] += (int) quantity;
+            remaining -= quantity * DENOMINATIONS[i];
+        }
+    }
+
+    // True if the amount can be made from what nobody has reserved
+    public synchronized boolean canMakeChange(long cents) {
+        return canMakeChange(null, cents);
+    }
+
+    // True if the amount can be made from the owner's reservation and what nobody else has reserved
+    public synchronized boolean canMakeChange(Object owner, long cents) {
+        return solver.solve(available(owner), cents) != null;
+    }
+
+    // Replaces the owner's reservation with the pieces for cents. Returns false (keeping the old reservation)
+    // if the amount can't be made
+    public synchronized boolean reserve(Object owner, long cents) {
+        DispensePlan plan = solver.solve(available(owner), cents);
+        if (plan == null) return false;
+
+        release(owner);
+        if (cents > 0) {
+            int[] pieces = new int[counts.length];
+            for (int i = 0; i < counts.length; i++) {
+                pieces[i] = plan.getCount(i);
+                reserved[i] += pieces[i];
+            }
+            reservations.put(owner, pieces);
+        }
+        return true;
+    }
+
+    public synchronized void release(Object owner) {
+        int[] pieces = reservations.remove(owner);
+        if (pieces == null) return;
+        for (int i = 0; i < counts.length; i++) reserved[i] -= pieces[i];
+    }
+
+    // Takes the change out of the cassette and returns what was taken, or null (taking nothing)
+    // if the amount can't be made from what nobody has reserved
+    public synchronized DispensePlan dispense(long cents) {
+        return dispense(null, cents);
+    }
+
+    // Pays the owner out, using its reservation first; the reservation is used up either way
+    public synchronized DispensePlan dispense(Object owner, long cents) {
+        DispensePlan plan = solver.solve(available(owner), cents);
+        if (plan == null) return null;
+
+        release(owner);
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] -= plan.getCount(i);
+        }
+        return plan;
+    }
+
+    // The pieces the owner may pay out from: everything but what the other owners have reserved
+    private int[] available(Object owner) {
+        int[] own = owner == null ? null : reservations.get(owner);
+        int[] available = new int[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            available[i] = counts[i] - reserved[i] + (own == null ? 0 : own[i]);
+        }
+        return available;
+    }
+}
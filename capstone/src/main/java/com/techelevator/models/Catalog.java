@@ -0,0 +1,104 @@
+package com.techelevator.models;
+
+import com.techelevator.models.file_io.CatalogLoader;
+import com.techelevator.models.file_io.CatalogValidationReport;
+import com.techelevator.models.products.Product;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+// Immutable list of the products a machine sells. Every product gets a dense slot number
+// (its position in ID order), which Inventory uses as the index into its quantity array.
+public class Catalog {
+    // Properties
+    private final List<Product> products;
+    private final Map<String, Product> productsByID;
+    private final Map<String, Integer> productTypeAndQuantity;
+
+    // Constructor. Every product must have its own ID (ignoring case), otherwise one of them could never be
+    // selected and two slots would carry over from the same slot on a reload
+    public Catalog(List<Product> products) {
+        List<Product> sorted = new ArrayList<>(products);
+
+        // Sort the product list by product id (in case productsFile is not already sorted)
+        if (!isSorted(sorted)) Collections.sort(sorted);
+
+        List<Product> slotted = new ArrayList<>(sorted.size());
+        Map<String, Product> byID = new HashMap<>();
+        Map<String, Integer> typeAndQuantity = new HashMap<>();
+
+        for (Product product : sorted) {
+            Product slottedProduct = product.withSlot(slotted.size());
+            slotted.add(slottedProduct);
+
+            // Index the product by its normalized ID so lookups don't have to scan the catalog
+            if (byID.put(normalizeID(product.getId()), slottedProduct) != null) {
+                throw new IllegalArgumentException("Duplicate product ID: " + product.getId());
+            }
+
+            // Count of items of each product type (for display purposes - we will use this to print ProductGrid)
+            typeAndQuantity.put(product.getType(), typeAndQuantity.getOrDefault(product.getType(), 0) + 1);
+        }
+
+        this.products = Collections.unmodifiableList(slotted);
+        this.productsByID = byID;
+        this.productTypeAndQuantity = Collections.unmodifiableMap(typeAndQuantity);
+    }
+
+    // Reads a pipe delimited products file (id|name|price|type). Invalid lines are reported together and skipped
+    public static Catalog load(File productsFile) {
+        CatalogValidationReport report = new CatalogValidationReport();
+        try {
+            Catalog catalog = new CatalogLoader().load(productsFile, report);
+            if (!report.isValid()) System.out.println(report);
+            return catalog;
+        } catch (IOException ex) {
+            System.out.println(ex.getMessage());
+        }
+        return new Catalog(List.of());
+    }
+
+    // Methods
+    public int size() {
+        return products.size();
+    }
+
+    public Product getProduct(int slot) {
+        return products.get(slot);
+    }
+
+    public List<Product> getProducts() {
+        return products;
+    }
+
+    public Map<String, Integer> getProductTypeAndQuantity() {
+        return productTypeAndQuantity;
+    }
+
+    // Looks up a product by ID (case-insensitive), returns null if there is no product with that ID
+    public Product findProductByID(String id) {
+        if (id == null) return null;
+        return productsByID.get(normalizeID(id));
+    }
+
+    // Returns the slot of a product in this catalog, or -1 if the product isn't in it
+    public int slotOf(Product product) {
+        int slot = product.getSlot();
+        if (slot >= 0 && slot < products.size() && products.get(slot) == product) return slot;
+
+        Product match = findProductByID(product.getId());
+        return match == null ? -1 : match.getSlot();
+    }
+
+    private static boolean isSorted(List<Product> products) {
+        for (int i = 1; i < products.size(); i++) {
+            if (products.get(i - 1).compareTo(products.get(i)) > 0) return false;
+        }
+        return true;
+    }
+
+    // IDs are stored upper case; toUpperCase returns the same String when it is already upper case
+    private static String normalizeID(String id) {
+        return id.toUpperCase(Locale.ROOT);
+    }
+}
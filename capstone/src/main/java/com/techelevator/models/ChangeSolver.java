@@ -0,0 +1,96 @@
+package com.techelevator.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Works out which bills and coins to hand out for an amount, using only what is in the cassette.
+// Greedy (largest denomination first) is tried first - it is what the machine always did and it is
+// instant. Only when greedy runs out of a denomination does a bounded dynamic program look for the plan
+// with the fewest pieces. The program is bounded by the amount in 5 cent units, a few hundred cells for any
+// balance a customer can have, so plans are worked out fresh every time rather than cached.
+class ChangeSolver {
+
+    private static final int INFINITE = Integer.MAX_VALUE / 2;
+
+    private final long[] denominations;
+    // every denomination is a multiple of this many cents (5), so amounts are solved in these units
+    private final long unit;
+
+    ChangeSolver(long[] denominations) {
+        this.denominations = denominations;
+        long gcd = 0;
+        for (long denomination : denominations) gcd = gcd(gcd, denomination);
+        this.unit = gcd;
+    }
+
+    // Returns null when the amount can't be made from the counts
+    DispensePlan solve(int[] counts, long amount) {
+        if (amount < 0 || amount % unit != 0) return null;
+
+        DispensePlan plan = greedy(counts, amount);
+        return plan != null ? plan : fewestPieces(counts, amount);
+    }
+
+    private DispensePlan greedy(int[] counts, long amount) {
+        int[] plan = new int[denominations.length];
+        long remaining = amount;
+        for (int i = 0; i < denominations.length && remaining > 0; i++) {
+            int quantity = (int) Math.min(counts[i], remaining / denominations[i]);
+            plan[i] = quantity;
+            remaining -= quantity * denominations[i];
+        }
+        return remaining == 0 ? new DispensePlan(denominations, plan) : null;
+    }
+
+    // Bounded change making: each denomination's count is split into bundles of 1, 2, 4, ... pieces, which
+    // turns it into a 0/1 knapsack over the amount (in units) that minimizes the number of pieces
+    private DispensePlan fewestPieces(int[] counts, long amount) {
+        int target = (int) (amount / unit);
+
+        List<int[]> bundles = new ArrayList<>(); // {denomination index, pieces}
+        for (int i = 0; i < denominations.length; i++) {
+            int available = counts[i];
+            for (int size = 1; available > 0; size *= 2) {
+                int pieces = Math.min(size, available);
+                bundles.add(new int[]{i, pieces});
+                available -= pieces;
+            }
+        }
+
+        int[] fewest = new int[target + 1];
+        java.util.Arrays.fill(fewest, INFINITE);
+        fewest[0] = 0;
+        boolean[][] used = new boolean[bundles.size()][];
+
+        for (int b = 0; b < bundles.size(); b++) {
+            int[] bundle = bundles.get(b);
+            long weight = denominations[bundle[0]] / unit * bundle[1];
+            used[b] = new boolean[target + 1];
+            if (weight > target) continue;
+
+            for (int value = target; value >= weight; value--) {
+                int candidate = fewest[value - (int) weight] + bundle[1];
+                if (candidate < fewest[value]) {
+                    fewest[value] = candidate;
+                    used[b][value] = true;
+                }
+            }
+        }
+        if (fewest[target] >= INFINITE) return null;
+
+        int[] plan = new int[denominations.length];
+        int value = target;
+        for (int b = bundles.size() - 1; b >= 0 && value > 0; b--) {
+            if (used[b][value]) {
+                int[] bundle = bundles.get(b);
+                plan[bundle[0]] += bundle[1];
+                value -= (int) (denominations[bundle[0]] / unit * bundle[1]);
+            }
+        }
+        return new DispensePlan(denominations, plan);
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+}
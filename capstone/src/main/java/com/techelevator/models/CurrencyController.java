@@ -1,19 +1,37 @@
 package com.techelevator.models;
 
 import com.techelevator.models.exceptions.AmountLessThanOneException;
+import com.techelevator.models.exceptions.ChangeUnavailableException;
 import com.techelevator.models.exceptions.InsufficientFundsException;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 
+// Methods are synchronized because a hold can expire (and be refunded) on the timer thread.
+// All amounts are in cents
 public class CurrencyController {
-    private BigDecimal moneyInMachine = BigDecimal.ZERO;
 
-    public BigDecimal getMoneyInMachine() {
+    // the bills and coins change is paid from - may be shared by several controllers
+    private final CashCassette cassette;
+    private long moneyInMachine;
+
+    //Constructors
+    public CurrencyController() {
+        this(new CashCassette());
+    }
+
+    public CurrencyController(CashCassette cassette) {
+        this.cassette = cassette;
+    }
+
+    public CashCassette getCassette() {
+        return cassette;
+    }
+
+    public synchronized long getMoneyInMachine() {
         return moneyInMachine;
     }
 
-    public void addMoneyToMachine(String amount) throws AmountLessThanOneException{
+    // Returns the number of cents added, 0 if the amount wasn't a whole dollar amount
+    public synchronized long addMoneyToMachine(String amount) throws AmountLessThanOneException{
 
         try {
             // make sure amount is a whole number
@@ -21,57 +39,60 @@ public class CurrencyController {
             // make sure amount is at least 1
             if (amountInt < 1)
                 throw new AmountLessThanOneException("\nPlease enter a whole dollar amount greater than or equal to $1", amountInt);
-            moneyInMachine = moneyInMachine.add(new BigDecimal(amount));
+            long cents = Money.fromDollars(amountInt);
+            moneyInMachine += cents;
+            cassette.deposit(cents);
+            // the bills just fed can always pay back what they added, so this only fails if nothing could
+            cassette.reserve(this, moneyInMachine);
+            return cents;
         } catch (NumberFormatException ex){
 
             System.out.println("Please enter a whole dollar amount only. " + ex.getMessage());
         }
 
+        return 0;
+    }
 
+    // Takes the price for a sale, reserving the change the balance left over needs in the same step, so no
+    // other wallet on the cassette can take those pieces before this customer is paid out. This is the only
+    // way to spend from a wallet, so its reservation always covers its balance
+    public synchronized void pay(long price) throws InsufficientFundsException, ChangeUnavailableException {
+        if (moneyInMachine < price) throw new InsufficientFundsException("\nYou have insufficient funds to purchase that item", moneyInMachine, price);
+        if (!cassette.reserve(this, moneyInMachine - price)) throw new ChangeUnavailableException("\nUnable to make change for that purchase", moneyInMachine - price);
+        moneyInMachine -= price;
     }
 
-    public void subtractMoney(BigDecimal price) throws InsufficientFundsException {
-        // if money in machine is greater than or equal to price, subtract price
-        if (moneyInMachine.compareTo(price) >= 0) {
-            moneyInMachine = moneyInMachine.subtract(price);
-        }
-        // otherwise throw exception
-        else throw new InsufficientFundsException("\nYou have insufficient funds to purchase that item", moneyInMachine, price);
+    // Gives back money taken for a purchase that didn't go through. The pieces for the larger balance are
+    // reserved if they are still there; if another wallet took them meanwhile, the old reservation stays
+    public synchronized void refund(long amount) {
+        moneyInMachine += amount;
+        cassette.reserve(this, moneyInMachine);
     }
 
-    public String dispenseChange() {
-        String change = "";
-        int quantity;
-
-        // create array of money denominations
-        BigDecimal[] denominations = new BigDecimal[]{
-                new BigDecimal("100"),
-                new BigDecimal("50"),
-                new BigDecimal("20"),
-                new BigDecimal("10"),
-                new BigDecimal("5"),
-                new BigDecimal("1"),
-                new BigDecimal("0.25"),
-                new BigDecimal("0.10"),
-                new BigDecimal("0.05")
-        };
-
-        // iterate through the array
-        for (BigDecimal denomination : denominations) {
-            // divide moneyInMachine by each denomination to get quantity of each denomination to be dispensed
-            quantity = moneyInMachine.divide(denomination, RoundingMode.FLOOR).intValue();
-
-            // if quantity > 0
-            if (quantity > 0) {
-                // update change string
-                change += "\n" + quantity + " x $" + denomination;
-                // update moneyInMachine
-                moneyInMachine = moneyInMachine.subtract(denomination.multiply(BigDecimal.valueOf(quantity)));
-                // if balance = 0, break
-                if (moneyInMachine.equals(BigDecimal.ZERO)) break;
-            }
+    // True if the balance left after paying price could be handed back from the cassette
+    public synchronized boolean canMakeChangeAfter(long price) {
+        return cassette.canMakeChange(this, moneyInMachine - price);
+    }
 
-        }
-        return change;
+    // Returns what was handed out, or null (keeping the balance) if the cassette can't make the change
+    public synchronized DispensePlan dispenseChangePlan() {
+        DispensePlan plan = cassette.dispense(this, moneyInMachine);
+        if (plan != null) moneyInMachine = 0;
+        return plan;
+    }
+
+    // Empties the wallet without paying anything out, returns what was in it
+    synchronized long takeBalance() {
+        long balance = moneyInMachine;
+        moneyInMachine = 0;
+        cassette.release(this);
+        return balance;
+    }
+
+    // One line per denomination, e.g. "\n1 x $20\n1 x $10"
+    public synchronized String dispenseChange() {
+        DispensePlan plan = dispenseChangePlan();
+        if (plan == null) return "\nThe machine can't make " + Money.format(moneyInMachine) + " in change. Please call for service.";
+        return plan.toString();
     }
 }
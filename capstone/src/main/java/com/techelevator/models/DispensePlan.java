@@ -0,0 +1,56 @@
+package com.techelevator.models;
+
+// How many of each denomination to hand out for an amount of change
+public class DispensePlan {
+
+    private final long[] denominations;
+    private final int[] counts;
+
+    DispensePlan(long[] denominations, int[] counts) {
+        this.denominations = denominations;
+        this.counts = counts;
+    }
+
+    public int getDenominationCount() {
+        return counts.length;
+    }
+
+    // in cents
+    public long getDenomination(int index) {
+        return denominations[index];
+    }
+
+    public int getCount(int index) {
+        return counts[index];
+    }
+
+    public int getPieces() {
+        int pieces = 0;
+        for (int count : counts) pieces += count;
+        return pieces;
+    }
+
+    // in cents
+    public long getTotal() {
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) total += denominations[i] * counts[i];
+        return total;
+    }
+
+    // One line per denomination, largest first, e.g. "\n1 x $20\n2 x $0.25"
+    @Override
+    public String toString() {
+        StringBuilder change = new StringBuilder();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                change.append("\n").append(counts[i]).append(" x $").append(label(denominations[i]));
+            }
+        }
+        return change.toString();
+    }
+
+    // whole dollars are shown without cents ($20), coins with them ($0.25)
+    private static String label(long cents) {
+        return cents % Money.CENTS_PER_DOLLAR == 0 ? String.valueOf(cents / Money.CENTS_PER_DOLLAR) : Money.toBigDecimal(cents).toString();
+    }
+}
@@ -1,127 +1,274 @@
 package com.techelevator.models;
 import com.techelevator.models.exceptions.InvalidIDException;
-import com.techelevator.models.exceptions.InvalidProductFileException;
+import com.techelevator.models.exceptions.InvalidRestockException;
 import com.techelevator.models.exceptions.SoldOutException;
+import com.techelevator.models.file_io.InventorySnapshot;
 import com.techelevator.models.products.Product;
 import java.io.File;
-import java.io.IOException;
-import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Inventory {
+    private static final int INITIAL_QUANTITY = 5;
+
     // Properties
-    private Map<Product, Integer> inventory;
-    private static List<Product> organizedProducts;
-    private static Map<String, Integer> productTypeAndQuantity;
+    // The catalog and its quantities are swapped as one when the catalog is reloaded. The catalog is
+    // immutable and can be shared by many inventories; quantities belong to this inventory only
+    private volatile StockLevels levels;
+    private volatile ParLevels parLevels = ParLevels.DEFAULTS;
+    // IDs of the slots below their par level. Purchases and restocks keep it up to date, so building
+    // a pick list only looks at these slots instead of scanning the whole catalog
+    private final Set<String> belowPar = ConcurrentHashMap.newKeySet();
 
-    // Constructor
+    // Constructors
     public Inventory() {
 
-        loadInventory();
+        this(Catalog.load(new File("data/vendingmachine.csv")));
     }
 
-    // Methods
-    private void loadInventory() {
-        inventory = new HashMap<>();
-        organizedProducts = new ArrayList<>();
-        productTypeAndQuantity = new HashMap<>();
+    public Inventory(Catalog catalog) {
+        // Loads 5 of the product every time the vending machine initializes
+        levels = new StockLevels(catalog, INITIAL_QUANTITY);
+        refreshBelowPar();
+    }
 
-        File productsFile = new File("data/vendingmachine.csv");
-        try (Scanner reader = new Scanner(productsFile)) {
-            while (reader.hasNextLine()) {
-                String line = reader.nextLine();
+    // Quantities are given in slot order
+    public Inventory(Catalog catalog, int[] quantities) {
+        levels = new StockLevels(catalog, quantities);
+        refreshBelowPar();
+    }
 
-                // ignore empty lines in productsFile
-                if (line.isEmpty()) continue;
+    // Starts from the snapshot when there is a valid one, so stock levels survive a restart. The products
+    // file is only read when there is no snapshot, or when it was edited after the snapshot was saved
+    public static Inventory load(File productsFile, InventorySnapshot snapshot) {
+        return load(productsFile, snapshot.getFile(), snapshot.load());
+    }
 
-                try {
-                    String[] columns = line.split("\\|");
+    // fromSnapshot is the inventory loaded from snapshotFile, or null if there wasn't one
+    public static Inventory load(File productsFile, File snapshotFile, Inventory fromSnapshot) {
+        if (fromSnapshot == null) return new Inventory(Catalog.load(productsFile));
 
-                    // throw an exception if all four columns are not present
-                    if (columns.length != 4) {
-                        throw new InvalidProductFileException(line);
-                    }
+        if (productsFile.lastModified() > snapshotFile.lastModified()) {
+            Catalog catalog = Catalog.load(productsFile);
+            if (catalog.size() > 0) fromSnapshot.reload(catalog);
+        }
+        return fromSnapshot;
+    }
 
-                    String id = columns[0];
-                    String name = columns[1];
-                    BigDecimal price = new BigDecimal(columns[2]);
-                    String type = columns[3];
+    // Methods
+    public Catalog getCatalog() {
+        return levels.getCatalog();
+    }
 
-                    Product product = new Product(id, name, price, type);
+    // Swaps in a new catalog. Products that are in both catalogs keep their current stock, new products
+    // get 5 units. Purchases are never blocked; one that races with the swap is retried against the new catalog
+    public synchronized void reload(Catalog catalog) {
+        StockLevels next = new StockLevels(catalog, levels, INITIAL_QUANTITY);
+        levels = next;
+        next.completeCarryOver();
+        refreshBelowPar();
+    }
 
-                    // Loads 5 of the product every time the vending machine initializes
-                    inventory.put(product, 5);
+    public ParLevels getParLevels() {
+        return parLevels;
+    }
 
-                    // Add the products to a list for display purposes
-                    organizedProducts.add(product);
+    public synchronized void setParLevels(ParLevels parLevels) {
+        this.parLevels = parLevels;
+        refreshBelowPar();
+    }
 
-                    // Add product type and count of items of each product type to map (for display purposes - we will use this to print ProductGrid)
-                    productTypeAndQuantity.put(product.getType(), productTypeAndQuantity.getOrDefault(product.getType(), 0) + 1);
-                } catch (InvalidProductFileException e) {
-                    System.out.println(e.getMessage());
+    // Adds every unit in the manifest, or nothing at all if any line is invalid (unknown slot, quantity
+    // below 1, or more units than the slot can hold). Purchases keep running while the manifest is applied,
+    // and the whole manifest shows up at once: the additions go into new levels that are swapped in like a
+    // reload, so nobody sees some slots restocked and others not yet
+    public synchronized void restock(RestockManifest manifest) throws InvalidRestockException {
+        // a manifest may list the same slot more than once
+        Map<Product, Integer> additions = new LinkedHashMap<>();
+        for (RestockManifest.Line line : manifest.getLines()) {
+            Product product = findProductByID(line.getId());
+            if (product == null) throw new InvalidRestockException("\nThe restock manifest has an invalid ID", line.getId());
+            if (line.getQuantity() < 1) throw new InvalidRestockException("\nRestock quantities must be at least 1", line.getId());
+            additions.merge(product, line.getQuantity(), Integer::sum);
+        }
 
-                }
+        for (Map.Entry<Product, Integer> addition : additions.entrySet()) {
+            Product product = addition.getKey();
+            if (getQuantity(product) + addition.getValue() > parLevels.getCapacity(product.getId())) {
+                throw new InvalidRestockException("\nThe restock would put more units in the slot than it can hold", product.getId());
             }
-        } catch (IOException ex) {
-            System.out.println(ex.getMessage());
         }
 
-        // Sort the product list by product id (in case productsFile is not already sorted)
-        Collections.sort(organizedProducts);
+        // every line is valid; purchases only lower quantities and restocks and reloads take turns, so this can't fail
+        StockLevels current = levels;
+        Catalog catalog = current.getCatalog();
+        int[] added = new int[catalog.size()];
+        for (Map.Entry<Product, Integer> addition : additions.entrySet()) {
+            added[catalog.slotOf(addition.getKey())] = addition.getValue();
+        }
+        StockLevels next = new StockLevels(catalog, current, INITIAL_QUANTITY, added);
+        levels = next;
+        next.completeCarryOver();
 
+        for (Product product : additions.keySet()) {
+            String id = product.getId();
+            if (getQuantity(product) >= parLevels.getPar(id) && belowPar.remove(id)) {
+                // a purchase may have taken the slot back below par since the check
+                if (getQuantity(product) < parLevels.getPar(id)) belowPar.add(id);
+            }
+        }
     }
 
+    // Slots below their par level, in ID order, with the units needed to fill each one to capacity
+    public List<PickListItem> getPickList() {
+        List<PickListItem> pickList = new ArrayList<>();
+        for (String id : belowPar) {
+            Product product = findProductByID(id);
+            if (product == null) {
+                // product was taken out of the catalog
+                belowPar.remove(id);
+                continue;
+            }
+
+            int quantity = getQuantity(product);
+            if (quantity >= parLevels.getPar(id)) continue;
+            pickList.add(new PickListItem(product, quantity, parLevels.getCapacity(id)));
+        }
+        pickList.sort(Comparator.comparing(PickListItem::getProduct));
+        return pickList;
+    }
+
+    // Rebuilds the below par set from scratch, only needed when the catalog or the par levels change
+    private void refreshBelowPar() {
+        StockLevels current = levels;
+        Catalog catalog = current.getCatalog();
+        belowPar.clear();
+        for (int slot = 0; slot < catalog.size(); slot++) {
+            String id = catalog.getProduct(slot).getId();
+            if (current.get(slot) < parLevels.getPar(id)) belowPar.add(id);
+        }
+    }
+
+    // Returns a point-in-time copy of the quantity of every product. Like getQuantity, levels that were
+    // replaced part way through (a reload or restock) are read again from the new ones, never saved as MOVED
     public Map<Product, Integer> getProducts() {
-        return inventory;
+        while (true) {
+            StockLevels current = levels;
+            Catalog catalog = current.getCatalog();
+            Map<Product, Integer> products = new LinkedHashMap<>();
+            for (int slot = 0; slot < catalog.size(); slot++) {
+                int quantity = current.get(slot);
+                if (quantity == StockLevels.MOVED) break;
+                products.put(catalog.getProduct(slot), quantity);
+            }
+            if (products.size() == catalog.size()) return products;
+        }
     }
 
-    public static List<Product> getOrganizedProducts() { return organizedProducts; }
+    // A copy of the stock with units added by product ID, e.g. units on hold saved as still in stock
+    public Inventory copyWith(Map<String, Integer> additions) {
+        while (true) {
+            StockLevels current = levels;
+            Catalog catalog = current.getCatalog();
+            int[] quantities = new int[catalog.size()];
+            int slot = 0;
+            for (; slot < catalog.size(); slot++) {
+                int quantity = current.get(slot);
+                if (quantity == StockLevels.MOVED) break;
+                quantities[slot] = quantity + additions.getOrDefault(catalog.getProduct(slot).getId(), 0);
+            }
+            if (slot == catalog.size()) {
+                return new Inventory(catalog, quantities);
+            }
+        }
+    }
 
-    public static Map<String, Integer> getProductTypeAndQuantity() { return productTypeAndQuantity; }
+    // The products in ID order, for display purposes
+    public List<Product> getOrganizedProducts() { return getCatalog().getProducts(); }
 
-    public void decrementQuantity(Product product) throws SoldOutException {
-        int quantity = inventory.get(product);
+    public Map<String, Integer> getProductTypeAndQuantity() { return getCatalog().getProductTypeAndQuantity(); }
 
-        if (quantity > 0) {
-            quantity--;
-            inventory.put(product, quantity);
-        } else {
+    public void decrementQuantity(Product product) throws SoldOutException {
+        if (!tryDecrementQuantity(product)) {
             throw new SoldOutException("SOLD OUT", product);
         }
     }
 
-    public boolean isIDValid(String id) {
-        //Loops through our entire inventory, and finds the product matching the input ID
-        for (Map.Entry<Product, Integer> product : getProducts().entrySet()) {
+    // Takes one unit of the product if any are left. The sold out check and the decrement are one
+    // atomic step, so two purchases can never both take the last unit
+    public boolean tryDecrementQuantity(Product product) {
+        while (true) {
+            StockLevels current = levels;
+            int slot = current.getCatalog().slotOf(product);
+            if (slot < 0) return false;
 
-            // Validates the given ID
-            if (product.getKey().getId().equalsIgnoreCase(id)) {
-                return true;
-            }
+            int remaining = current.tryDecrement(slot);
+            if (remaining == StockLevels.RETRY) continue;
+            if (remaining == StockLevels.SOLD_OUT) return false;
+
+            String id = current.getCatalog().getProduct(slot).getId();
+            if (remaining < parLevels.getPar(id)) belowPar.add(id);
+            return true;
         }
-        return false;
     }
-    public Product getProductByID(String id) {
-       try {
-        //Loops through our entire inventory, and finds the product matching the input ID
-        for (Map.Entry<Product, Integer> product : getProducts().entrySet()) {
 
-            // Validates the given ID
-            if (product.getKey().getId().equalsIgnoreCase(id)) {
-                return product.getKey();
+    // Puts back a unit taken by tryDecrementQuantity (e.g. when the payment fails afterwards)
+    public void incrementQuantity(Product product) {
+        addQuantity(product, 1);
+    }
+
+    public void incrementQuantity(Product product, int amount) {
+        addQuantity(product, amount);
+    }
+
+    private void addQuantity(Product product, int amount) {
+        while (true) {
+            StockLevels current = levels;
+            int slot = current.getCatalog().slotOf(product);
+            if (slot < 0) return;
+
+            int quantity = current.add(slot, amount);
+            if (quantity == StockLevels.RETRY) continue;
+
+            String id = current.getCatalog().getProduct(slot).getId();
+            if (quantity >= parLevels.getPar(id) && belowPar.remove(id)) {
+                // a purchase may have taken the slot back below par since the add
+                if (getQuantity(product) < parLevels.getPar(id)) belowPar.add(id);
             }
+            return;
         }
-            throw new InvalidIDException("\nThe ID you have entered is invalid", id);
+    }
+
+    public boolean isIDValid(String id) {
+        return findProductByID(id) != null;
+    }
+
+    public Product getProductByID(String id) {
+        try {
+            Product product = findProductByID(id);
+            if (product == null) throw new InvalidIDException("\nThe ID you have entered is invalid", id);
+            return product;
         } catch (InvalidIDException ex) {
             System.out.println(ex.getMessage());
         }
         return null;
     }
 
-    public Integer getQuantity(Product product) {
-        return inventory.get(product);
+    // Looks up a product by ID (case-insensitive), returns null if there is no product with that ID
+    public Product findProductByID(String id) {
+        return getCatalog().findProductByID(id);
     }
 
+    public int getQuantity(Product product) {
+        while (true) {
+            StockLevels current = levels;
+            int slot = current.getCatalog().slotOf(product);
+            if (slot < 0) return 0;
+
+            int quantity = current.get(slot);
+            if (quantity != StockLevels.MOVED) return quantity;
+        }
+    }
 
-}
 
+}
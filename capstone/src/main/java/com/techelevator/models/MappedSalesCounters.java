@@ -0,0 +1,242 @@
+package com.techelevator.models;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Sales counters kept in a memory mapped file with a fixed layout, so the running totals are on disk
+// the moment a sale is counted - the operating system writes the pages back even if the process dies,
+// with no flush step. A sale is counted in memory as usual (reads and snapshots come from there) and then
+// with atomic adds into the mapping. The file is kept across restarts when it still agrees with what the
+// journal recovered, so readers outside the machine (see read) always have the totals without a replay.
+//
+// A sale is three adds (the product's units and revenue, and the total revenue), so between them the file
+// is out of step with itself. Each sale therefore bumps a writing count before its adds and a written count
+// (then drops writing) after them: read retries until no sale is halfway through and none finished while
+// it was reading, and a file a crash left with writing above zero is not reopened.
+//
+// Layout (big endian): header of magic, version, slots in use, slot capacity (ints), total revenue, sales
+// writing and sales written (longs), padded to 64 bytes; then 64 byte slots of id length (byte), id (UTF-8,
+// up to 47 bytes), units sold (long) and revenue (long)
+public class MappedSalesCounters extends SalesCounters {
+
+    private static final int MAGIC = 0x564D5343; // "VMSC"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 64;
+    private static final int MAX_ID_BYTES = 47;
+    private static final int REVENUE_OFFSET = 16;
+    private static final int WRITING_OFFSET = 24;
+    private static final int WRITTEN_OFFSET = 32;
+    private static final int UNITS_IN_SLOT = 48;
+    private static final int REVENUE_IN_SLOT = 56;
+    private static final int DEFAULT_CAPACITY = 256;
+    private static final long READ_TIMEOUT_NANOS = 1_000_000_000L;
+
+    // atomic, ordered access to the longs in the mapping
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final FileChannel channel;
+    // replaced by a bigger mapping of the same file when the slots run out
+    private volatile MappedByteBuffer counters;
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    // false while the counts already in a reopened file are loaded into memory, so they aren't added twice
+    private boolean mirroring = true;
+
+    private MappedSalesCounters(FileChannel channel, int capacity) throws IOException {
+        this.channel = channel;
+        this.counters = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+    }
+
+    // Starts a new, empty counters file (replacing any old one) holding the given counters
+    public static MappedSalesCounters create(File file, SalesCounters initial) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return start(channel, initial);
+    }
+
+    // Reopens the counters file if it holds exactly the recovered counters, e.g. after a clean shutdown, and
+    // starts it over from them otherwise. The journal stays the system of record: a file that is damaged, or
+    // that a crash caught halfway through a sale's update, is rewritten rather than trusted
+    public static MappedSalesCounters open(File file, SalesCounters recovered) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            int capacity = validCapacity(channel);
+            if (capacity > 0) {
+                MappedSalesCounters mapped = new MappedSalesCounters(channel, capacity);
+                if (mapped.reopen(recovered)) return mapped;
+            }
+            channel.truncate(0);
+            return start(channel, recovered);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    private static MappedSalesCounters start(FileChannel channel, SalesCounters initial) throws IOException {
+        MappedSalesCounters mapped = new MappedSalesCounters(channel, DEFAULT_CAPACITY);
+        mapped.counters.putInt(0, MAGIC);
+        mapped.counters.putInt(4, VERSION);
+        mapped.counters.putInt(8, 0);
+        mapped.counters.putInt(12, DEFAULT_CAPACITY);
+        mapped.addAll(initial);
+        return mapped;
+    }
+
+    // Reads a counters file, e.g. one left by a machine that is not running
+    public static SalesCounters read(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) throw new IOException("Not a sales counters file");
+            SalesCounters sales = read(buffer);
+            if (sales == null) throw new IOException("The sales counters file is halfway through a sale");
+            return sales;
+        }
+    }
+
+    // A consistent copy of the counts, taken between sales, or null if there was no gap between sales for a
+    // second (or a crash left one halfway through)
+    private static SalesCounters read(ByteBuffer buffer) {
+        long deadline = System.nanoTime() + READ_TIMEOUT_NANOS;
+        while (System.nanoTime() - deadline < 0) {
+            long written = (long) LONGS.getVolatile(buffer, WRITTEN_OFFSET);
+            if ((long) LONGS.getVolatile(buffer, WRITING_OFFSET) == 0) {
+                SalesCounters sales = readCounts(buffer);
+                VarHandle.acquireFence();
+                if ((long) LONGS.getVolatile(buffer, WRITING_OFFSET) == 0
+                        && (long) LONGS.getVolatile(buffer, WRITTEN_OFFSET) == written) {
+                    return sales;
+                }
+            }
+            Thread.onSpinWait();
+        }
+        return null;
+    }
+
+    private static SalesCounters readCounts(ByteBuffer buffer) {
+        SalesCounters sales = new SalesCounters();
+        int used = buffer.getInt(8);
+        for (int slot = 0; slot < used; slot++) {
+            int offset = HEADER_SIZE + slot * SLOT_SIZE;
+            sales.add(readID(buffer, offset), buffer.getLong(offset + UNITS_IN_SLOT), 0);
+        }
+        sales.addRevenue(buffer.getLong(REVENUE_OFFSET));
+        return sales;
+    }
+
+    // The slot capacity of the counters file, or -1 if it isn't one with a header that makes sense
+    private static int validCapacity(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_SIZE) return -1;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // keep reading until the header is in
+        }
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) return -1;
+
+        int used = header.getInt(8);
+        int capacity = header.getInt(12);
+        if (capacity <= 0 || used < 0 || used > capacity) return -1;
+        return channel.size() >= HEADER_SIZE + (long) capacity * SLOT_SIZE ? capacity : -1;
+    }
+
+    // Takes over the counts already in the file if they match recovered; returns false if they don't
+    private boolean reopen(SalesCounters recovered) {
+        MappedByteBuffer buffer = counters;
+        // a sale was halfway into the file when the machine stopped
+        if (buffer.getLong(WRITING_OFFSET) != 0) return false;
+        SalesCounters inFile = read(buffer);
+        if (inFile == null || inFile.getRevenue() != recovered.getRevenue() || !inFile.getUnitsSold().equals(recovered.getUnitsSold())) return false;
+
+        int used = buffer.getInt(8);
+        for (int slot = 0; slot < used; slot++) {
+            slots.put(readID(buffer, HEADER_SIZE + slot * SLOT_SIZE), slot);
+        }
+        mirroring = false;
+        addAll(recovered);
+        mirroring = true;
+        return true;
+    }
+
+    @Override
+    public void add(String id, long units, long revenueInCents) {
+        super.add(id, units, revenueInCents);
+        if (!mirroring) return;
+        int offset = HEADER_SIZE + slotFor(id) * SLOT_SIZE;
+        MappedByteBuffer buffer = counters;
+        LONGS.getAndAdd(buffer, WRITING_OFFSET, 1L);
+        LONGS.getAndAdd(buffer, offset + UNITS_IN_SLOT, units);
+        LONGS.getAndAdd(buffer, offset + REVENUE_IN_SLOT, revenueInCents);
+        LONGS.getAndAdd(buffer, REVENUE_OFFSET, revenueInCents);
+        LONGS.getAndAdd(buffer, WRITTEN_OFFSET, 1L);
+        LONGS.getAndAdd(buffer, WRITING_OFFSET, -1L);
+    }
+
+    @Override
+    public void addRevenue(long revenueInCents) {
+        super.addRevenue(revenueInCents);
+        if (!mirroring) return;
+        MappedByteBuffer buffer = counters;
+        LONGS.getAndAdd(buffer, WRITING_OFFSET, 1L);
+        LONGS.getAndAdd(buffer, REVENUE_OFFSET, revenueInCents);
+        LONGS.getAndAdd(buffer, WRITTEN_OFFSET, 1L);
+        LONGS.getAndAdd(buffer, WRITING_OFFSET, -1L);
+    }
+
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int slotFor(String id) {
+        Integer slot = slots.get(id);
+        return slot != null ? slot : addSlot(id);
+    }
+
+    // New IDs are rare (a new product's first sale), so adding a slot is simply synchronized
+    private synchronized int addSlot(String id) {
+        Integer existing = slots.get(id);
+        if (existing != null) return existing;
+
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_ID_BYTES) throw new IllegalArgumentException("Product ID too long to count: " + id);
+
+        MappedByteBuffer buffer = counters;
+        int slot = buffer.getInt(8);
+        int capacity = buffer.getInt(12);
+        if (slot == capacity) buffer = grow(capacity * 2);
+
+        int offset = HEADER_SIZE + slot * SLOT_SIZE;
+        buffer.put(offset, (byte) bytes.length);
+        for (int i = 0; i < bytes.length; i++) buffer.put(offset + 1 + i, bytes[i]);
+        buffer.putInt(8, slot + 1);
+        slots.put(id, slot);
+        return slot;
+    }
+
+    private MappedByteBuffer grow(int capacity) {
+        try {
+            MappedByteBuffer bigger = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+            bigger.putInt(12, capacity);
+            counters = bigger;
+            return bigger;
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not grow the sales counters file", ex);
+        }
+    }
+
+    private static String readID(ByteBuffer buffer, int offset) {
+        byte[] bytes = new byte[buffer.get(offset)];
+        for (int i = 0; i < bytes.length; i++) bytes[i] = buffer.get(offset + 1 + i);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
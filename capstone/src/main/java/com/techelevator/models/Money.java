@@ -0,0 +1,36 @@
+package com.techelevator.models;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+
+// Money is kept as a whole number of cents in a long everywhere in the machine. BigDecimal is only
+// created here, when an amount has to be formatted for a person to read
+public final class Money {
+
+    public static final long CENTS_PER_DOLLAR = 100;
+
+    // NumberFormat isn't thread safe, so every thread gets its own
+    private static final ThreadLocal<NumberFormat> CURRENCY = ThreadLocal.withInitial(NumberFormat::getCurrencyInstance);
+
+    private Money() {
+    }
+
+    public static long fromDollars(long dollars) {
+        return dollars * CENTS_PER_DOLLAR;
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    // Formats cents as local currency, e.g. 150 -> $1.50
+    public static String format(long cents) {
+        return CURRENCY.get().format(toBigDecimal(cents));
+    }
+
+    // Parses an amount such as 3, 1.8 or $1,234.50 into cents
+    public static long parse(String amount) {
+        String digits = amount.trim().replace("$", "").replace(",", "");
+        return new BigDecimal(digits).movePointRight(2).longValueExact();
+    }
+}
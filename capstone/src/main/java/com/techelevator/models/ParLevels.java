@@ -0,0 +1,70 @@
+package com.techelevator.models;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Scanner;
+
+// How many units each slot can hold (capacity) and the level below which it should be restocked (par).
+// Slots that aren't listed use the defaults
+public class ParLevels {
+
+    public static final int DEFAULT_CAPACITY = 10;
+    public static final int DEFAULT_PAR = 3;
+    public static final ParLevels DEFAULTS = new ParLevels(DEFAULT_CAPACITY, DEFAULT_PAR, new HashMap<>());
+
+    private final int defaultCapacity;
+    private final int defaultPar;
+    // capacity and par for each normalized product ID
+    private final Map<String, int[]> levelsByID;
+
+    //Constructor
+    public ParLevels(int defaultCapacity, int defaultPar, Map<String, int[]> levelsByID) {
+        this.defaultCapacity = defaultCapacity;
+        this.defaultPar = defaultPar;
+        this.levelsByID = new HashMap<>();
+        for (Map.Entry<String, int[]> entry : levelsByID.entrySet()) {
+            this.levelsByID.put(entry.getKey().toUpperCase(Locale.ROOT), entry.getValue().clone());
+        }
+    }
+
+    // Reads a pipe delimited file of id|capacity|par. Returns the defaults if the file doesn't exist
+    public static ParLevels load(File parLevelsFile) {
+        Map<String, int[]> levels = new HashMap<>();
+        if (!parLevelsFile.exists()) return DEFAULTS;
+
+        try (Scanner reader = new Scanner(parLevelsFile)) {
+            while (reader.hasNextLine()) {
+                String line = reader.nextLine();
+
+                // ignore empty lines
+                if (line.isEmpty()) continue;
+
+                String[] columns = line.split("\\|");
+                try {
+                    if (columns.length != 3) throw new NumberFormatException("expected id|capacity|par");
+                    int capacity = Integer.parseInt(columns[1].trim());
+                    int par = Integer.parseInt(columns[2].trim());
+                    levels.put(columns[0].trim(), new int[]{capacity, par});
+                } catch (NumberFormatException ex) {
+                    System.out.println("Invalid par level, line will be skipped: " + line);
+                }
+            }
+        } catch (IOException ex) {
+            System.out.println(ex.getMessage());
+        }
+        return new ParLevels(DEFAULT_CAPACITY, DEFAULT_PAR, levels);
+    }
+
+    public int getCapacity(String id) {
+        int[] levels = levelsByID.get(id.toUpperCase(Locale.ROOT));
+        return levels == null ? defaultCapacity : levels[0];
+    }
+
+    public int getPar(String id) {
+        int[] levels = levelsByID.get(id.toUpperCase(Locale.ROOT));
+        return levels == null ? defaultPar : levels[1];
+    }
+}
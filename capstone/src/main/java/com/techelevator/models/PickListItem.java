@@ -0,0 +1,38 @@
+package com.techelevator.models;
+
+import com.techelevator.models.products.Product;
+
+// A slot that is below its par level and the units needed to fill it to capacity
+public class PickListItem {
+
+    private final Product product;
+    private final int quantity;
+    private final int capacity;
+
+    public PickListItem(Product product, int quantity, int capacity) {
+        this.product = product;
+        this.quantity = quantity;
+        this.capacity = capacity;
+    }
+
+    public Product getProduct() {
+        return product;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getUnitsNeeded() {
+        return capacity - quantity;
+    }
+
+    @Override
+    public String toString() {
+        return product.getId() + " " + product.getName() + ": " + quantity + " in stock, pick " + getUnitsNeeded();
+    }
+}
@@ -0,0 +1,66 @@
+package com.techelevator.models;
+
+import com.techelevator.models.products.Product;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// One unit of a product and the money to pay for it, held for a customer until the sale is committed,
+// aborted or the hold expires. Exactly one of those can happen
+public class Reservation implements TimerWheel.Timeout {
+
+    private static final int HELD = 0;
+    private static final int COMMITTED = 1;
+    private static final int RELEASED = 2;
+
+    private final ReservationBook book;
+    private final Product product;
+    private final long price;
+    private final CurrencyController wallet;
+    private final AtomicInteger state = new AtomicInteger(HELD);
+
+    Reservation(ReservationBook book, Product product, long price, CurrencyController wallet) {
+        this.book = book;
+        this.product = product;
+        this.price = price;
+        this.wallet = wallet;
+    }
+
+    public Product getProduct() {
+        return product;
+    }
+
+    // in cents
+    public long getPrice() {
+        return price;
+    }
+
+    public CurrencyController getWallet() {
+        return wallet;
+    }
+
+    public boolean isHeld() {
+        return state.get() == HELD;
+    }
+
+    public boolean isCommitted() {
+        return state.get() == COMMITTED;
+    }
+
+    boolean markCommitted() {
+        return state.compareAndSet(HELD, COMMITTED);
+    }
+
+    boolean markReleased() {
+        return state.compareAndSet(HELD, RELEASED);
+    }
+
+    @Override
+    public boolean isDone() {
+        return !isHeld();
+    }
+
+    @Override
+    public void expire() {
+        book.abort(this);
+    }
+}
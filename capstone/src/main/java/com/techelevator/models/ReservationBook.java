@@ -0,0 +1,119 @@
+package com.techelevator.models;
+
+import com.techelevator.models.exceptions.ChangeUnavailableException;
+import com.techelevator.models.exceptions.InsufficientFundsException;
+import com.techelevator.models.exceptions.SoldOutException;
+import com.techelevator.models.products.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Two phase purchases: hold takes one unit and the price from the customer's wallet, commit completes the
+// sale, and abort (or the hold timing out) gives both back. Nothing is ever sold without being paid for
+public class ReservationBook {
+
+    public static final long DEFAULT_HOLD_MILLIS = 60_000;
+
+    private final Inventory inventory;
+    private final TimerWheel timerWheel;
+    private final long holdMillis;
+    private final Set<Reservation> activeHolds = ConcurrentHashMap.newKeySet();
+    // making or releasing a hold (read lock) changes the stock, a wallet and activeHolds together; pause
+    // (write lock) sees all three agree, e.g. for a checkpoint
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    //Constructors
+    public ReservationBook(Inventory inventory) {
+        this(inventory, TimerWheel.shared(), DEFAULT_HOLD_MILLIS);
+    }
+
+    public ReservationBook(Inventory inventory, TimerWheel timerWheel, long holdMillis) {
+        this.inventory = inventory;
+        this.timerWheel = timerWheel;
+        this.holdMillis = holdMillis;
+    }
+
+    public Reservation hold(Product product, CurrencyController wallet) throws InsufficientFundsException, SoldOutException, ChangeUnavailableException {
+        Reservation reservation = new Reservation(this, product, product.getPriceInCents(), wallet);
+        lock.readLock().lock();
+        try {
+            take(product, wallet);
+            activeHolds.add(reservation);
+        } finally {
+            lock.readLock().unlock();
+        }
+        timerWheel.schedule(reservation, holdMillis);
+        return reservation;
+    }
+
+    // A sale that completes on the spot, e.g. at the terminal: the same checks as a hold, with nothing to
+    // commit and nothing left on the timer wheel
+    public void sell(Product product, CurrencyController wallet) throws InsufficientFundsException, SoldOutException, ChangeUnavailableException {
+        take(product, wallet);
+    }
+
+    // Takes one unit and the price from the wallet
+    private void take(Product product, CurrencyController wallet) throws InsufficientFundsException, SoldOutException, ChangeUnavailableException {
+        long price = product.getPriceInCents();
+        long balance = wallet.getMoneyInMachine();
+
+        // check funds first so a customer who can't pay never holds a unit
+        if (balance < price) throw new InsufficientFundsException("\nYou have insufficient funds to purchase that item", balance, price);
+        // refuse the sale before anything is vended if the change it leaves can't be paid out
+        if (!wallet.canMakeChangeAfter(price)) throw new ChangeUnavailableException("\nUnable to make change for that purchase", balance - price);
+
+        // take one unit - the sold out check and the decrement happen in one atomic step
+        if (!inventory.tryDecrementQuantity(product)) throw new SoldOutException("\nSOLD OUT", product);
+
+        try {
+            // take the price out of the wallet and reserve its change; another customer on the same cassette
+            // may have taken the pieces since the check above
+            wallet.pay(price);
+        } catch (InsufficientFundsException | ChangeUnavailableException ex) {
+            // put the unit back if the payment fails
+            inventory.incrementQuantity(product);
+            throw ex;
+        }
+    }
+
+    // Returns false if the hold was already aborted or expired
+    public boolean commit(Reservation reservation) {
+        if (!reservation.markCommitted()) return false;
+        activeHolds.remove(reservation);
+        return true;
+    }
+
+    // Gives the unit and the money back. Returns false if the hold was already committed or released
+    public boolean abort(Reservation reservation) {
+        lock.readLock().lock();
+        try {
+            if (!reservation.markReleased()) return false;
+            activeHolds.remove(reservation);
+
+            inventory.incrementQuantity(reservation.getProduct());
+            reservation.getWallet().refund(reservation.getPrice());
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getActiveHolds() {
+        return activeHolds.size();
+    }
+
+    // Stops holds from being made or released until resume, and returns the ones that are active. Their
+    // units are out of the stock and their prices out of the wallets, nothing else is half done
+    public List<Reservation> pause() {
+        lock.writeLock().lock();
+        return new ArrayList<>(activeHolds);
+    }
+
+    public void resume() {
+        lock.writeLock().unlock();
+    }
+}
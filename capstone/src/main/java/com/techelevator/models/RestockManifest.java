@@ -0,0 +1,75 @@
+package com.techelevator.models;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Scanner;
+
+// A batch of units to add to slots, read from a pipe delimited file of id|quantity
+public class RestockManifest {
+
+    private final List<Line> lines;
+
+    //Constructor
+    public RestockManifest(List<Line> lines) {
+        this.lines = Collections.unmodifiableList(new ArrayList<>(lines));
+    }
+
+    public static RestockManifest load(File manifestFile) throws IOException {
+        List<Line> lines = new ArrayList<>();
+
+        try (Scanner reader = new Scanner(manifestFile)) {
+            int lineNumber = 0;
+            while (reader.hasNextLine()) {
+                String line = reader.nextLine();
+                lineNumber++;
+
+                // ignore empty lines
+                if (line.isEmpty()) continue;
+
+                String[] columns = line.split("\\|");
+                try {
+                    if (columns.length != 2) throw new NumberFormatException();
+                    lines.add(new Line(columns[0].trim(), Integer.parseInt(columns[1].trim())));
+                } catch (NumberFormatException ex) {
+                    // a half readable manifest must not be applied, so the whole file is rejected
+                    throw new IOException("Invalid restock manifest line " + lineNumber + ": " + line);
+                }
+            }
+        }
+        return new RestockManifest(lines);
+    }
+
+    // Manifest that fills every slot on the pick list to capacity
+    public static RestockManifest fromPickList(List<PickListItem> pickList) {
+        List<Line> lines = new ArrayList<>();
+        for (PickListItem item : pickList) {
+            if (item.getUnitsNeeded() > 0) lines.add(new Line(item.getProduct().getId(), item.getUnitsNeeded()));
+        }
+        return new RestockManifest(lines);
+    }
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    public static class Line {
+        private final String id;
+        private final int quantity;
+
+        public Line(String id, int quantity) {
+            this.id = id;
+            this.quantity = quantity;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+    }
+}
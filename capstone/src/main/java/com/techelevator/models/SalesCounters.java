@@ -0,0 +1,163 @@
+package com.techelevator.models;
+
+import com.techelevator.models.products.Product;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Units sold per product ID and the revenue they brought in (in cents), kept in memory.
+//
+// Every product ID gets a slot, and the slots are stored in fixed size chunks that are copied on write:
+// snapshot() freezes the chunks as they are and hands them out, which costs the same however many sales
+// there have been. The next sale copies only the chunk it lands in (and the small array of chunks), so a
+// snapshot sees every sale either completely or not at all. Sales are added under one lock; reading the
+// live counters takes none
+public class SalesCounters {
+
+    private static final int CHUNK_SIZE = 64;
+
+    private final Object writeLock = new Object();
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+
+    // guarded by writeLock, published to readers by the volatile writes below
+    private String[] ids = new String[CHUNK_SIZE];
+    private int size;
+    // bumped by every snapshot; chunks (and the array of chunks) from an older epoch belong to a snapshot
+    private long epoch;
+    private long chunksEpoch;
+    private SalesSnapshot lastSnapshot;
+    private Chunk[] spine = new Chunk[0];
+
+    // what readers see: the spine as of the last update, written after the update
+    private volatile Chunk[] chunks = spine;
+    private volatile long revenue;
+    // one more for every update
+    private volatile long version;
+
+    public void record(Product product) {
+        add(product.getId(), 1, product.getPriceInCents());
+    }
+
+    // Adds units sold for one product, with the revenue from them
+    public void add(String id, long units, long revenueInCents) {
+        synchronized (writeLock) {
+            int slot = slotFor(id);
+            Chunk chunk = writableChunk(slot / CHUNK_SIZE);
+            chunk.units[slot % CHUNK_SIZE] += units;
+            chunk.revenue[slot % CHUNK_SIZE] += revenueInCents;
+            revenue += revenueInCents;
+            version++;
+            chunks = spine;
+        }
+    }
+
+    // Adds every unit and all the revenue counted by other
+    public void addAll(SalesCounters other) {
+        SalesSnapshot sales = other.snapshot();
+        long productRevenue = 0;
+        for (String id : sales.getUnitsSold().keySet()) {
+            add(id, sales.getUnitsSold(id), sales.getRevenue(id));
+            productRevenue += sales.getRevenue(id);
+        }
+        // e.g. counters loaded from an old checkpoint only know the total
+        addRevenue(sales.getRevenue() - productRevenue);
+    }
+
+    // Revenue that isn't counted against a product
+    public void addRevenue(long revenueInCents) {
+        synchronized (writeLock) {
+            revenue += revenueInCents;
+            version++;
+        }
+    }
+
+    // The counters as they are now. Taking it copies nothing; if nothing was sold since the last snapshot
+    // the same one is returned
+    public SalesSnapshot snapshot() {
+        synchronized (writeLock) {
+            if (lastSnapshot == null || lastSnapshot.getVersion() != version) {
+                lastSnapshot = new SalesSnapshot(version, revenue, spine, ids, size, slots);
+                epoch++;
+            }
+            return lastSnapshot;
+        }
+    }
+
+    // Counts every update, so two snapshots with the same version hold the same sales
+    public long getVersion() {
+        return version;
+    }
+
+    public long getUnitsSold(String id) {
+        Integer slot = slots.get(id);
+        return slot == null ? 0 : units(chunks, slot);
+    }
+
+    // in cents
+    public long getRevenue() {
+        return revenue;
+    }
+
+    // Units sold per product ID, in ID order
+    public Map<String, Long> getUnitsSold() {
+        Chunk[] current = chunks;
+        Map<String, Long> units = new TreeMap<>();
+        for (Map.Entry<String, Integer> slot : slots.entrySet()) {
+            units.put(slot.getKey(), units(current, slot.getValue()));
+        }
+        return units;
+    }
+
+    static long units(Chunk[] chunks, int slot) {
+        int index = slot / CHUNK_SIZE;
+        Chunk chunk = index < chunks.length ? chunks[index] : null;
+        return chunk == null ? 0 : chunk.units[slot % CHUNK_SIZE];
+    }
+
+    static long revenue(Chunk[] chunks, int slot) {
+        int index = slot / CHUNK_SIZE;
+        Chunk chunk = index < chunks.length ? chunks[index] : null;
+        return chunk == null ? 0 : chunk.revenue[slot % CHUNK_SIZE];
+    }
+
+    private int slotFor(String id) {
+        Integer slot = slots.get(id);
+        if (slot != null) return slot;
+
+        // a snapshot only reads the IDs below its size, so appending in place is safe
+        if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+        ids[size] = id;
+        slots.put(id, size);
+        return size++;
+    }
+
+    private Chunk writableChunk(int index) {
+        if (chunksEpoch != epoch || index >= spine.length) {
+            spine = Arrays.copyOf(spine, Math.max(spine.length, index + 1));
+            chunksEpoch = epoch;
+        }
+
+        Chunk chunk = spine[index];
+        if (chunk == null || chunk.epoch != epoch) {
+            chunk = new Chunk(epoch, chunk);
+            spine[index] = chunk;
+        }
+        return chunk;
+    }
+
+    // Units and revenue for CHUNK_SIZE slots
+    static final class Chunk {
+
+        private final long epoch;
+        private final long[] units;
+        private final long[] revenue;
+
+        Chunk(long epoch, Chunk copyOf) {
+            this.epoch = epoch;
+            this.units = copyOf == null ? new long[CHUNK_SIZE] : copyOf.units.clone();
+            this.revenue = copyOf == null ? new long[CHUNK_SIZE] : copyOf.revenue.clone();
+        }
+    }
+}
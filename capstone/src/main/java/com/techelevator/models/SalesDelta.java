@@ -0,0 +1,50 @@
+package com.techelevator.models;
+
+import java.util.Collections;
+import java.util.Map;
+
+// The sales between two snapshots, e.g. for the finance job to pick up only what changed since its last run.
+// Only products whose units or revenue changed are listed
+public class SalesDelta {
+
+    private final long fromVersion;
+    private final long toVersion;
+    private final Map<String, Long> unitsSold;
+    private final Map<String, Long> revenueByProduct;
+    private final long revenue;
+
+    SalesDelta(long fromVersion, long toVersion, Map<String, Long> unitsSold, Map<String, Long> revenueByProduct, long revenue) {
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        this.unitsSold = unitsSold;
+        this.revenueByProduct = revenueByProduct;
+        this.revenue = revenue;
+    }
+
+    public long getFromVersion() {
+        return fromVersion;
+    }
+
+    public long getToVersion() {
+        return toVersion;
+    }
+
+    // Units sold per product ID, in ID order
+    public Map<String, Long> getUnitsSold() {
+        return Collections.unmodifiableMap(unitsSold);
+    }
+
+    // Revenue per product ID in cents
+    public Map<String, Long> getRevenueByProduct() {
+        return Collections.unmodifiableMap(revenueByProduct);
+    }
+
+    // in cents
+    public long getRevenue() {
+        return revenue;
+    }
+
+    public boolean isEmpty() {
+        return unitsSold.isEmpty() && revenue == 0;
+    }
+}
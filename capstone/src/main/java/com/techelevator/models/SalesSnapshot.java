@@ -0,0 +1,84 @@
+package com.techelevator.models;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// The sales counters at one moment, see SalesCounters.snapshot(). It never changes, so a report rendered
+// from it is consistent however many sales happen while it is being written
+public class SalesSnapshot {
+
+    private final long version;
+    private final long revenue;
+    private final SalesCounters.Chunk[] chunks;
+    private final String[] ids;
+    private final int size;
+    // shared with the counters; slots at or above size were added after the snapshot
+    private final Map<String, Integer> slots;
+
+    SalesSnapshot(long version, long revenue, SalesCounters.Chunk[] chunks, String[] ids, int size, Map<String, Integer> slots) {
+        this.version = version;
+        this.revenue = revenue;
+        this.chunks = chunks;
+        this.ids = ids;
+        this.size = size;
+        this.slots = slots;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // in cents
+    public long getRevenue() {
+        return revenue;
+    }
+
+    public long getUnitsSold(String id) {
+        int slot = slotOf(id);
+        return slot < 0 ? 0 : SalesCounters.units(chunks, slot);
+    }
+
+    // Revenue from one product, in cents
+    public long getRevenue(String id) {
+        int slot = slotOf(id);
+        return slot < 0 ? 0 : SalesCounters.revenue(chunks, slot);
+    }
+
+    // Units sold per product ID, in ID order
+    public Map<String, Long> getUnitsSold() {
+        Map<String, Long> units = new TreeMap<>();
+        for (int slot = 0; slot < size; slot++) {
+            units.put(ids[slot], SalesCounters.units(chunks, slot));
+        }
+        return units;
+    }
+
+    // What was sold between earlier and this snapshot
+    public SalesDelta diff(SalesSnapshot earlier) {
+        Map<String, Long> units = new TreeMap<>();
+        Map<String, Long> revenueByProduct = new TreeMap<>();
+        for (int slot = 0; slot < size; slot++) {
+            String id = ids[slot];
+            long unitsSold = SalesCounters.units(chunks, slot) - earlier.getUnitsSold(id);
+            long productRevenue = SalesCounters.revenue(chunks, slot) - earlier.getRevenue(id);
+            if (unitsSold != 0 || productRevenue != 0) {
+                units.put(id, unitsSold);
+                revenueByProduct.put(id, productRevenue);
+            }
+        }
+        // products only the earlier snapshot knows about, when the two come from different counters
+        for (int slot = 0; slot < earlier.size; slot++) {
+            String id = earlier.ids[slot];
+            if (slotOf(id) < 0) {
+                units.put(id, -SalesCounters.units(earlier.chunks, slot));
+                revenueByProduct.put(id, -SalesCounters.revenue(earlier.chunks, slot));
+            }
+        }
+        return new SalesDelta(earlier.version, version, units, revenueByProduct, revenue - earlier.revenue);
+    }
+
+    private int slotOf(String id) {
+        Integer slot = slots.get(id);
+        return slot == null || slot >= size ? -1 : slot;
+    }
+}
@@ -0,0 +1,204 @@
+package com.techelevator.models;
+
+import com.techelevator.models.products.Product;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Units sold per product ID over time, in fixed size circular arrays of minute, hour and day buckets.
+// A sale is added to all three at once, so the hourly and daily rollups are always current:
+//   minutes cover the last 24 hours, hours the last 35 days, days the last 366 days.
+// Buckets are in local wall clock time, so "07:00 to 09:00" means the same thing every day
+public class SalesTimeSeries {
+
+    static final int MINUTE_BUCKETS = 24 * 60;
+    static final int HOUR_BUCKETS = 35 * 24;
+    static final int DAY_BUCKETS = 366;
+
+    private static final long MINUTES_PER_HOUR = 60;
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    private final ZoneId zone;
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    //Constructors
+    public SalesTimeSeries() {
+        this(ZoneId.systemDefault());
+    }
+
+    public SalesTimeSeries(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    public void record(Product product) {
+        record(product.getId(), 1, System.currentTimeMillis());
+    }
+
+    // epochMillis is when the units were sold
+    public void record(String id, long units, long epochMillis) {
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+        series.computeIfAbsent(id, key -> new Series()).add(minuteOf(time), units);
+    }
+
+    // Units of the product sold from (inclusive) to (exclusive). The range is answered from the finest
+    // buckets that still reach back to from, and must line up with them: past the last 24 hours it has to
+    // start and end on the hour, past the last 35 days at midnight (an end after now always lines up).
+    // A range that would need part of a bucket throws IllegalArgumentException instead of counting it whole
+    public long unitsSold(String id, LocalDateTime from, LocalDateTime to) {
+        Series productSeries = series.get(id);
+        if (productSeries == null) return 0;
+        return productSeries.sum(minuteOf(from), minuteOf(to), minuteOf(LocalDateTime.now(zone)));
+    }
+
+    // Units sold between start and end (e.g. 07:00 and 09:00) on each of the days days ending with lastDay
+    public long unitsSoldBetween(String id, LocalTime start, LocalTime end, int days, LocalDate lastDay) {
+        long total = 0;
+        for (int i = 0; i < days; i++) {
+            LocalDate day = lastDay.minusDays(i);
+            total += unitsSold(id, day.atTime(start), day.atTime(end));
+        }
+        return total;
+    }
+
+    // Only buckets with sales are written: per product its id and, for each ring, the number of buckets
+    // followed by each one's time and units
+    public void save(DataOutputStream out) throws IOException {
+        out.writeInt(series.size());
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            out.writeUTF(entry.getKey());
+            entry.getValue().save(out);
+        }
+    }
+
+    public void load(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String id = in.readUTF();
+            series.computeIfAbsent(id, key -> new Series()).load(in);
+        }
+    }
+
+    // minutes since the epoch, counted in local wall clock time
+    private static long minuteOf(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    // One product's rings
+    private static final class Series {
+        private final Ring minutes = new Ring(MINUTE_BUCKETS);
+        private final Ring hours = new Ring(HOUR_BUCKETS);
+        private final Ring days = new Ring(DAY_BUCKETS);
+
+        synchronized void add(long minute, long units) {
+            minutes.add(minute, units);
+            hours.add(Math.floorDiv(minute, MINUTES_PER_HOUR), units);
+            days.add(Math.floorDiv(minute, MINUTES_PER_DAY), units);
+        }
+
+        synchronized long sum(long fromMinute, long toMinute, long nowMinute) {
+            // nothing is sold after the current minute, and an end past it would make the rings look back
+            // from there and miss their newest buckets
+            toMinute = Math.min(toMinute, nowMinute + 1);
+            if (toMinute <= fromMinute) return 0;
+            if (fromMinute > nowMinute - MINUTE_BUCKETS) return minutes.sum(fromMinute, toMinute);
+
+            long fromHour = Math.floorDiv(fromMinute, MINUTES_PER_HOUR);
+            if (fromHour > Math.floorDiv(nowMinute, MINUTES_PER_HOUR) - HOUR_BUCKETS) {
+                requireWhole(fromMinute, toMinute, nowMinute, MINUTES_PER_HOUR, "hour");
+                return hours.sum(fromHour, ceilDiv(toMinute, MINUTES_PER_HOUR));
+            }
+
+            requireWhole(fromMinute, toMinute, nowMinute, MINUTES_PER_DAY, "day");
+            return days.sum(Math.floorDiv(fromMinute, MINUTES_PER_DAY), ceilDiv(toMinute, MINUTES_PER_DAY));
+        }
+
+        // the range has to cover whole buckets, except that the one holding now may be cut off at now
+        private static void requireWhole(long fromMinute, long toMinute, long nowMinute, long bucketMinutes, String bucket) {
+            boolean wholeEnd = Math.floorMod(toMinute, bucketMinutes) == 0 || toMinute > nowMinute;
+            if (Math.floorMod(fromMinute, bucketMinutes) != 0 || !wholeEnd) {
+                throw new IllegalArgumentException("Sales that old are only kept by the " + bucket
+                        + ", so the range has to start and end on a whole " + bucket);
+            }
+        }
+
+        synchronized void save(DataOutputStream out) throws IOException {
+            minutes.save(out);
+            hours.save(out);
+            days.save(out);
+        }
+
+        synchronized void load(DataInputStream in) throws IOException {
+            minutes.load(in);
+            hours.load(in);
+            days.load(in);
+        }
+
+        private static long ceilDiv(long value, long divisor) {
+            return -Math.floorDiv(-value, divisor);
+        }
+    }
+
+    // A circular array of buckets. Each bucket remembers which period it holds, so a bucket left over from
+    // an earlier lap reads as empty and is reset the next time it is written
+    private static final class Ring {
+        private final long[] units;
+        private final long[] periods;
+
+        Ring(int size) {
+            units = new long[size];
+            periods = new long[size];
+            java.util.Arrays.fill(periods, Long.MIN_VALUE);
+        }
+
+        void add(long period, long amount) {
+            int index = index(period);
+            if (periods[index] != period) {
+                periods[index] = period;
+                units[index] = 0;
+            }
+            units[index] += amount;
+        }
+
+        // from inclusive, to exclusive; periods older than the ring holds count as nothing
+        long sum(long from, long to) {
+            long start = Math.max(from, to - units.length);
+            long total = 0;
+            for (long period = start; period < to; period++) {
+                int index = index(period);
+                if (periods[index] == period) total += units[index];
+            }
+            return total;
+        }
+
+        void save(DataOutputStream out) throws IOException {
+            int live = 0;
+            for (long period : periods) if (period != Long.MIN_VALUE) live++;
+            out.writeInt(live);
+            for (int i = 0; i < units.length; i++) {
+                if (periods[i] == Long.MIN_VALUE) continue;
+                out.writeLong(periods[i]);
+                out.writeLong(units[i]);
+            }
+        }
+
+        void load(DataInputStream in) throws IOException {
+            int live = in.readInt();
+            for (int i = 0; i < live; i++) {
+                add(in.readLong(), in.readLong());
+            }
+        }
+
+        private int index(long period) {
+            return (int) Math.floorMod(period, (long) units.length);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.techelevator.models;
+
+import com.techelevator.models.exceptions.AmountLessThanOneException;
+
+// One customer's visit to the machine: their own wallet, paid out from the machine's shared cassette.
+// Sessions come from a SessionPool and go back to it once settled, so they are reused rather than recreated
+public class Session {
+
+    private final int id;
+    private final CurrencyController wallet;
+    // cents fed since the session was last settled
+    private long fed;
+
+    Session(int id, CashCassette cassette) {
+        this.id = id;
+        this.wallet = new CurrencyController(cassette);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public CurrencyController getWallet() {
+        return wallet;
+    }
+
+    // Returns the number of cents added, 0 if the amount wasn't a whole dollar amount
+    public synchronized long feedMoney(String amount) throws AmountLessThanOneException {
+        long added = wallet.addMoneyToMachine(amount);
+        fed += added;
+        return added;
+    }
+
+    // Puts back the balance the customer had when the machine stopped (crash recovery)
+    public synchronized void restoreBalance(long balance) {
+        wallet.takeBalance();
+        wallet.refund(balance);
+        fed += balance;
+    }
+
+    synchronized long takeFed() {
+        long taken = fed;
+        fed = 0;
+        return taken;
+    }
+}
@@ -0,0 +1,75 @@
+package com.techelevator.models;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Hands out sessions and takes them back when the customer is done. Free sessions wait in a fixed size
+// array queue, so opening and releasing a session allocates nothing once the pool has warmed up
+public class SessionPool {
+
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final CashCassette cassette;
+    private final CashBoxLedger ledger;
+    private final BlockingQueue<Session> free;
+    // sessions handed out and not closed yet, so a checkpoint can save their balances
+    private final Set<Session> open = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextID = new AtomicInteger();
+
+    //Constructors
+    public SessionPool(CashCassette cassette, CashBoxLedger ledger) {
+        this(cassette, ledger, DEFAULT_CAPACITY);
+    }
+
+    public SessionPool(CashCassette cassette, CashBoxLedger ledger, int capacity) {
+        this.cassette = cassette;
+        this.ledger = ledger;
+        this.free = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public Session open() {
+        Session session = free.poll();
+        if (session == null) session = new Session(nextID.incrementAndGet(), cassette);
+        open.add(session);
+        return session;
+    }
+
+    // Pays out the session's balance and posts what it took in to the cash box ledger.
+    // Returns the change dispensed, one line per denomination
+    public String settle(Session session) {
+        CurrencyController wallet = session.getWallet();
+        long balance = wallet.getMoneyInMachine();
+
+        DispensePlan plan = wallet.dispenseChangePlan();
+        // if the cassette can't pay the balance, it is written off to the ledger as owed to the customer
+        long owed = plan == null ? wallet.takeBalance() : 0;
+        ledger.post(session.takeFed(), balance - owed, owed);
+
+        if (plan == null) return "\nThe machine can't make " + Money.format(owed) + " in change. Please call for service.";
+        return plan.toString();
+    }
+
+    // Settles the session and puts it back in the pool. It must not be used after this. Taking it out of the
+    // open set is the claim: of two closes only one gets it, so a session is never in the free queue twice
+    // (which would hand one wallet to two customers)
+    public String close(Session session) {
+        if (!open.remove(session)) throw new IllegalStateException("Session " + session.getId() + " is already closed");
+        String change = settle(session);
+        // a full pool just lets the extra session go
+        free.offer(session);
+        return change;
+    }
+
+    public List<Session> getOpenSessions() {
+        return new ArrayList<>(open);
+    }
+
+    public int getFreeSessions() {
+        return free.size();
+    }
+}
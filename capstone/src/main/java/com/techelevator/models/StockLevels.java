@@ -0,0 +1,123 @@
+package com.techelevator.models;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// A catalog together with the quantity of each of its slots. When the catalog is reloaded, Inventory swaps in
+// new StockLevels; counts of slots that are in both catalogs are carried over one slot at a time, without locks:
+//  - a carried over slot starts as PENDING in the new levels
+//  - whoever carries it over swaps MOVED into the old slot, so late purchases on the old levels know to retry
+//  - the value taken out of the old slot is then written into the new one
+class StockLevels {
+    // Result of an update on levels that have been replaced - read Inventory's current levels and try again
+    static final int RETRY = -1;
+    static final int SOLD_OUT = -2;
+    static final int MOVED = Integer.MIN_VALUE;
+    static final int PENDING = Integer.MIN_VALUE + 1;
+
+    private final Catalog catalog;
+    private final AtomicIntegerArray quantities;
+    // Slot in the previous levels that each slot carries over from, -1 for new products
+    private final int[] previousSlots;
+    // Units added to each slot as it is carried over, null for none (see Inventory.restock)
+    private final int[] additions;
+    private volatile StockLevels previous;
+
+    //Constructors
+    StockLevels(Catalog catalog, int initialQuantity) {
+        this.catalog = catalog;
+        this.quantities = new AtomicIntegerArray(catalog.size());
+        this.previousSlots = null;
+        this.additions = null;
+
+        for (int slot = 0; slot < catalog.size(); slot++) {
+            quantities.set(slot, initialQuantity);
+        }
+    }
+
+    StockLevels(Catalog catalog, int[] initialQuantities) {
+        this.catalog = catalog;
+        this.quantities = new AtomicIntegerArray(initialQuantities);
+        this.previousSlots = null;
+        this.additions = null;
+    }
+
+    StockLevels(Catalog catalog, StockLevels previous, int initialQuantity) {
+        this(catalog, previous, initialQuantity, null);
+    }
+
+    // additions are in slot order of catalog, and are added to the carried over quantities
+    StockLevels(Catalog catalog, StockLevels previous, int initialQuantity, int[] additions) {
+        this.catalog = catalog;
+        this.quantities = new AtomicIntegerArray(catalog.size());
+        this.previousSlots = new int[catalog.size()];
+        this.additions = additions;
+        this.previous = previous;
+
+        // every previous slot is carried over to one new slot at most: a second slot waiting on it would wait
+        // for a value that never comes, so it starts like a new product instead (Catalog rejects duplicate IDs,
+        // this keeps a reload from hanging if one ever gets through)
+        boolean[] claimed = new boolean[previous.catalog.size()];
+        for (int slot = 0; slot < catalog.size(); slot++) {
+            int previousSlot = previous.catalog.slotOf(catalog.getProduct(slot));
+            if (previousSlot >= 0 && claimed[previousSlot]) previousSlot = -1;
+            if (previousSlot >= 0) claimed[previousSlot] = true;
+            previousSlots[slot] = previousSlot;
+            quantities.set(slot, previousSlot < 0 ? initialQuantity : PENDING);
+        }
+    }
+
+    Catalog getCatalog() {
+        return catalog;
+    }
+
+    // Carries over every pending slot, after which the previous levels can be garbage collected
+    void completeCarryOver() {
+        for (int slot = 0; slot < catalog.size(); slot++) {
+            get(slot);
+        }
+        previous = null;
+    }
+
+    // Returns the quantity of the slot, or MOVED if these levels have been replaced
+    int get(int slot) {
+        int quantity = quantities.get(slot);
+        return quantity == PENDING ? carryOver(slot) : quantity;
+    }
+
+    // Returns the quantity left after taking a unit, SOLD_OUT if there was none to take,
+    // or RETRY if these levels have been replaced
+    int tryDecrement(int slot) {
+        while (true) {
+            int current = get(slot);
+            if (current == MOVED) return RETRY;
+            if (current <= 0) return SOLD_OUT;
+            if (quantities.compareAndSet(slot, current, current - 1)) return current - 1;
+        }
+    }
+
+    // Returns the new quantity, or RETRY if these levels have been replaced
+    int add(int slot, int amount) {
+        while (true) {
+            int current = get(slot);
+            if (current == MOVED) return RETRY;
+            if (quantities.compareAndSet(slot, current, current + amount)) return current + amount;
+        }
+    }
+
+    private int carryOver(int slot) {
+        StockLevels from = previous;
+        if (from != null) {
+            int carried = from.quantities.getAndSet(previousSlots[slot], MOVED);
+            if (carried != MOVED) {
+                quantities.compareAndSet(slot, PENDING, additions == null ? carried : carried + additions[slot]);
+            }
+        }
+
+        // another thread took the old value and is about to store it
+        int quantity;
+        while ((quantity = quantities.get(slot)) == PENDING) {
+            Thread.onSpinWait();
+        }
+        return quantity;
+    }
+}
@@ -0,0 +1,110 @@
+package com.techelevator.models;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Hashed timer wheel: timeouts are dropped into the bucket for the tick they are due, and each tick only
+// looks at one bucket. Scheduling and cancelling are O(1) and expiry never scans everything that's pending.
+// Cancelled timeouts are not removed, they are skipped when their bucket comes around. Scheduling and
+// advancing the wheel take turns on one lock (held only to touch a bucket, never while a timeout expires),
+// so a timeout can't be dropped into the bucket a tick is draining and wait a whole turn of the wheel
+public class TimerWheel {
+
+    private static final int DEFAULT_BUCKETS = 512;
+    private static final long DEFAULT_TICK_MILLIS = 100;
+
+    // One wheel (and one thread) is enough for every machine in the process
+    private static TimerWheel shared;
+
+    private final List<List<Entry>> buckets;
+    private final long tickMillis;
+    private final Object lock = new Object();
+    // guarded by lock
+    private long currentTick;
+    // the timeouts due on this tick, only used by the thread calling tick
+    private final List<Timeout> due = new ArrayList<>();
+
+    public TimerWheel(int bucketCount, long tickMillis) {
+        this.buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.tickMillis = tickMillis;
+    }
+
+    public static synchronized TimerWheel shared() {
+        if (shared == null) {
+            shared = new TimerWheel(DEFAULT_BUCKETS, DEFAULT_TICK_MILLIS);
+            ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "timer-wheel");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ticker.scheduleAtFixedRate(shared::tick, DEFAULT_TICK_MILLIS, DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        return shared;
+    }
+
+    // Runs the timeout's expire method after the delay, unless it is done by then
+    public void schedule(Timeout timeout, long delayMillis) {
+        long ticks = Math.max(1, (delayMillis + tickMillis - 1) / tickMillis);
+        synchronized (lock) {
+            long deadline = currentTick + ticks;
+            buckets.get((int) (deadline % buckets.size())).add(new Entry(timeout, deadline));
+        }
+    }
+
+    // Advances the wheel by one tick and expires everything that is due
+    public synchronized void tick() {
+        synchronized (lock) {
+            long tick = ++currentTick;
+            List<Entry> bucket = buckets.get((int) (tick % buckets.size()));
+
+            // keep the entries due on a later turn of the wheel, in place
+            int kept = 0;
+            for (Entry entry : bucket) {
+                if (entry.timeout.isDone()) continue;
+                if (entry.deadline <= tick) {
+                    due.add(entry.timeout);
+                } else {
+                    bucket.set(kept++, entry);
+                }
+            }
+            bucket.subList(kept, bucket.size()).clear();
+        }
+
+        // outside the lock, an expiring timeout may schedule itself again
+        for (Timeout timeout : due) {
+            expire(timeout);
+        }
+        due.clear();
+    }
+
+    // One timeout that throws must not stop the ticker thread, or nothing after it would ever expire
+    private static void expire(Timeout timeout) {
+        try {
+            timeout.expire();
+        } catch (RuntimeException ex) {
+            System.out.println("A timeout failed to expire: " + ex);
+        }
+    }
+
+    public interface Timeout {
+        boolean isDone();
+
+        void expire();
+    }
+
+    private static class Entry {
+        private final Timeout timeout;
+        private final long deadline;
+
+        private Entry(Timeout timeout, long deadline) {
+            this.timeout = timeout;
+            this.deadline = deadline;
+        }
+    }
+}
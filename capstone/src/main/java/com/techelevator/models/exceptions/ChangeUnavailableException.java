@@ -0,0 +1,27 @@
+package com.techelevator.models.exceptions;
+
+import com.techelevator.models.Money;
+
+public class ChangeUnavailableException extends Exception {
+
+    private long change;
+
+    // change is in cents
+    public ChangeUnavailableException(String message, long change){
+
+        super(message);
+        this.change = change;
+    }
+
+    @Override
+    public String getMessage(){
+
+        String message = super.getMessage();
+
+        message += "\n --> The machine can't make " + Money.format(change) + " in change right now.";
+        message += "\n --> Please choose another item or feed an amount closer to the price.";
+
+        return message;
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.techelevator.models.exceptions;
+
+import com.techelevator.models.products.Product;
+
+public class HoldExpiredException extends Exception {
+
+    private Product product;
+
+    public HoldExpiredException(String message, Product product){
+
+        super(message);
+        this.product = product;
+    }
+
+    @Override
+    public String getMessage(){
+
+        String message = super.getMessage();
+
+        message += " --> " + product.getName() + " was released and your money was returned to your balance.";
+
+        return message;
+    }
+
+}
@@ -1,13 +1,14 @@
 package com.techelevator.models.exceptions;
 
-import java.math.BigDecimal;
+import com.techelevator.models.Money;
 
 public class InsufficientFundsException extends Exception{
 
-    private BigDecimal balance;
-    private BigDecimal price;
+    private long balance;
+    private long price;
 
-    public InsufficientFundsException(String message, BigDecimal balance, BigDecimal price){
+    // Amounts are in cents
+    public InsufficientFundsException(String message, long balance, long price){
 
         super(message);
         this.balance = balance;
@@ -19,11 +20,10 @@ public class InsufficientFundsException extends Exception{
 
         String message = super.getMessage();
 
-        message += "\n --> Your current balance: $" + balance + " --> Price of item: $" + price;
-        message += "\n --> Amount needed to feed machine in order to purchase: $" + price.subtract(balance);
+        message += "\n --> Your current balance: $" + Money.toBigDecimal(balance) + " --> Price of item: $" + Money.toBigDecimal(price);
+        message += "\n --> Amount needed to feed machine in order to purchase: $" + Money.toBigDecimal(price - balance);
 
         return message;
     }
 
 }
-
@@ -0,0 +1,23 @@
+package com.techelevator.models.exceptions;
+
+public class InvalidRestockException extends Exception {
+
+    private String id;
+
+    public InvalidRestockException(String message, String id){
+
+        super(message);
+        this.id = id;
+    }
+
+    @Override
+    public String getMessage(){
+
+        String message = super.getMessage();
+
+        message += " --> Slot: " + id + ". Nothing in the manifest was restocked.";
+
+        return message;
+    }
+
+}
@@ -0,0 +1,314 @@
+package com.techelevator.models.file_io;
+
+import com.techelevator.models.Money;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Writes the same log as Logger, but off the purchase thread. logMessage only copies the message into a
+// preallocated slot of a ring buffer; a background writer (one thread shared by every AsyncLogger) formats
+// the waiting records in batches and appends them to a channel that stays open until the log rolls
+// (see LogRotator)
+public class AsyncLogger extends Logger {
+
+    // What logMessage does when the ring buffer is full
+    public enum OverflowPolicy {
+        // throw the message away (counted in getDroppedCount)
+        DROP,
+        // wait for the writer to make room, for MAX_BLOCK_NANOS at most; then (or once the logger is closed)
+        // the message is thrown away like under DROP
+        BLOCK
+    }
+
+    public static final int DEFAULT_CAPACITY = 1024;
+    private static final int BATCH_BYTES = 64 * 1024;
+    private static final long FULL_PARK_NANOS = 50_000;
+    private static final long MAX_BLOCK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Slot[] ring;
+    private final int mask;
+    private final OverflowPolicy policy;
+    private final LogRotator rotator;
+    // next position a producer will claim
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean closed;
+    // producers between their closed check and publishing, close waits for them so nothing published is lost
+    private final AtomicInteger producing = new AtomicInteger();
+
+    // writer state, only touched while holding this logger's lock (see drain)
+    private long head;
+    private FileChannel channel;
+    private LocalDate channelDate;
+    private long channelSize;
+    private long channelOpenedAt;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BATCH_BYTES);
+    private final StringBuilder line = new StringBuilder(128);
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedTimestamp;
+    private LocalDate cachedDate;
+
+    // A fixed size record. sequence says whose turn the slot is: position when free for the producer
+    // claiming that position, position + 1 once the record is ready for the writer
+    private static final class Slot {
+        volatile long sequence;
+        long time;
+        String action;
+        long amount;
+        long balance;
+    }
+
+    //Constructors
+    public AsyncLogger(String directory) {
+        this(directory, DEFAULT_CAPACITY, OverflowPolicy.BLOCK);
+    }
+
+    // capacity is rounded up to a power of two
+    public AsyncLogger(String directory, int capacity, OverflowPolicy policy) {
+        this(directory, capacity, policy, new LogRotator(directory));
+    }
+
+    public AsyncLogger(String directory, int capacity, OverflowPolicy policy, LogRotator rotator) {
+        super(directory);
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.ring = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = new Slot();
+            ring[i].sequence = i;
+        }
+        this.mask = size - 1;
+        this.policy = policy;
+        this.rotator = rotator;
+        rotator.rollStale(LocalDate.now());
+        Writer.register(this);
+    }
+
+    // Amounts are in cents. Never touches the file system; messages logged after close are ignored
+    @Override
+    public void logMessage(String action, long actionAmount, long balance) {
+        logMessage(System.currentTimeMillis(), action, actionAmount, balance);
+    }
+
+    // For messages that already carry their time (epoch milliseconds), e.g. rendered from the journal
+    void logMessage(long time, String action, long actionAmount, long balance) {
+        producing.incrementAndGet();
+        try {
+            if (closed) return;
+
+            long position;
+            Slot slot;
+            long blockedSince = 0;
+            while (true) {
+                position = tail.get();
+                slot = ring[(int) position & mask];
+                long lag = slot.sequence - position;
+                if (lag == 0) {
+                    if (tail.compareAndSet(position, position + 1)) break;
+                } else if (lag < 0) {
+                    // the writer hasn't freed this slot yet, so the buffer is full. Nothing frees it once the logger
+                    // is closed (or if the writer thread died), so a blocked producer gives up after a while
+                    if (blockedSince == 0) blockedSince = System.nanoTime();
+                    if (policy == OverflowPolicy.DROP || closed || System.nanoTime() - blockedSince > MAX_BLOCK_NANOS) {
+                        dropped.incrementAndGet();
+                        return;
+                    }
+                    Writer.wake();
+                    LockSupport.parkNanos(FULL_PARK_NANOS);
+                }
+                // otherwise another producer claimed this position first - try the next one
+            }
+
+            slot.time = time;
+            slot.action = action;
+            slot.amount = actionAmount;
+            slot.balance = balance;
+            // publish to the writer
+            slot.sequence = position + 1;
+            Writer.wake();
+        } finally {
+            producing.decrementAndGet();
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    // Writes everything logged so far
+    public void flush() {
+        drain();
+    }
+
+    // Writes what is still waiting and closes the log file
+    @Override
+    public void close() {
+        closed = true;
+        Writer.unregister(this);
+        // a producer that got past the closed check before it was set is about to publish; wait for it
+        while (producing.get() > 0) Thread.onSpinWait();
+        synchronized (this) {
+            drain();
+            closeChannel();
+        }
+    }
+
+    private boolean hasReady() {
+        return ring[(int) head & mask].sequence == head + 1;
+    }
+
+    // Formats and writes every ready record, returns how many there were
+    private synchronized int drain() {
+        int count = 0;
+        while (true) {
+            Slot slot = ring[(int) head & mask];
+            if (slot.sequence != head + 1) break;
+
+            append(slot.time, slot.action, slot.amount, slot.balance);
+            slot.action = null;
+            // hand the slot back to producers for the next lap
+            slot.sequence = head + ring.length;
+            head++;
+            count++;
+        }
+        if (count > 0) writeBuffer();
+        return count;
+    }
+
+    private void append(long time, String action, long amount, long balance) {
+        // the timestamp only changes once a second, so it is formatted once a second
+        long second = Math.floorDiv(time, 1000);
+        if (second != cachedSecond) {
+            LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), ZoneId.systemDefault());
+            cachedSecond = second;
+            cachedTimestamp = dateTime.format(TIMESTAMP_FORMAT);
+            cachedDate = dateTime.toLocalDate();
+        }
+        // a new day means a new log file, and yesterday's is closed for good
+        if (!cachedDate.equals(channelDate)) {
+            LocalDate previous = channelDate;
+            writeBuffer();
+            closeChannel();
+            if (previous != null) rotator.roll(previous);
+            openChannel(cachedDate, time);
+        }
+
+        line.setLength(0);
+        line.append(cachedTimestamp).append(' ').append(action).append(": ")
+                .append(Money.format(amount)).append(' ').append(Money.format(balance)).append(System.lineSeparator());
+        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+
+        // roll within the day if the file is full or old enough
+        if (rotator.getPolicy().shouldRoll(channelSize, channelOpenedAt, bytes.length, time)) {
+            writeBuffer();
+            closeChannel();
+            rotator.roll(cachedDate);
+            openChannel(cachedDate, time);
+        }
+        channelSize += bytes.length;
+
+        if (bytes.length > buffer.remaining()) writeBuffer();
+        if (bytes.length > buffer.remaining()) {
+            write(ByteBuffer.wrap(bytes));
+        } else {
+            buffer.put(bytes);
+        }
+    }
+
+    private void writeBuffer() {
+        buffer.flip();
+        write(buffer);
+        buffer.clear();
+    }
+
+    private void write(ByteBuffer bytes) {
+        if (channel == null) return;
+        try {
+            while (bytes.hasRemaining()) channel.write(bytes);
+        } catch (IOException ex) {
+            //Swallow the exception, like Logger
+        }
+    }
+
+    private void openChannel(LocalDate date, long time) {
+        channelDate = date;
+        channelOpenedAt = time;
+        File logFile = rotator.activeFile(date);
+        channelSize = logFile.length();
+        try {
+            channel = FileChannel.open(logFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            channel = null;
+        }
+    }
+
+    private void closeChannel() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            //Swallow the exception
+        }
+        channel = null;
+        channelDate = null;
+    }
+
+    // The background writer shared by every open AsyncLogger. It parks while no logger has anything ready,
+    // and producers wake it when they publish
+    private static final class Writer {
+        private static final List<AsyncLogger> LOGGERS = new CopyOnWriteArrayList<>();
+        private static volatile boolean waiting;
+        private static final Thread THREAD = start();
+
+        private static Thread start() {
+            Thread thread = new Thread(Writer::run, "async-logger");
+            thread.setDaemon(true);
+            thread.start();
+            return thread;
+        }
+
+        static void wake() {
+            if (waiting) LockSupport.unpark(THREAD);
+        }
+
+        static void register(AsyncLogger logger) {
+            LOGGERS.add(logger);
+        }
+
+        static void unregister(AsyncLogger logger) {
+            LOGGERS.remove(logger);
+        }
+
+        private static void run() {
+            while (true) {
+                int written = 0;
+                for (AsyncLogger logger : LOGGERS) {
+                    written += logger.drain();
+                }
+                if (written > 0) continue;
+
+                // look again after saying so, a producer that published in between sees waiting and wakes us
+                waiting = true;
+                boolean ready = false;
+                for (AsyncLogger logger : LOGGERS) {
+                    ready |= logger.hasReady();
+                }
+                if (!ready) LockSupport.park();
+                waiting = false;
+            }
+        }
+    }
+}
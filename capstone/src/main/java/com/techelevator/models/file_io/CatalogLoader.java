@@ -0,0 +1,242 @@
+package com.techelevator.models.file_io;
+
+import com.techelevator.models.Catalog;
+import com.techelevator.models.Money;
+import com.techelevator.models.products.Product;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Reads a pipe delimited products file (id|name|price|type) straight from a memory mapped file.
+// Columns are found by scanning for '|' bytes and prices are parsed directly into cents, so no regex
+// or decimal parsing happens per row. Large files are split into chunks at line boundaries, which
+// can be parsed in parallel. Rows that can't be loaded go into a CatalogValidationReport.
+public class CatalogLoader {
+
+    private static final int DEFAULT_CHUNK_SIZE = 64 * 1024 * 1024;
+    private static final byte PIPE = '|';
+    private static final byte NEW_LINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final int chunkSize;
+    private final boolean parallel;
+
+    //Constructors
+    public CatalogLoader() {
+        this(DEFAULT_CHUNK_SIZE, false);
+    }
+
+    public CatalogLoader(int chunkSize, boolean parallel) {
+        this.chunkSize = chunkSize;
+        this.parallel = parallel;
+    }
+
+    public Catalog load(File productsFile, CatalogValidationReport report) throws IOException {
+        try (FileChannel channel = FileChannel.open(productsFile.toPath(), StandardOpenOption.READ)) {
+            List<long[]> chunks = split(channel);
+
+            IntStream indexes = IntStream.range(0, chunks.size());
+            if (parallel) indexes = indexes.parallel();
+
+            List<ChunkResult> results;
+            try {
+                results = indexes.mapToObj(i -> parseChunk(channel, chunks.get(i)[0], chunks.get(i)[1]))
+                        .collect(Collectors.toList());
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+
+            // stitch the chunks back together in file order. A repeated ID (ignoring case) is reported and
+            // skipped, the first row with the ID wins
+            List<Product> products = new ArrayList<>();
+            Set<String> ids = new HashSet<>();
+            long linesBefore = 0;
+            for (ChunkResult result : results) {
+                for (int i = 0; i < result.products.size(); i++) {
+                    Product product = result.products.get(i);
+                    if (ids.add(product.getId().toUpperCase(Locale.ROOT))) {
+                        products.add(product);
+                    } else {
+                        report.addIssue(new CatalogValidationReport.Issue(linesBefore + result.productLines.get(i),
+                                row(product), "duplicate id"));
+                    }
+                }
+                for (CatalogValidationReport.Issue issue : result.issues) {
+                    report.addIssue(issue.offsetBy(linesBefore));
+                }
+                linesBefore += result.lines;
+            }
+            report.sortByLine();
+
+            return new Catalog(products);
+        }
+    }
+
+    // Splits the file into [start, end) ranges of about chunkSize bytes that each end on a line break
+    private List<long[]> split(FileChannel channel) throws IOException {
+        List<long[]> chunks = new ArrayList<>();
+        long size = channel.size();
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(start + chunkSize, size);
+
+            // move the end of the chunk forward past the end of the current line
+            boolean foundLineEnd = false;
+            while (end < size && !foundLineEnd) {
+                probe.clear();
+                int read = channel.read(probe, end);
+                if (read <= 0) break;
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == NEW_LINE) {
+                        end += i + 1;
+                        foundLineEnd = true;
+                        break;
+                    }
+                }
+                if (!foundLineEnd) end += read;
+            }
+
+            chunks.add(new long[]{start, Math.min(end, size)});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private ChunkResult parseChunk(FileChannel channel, long start, long end) {
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        ChunkResult result = new ChunkResult();
+        // product types repeat on almost every row, so share one String per type
+        Map<String, String> types = new HashMap<>();
+        int[] pipes = new int[3];
+        byte[] scratch = new byte[256];
+
+        int limit = buffer.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            // find the end of the line and the column separators in one pass
+            int pipeCount = 0;
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buffer.get(lineEnd) != NEW_LINE) {
+                if (buffer.get(lineEnd) == PIPE) {
+                    if (pipeCount < pipes.length) pipes[pipeCount] = lineEnd;
+                    pipeCount++;
+                }
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == CARRIAGE_RETURN) lineEnd--;
+            result.lines++;
+
+            // ignore empty lines in productsFile
+            if (lineEnd > lineStart) {
+                if (pipeCount != 3) {
+                    result.issues.add(new CatalogValidationReport.Issue(result.lines, text(buffer, lineStart, lineEnd, scratch),
+                            "expected 4 columns but found " + (pipeCount + 1)));
+                } else {
+                    long cents = parseCents(buffer, pipes[1] + 1, pipes[2]);
+                    String reason = isBlank(buffer, lineStart, pipes[0]) ? "missing id"
+                            : isBlank(buffer, pipes[0] + 1, pipes[1]) ? "missing name"
+                            : cents < 0 ? "invalid price"
+                            : isBlank(buffer, pipes[2] + 1, lineEnd) ? "missing type"
+                            : null;
+                    if (reason != null) {
+                        result.issues.add(new CatalogValidationReport.Issue(result.lines, text(buffer, lineStart, lineEnd, scratch), reason));
+                    } else {
+                        String id = text(buffer, lineStart, pipes[0], scratch);
+                        String name = text(buffer, pipes[0] + 1, pipes[1], scratch);
+                        String type = types.computeIfAbsent(text(buffer, pipes[2] + 1, lineEnd, scratch), t -> t);
+
+                        result.products.add(new Product(id, name, cents, type));
+                        result.productLines.add(result.lines);
+                    }
+                }
+            }
+
+            lineStart = next;
+        }
+        return result;
+    }
+
+    // Parses a price such as 3 or 1.85 into cents, returns -1 if it isn't a valid price: there must be a digit
+    // before the point, and exactly two after it
+    static long parseCents(ByteBuffer buffer, int start, int end) {
+        long dollars = 0;
+        long cents = 0;
+        int decimals = -1;
+        if (start >= end || buffer.get(start) == '.') return -1;
+
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '.') {
+                if (decimals >= 0) return -1;
+                decimals = 0;
+            } else if (b >= '0' && b <= '9') {
+                if (decimals < 0) {
+                    dollars = dollars * 10 + (b - '0');
+                    if (dollars > Integer.MAX_VALUE) return -1;
+                } else {
+                    if (++decimals > 2) return -1;
+                    cents = cents * 10 + (b - '0');
+                }
+            } else {
+                return -1;
+            }
+        }
+        if (decimals == 0 || decimals == 1) return -1;
+        return dollars * 100 + cents;
+    }
+
+    // Whether the field is empty or only spaces and tabs
+    private static boolean isBlank(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b != ' ' && b != '\t') return false;
+        }
+        return true;
+    }
+
+    // The row a product was read from (the price as written may have had fewer decimals)
+    private static String row(Product product) {
+        return product.getId() + "|" + product.getName() + "|" + Money.toBigDecimal(product.getPriceInCents()) + "|" + product.getType();
+    }
+
+    private static String text(ByteBuffer buffer, int start, int end, byte[] scratch) {
+        int length = end - start;
+        byte[] bytes = length <= scratch.length ? scratch : new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static class ChunkResult {
+        private final List<Product> products = new ArrayList<>();
+        private final List<CatalogValidationReport.Issue> issues = new ArrayList<>();
+        // line number (within the chunk) of each product, for reporting a duplicate
+        private final List<Long> productLines = new ArrayList<>();
+        private long lines;
+    }
+}
@@ -0,0 +1,82 @@
+package com.techelevator.models.file_io;
+
+import com.techelevator.view.Colors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+// Collects the rows of a products file that could not be loaded, so they can be reported together
+public class CatalogValidationReport {
+
+    private final List<Issue> issues = new ArrayList<>();
+
+    public void addIssue(long lineNumber, String line, String reason) {
+        issues.add(new Issue(lineNumber, line, reason));
+    }
+
+    void addIssue(Issue issue) {
+        issues.add(issue);
+    }
+
+    // Issues found in different passes (e.g. duplicates, found after parsing) are listed in file order
+    void sortByLine() {
+        issues.sort(Comparator.comparingLong(Issue::getLineNumber));
+    }
+
+    public boolean isValid() {
+        return issues.isEmpty();
+    }
+
+    public List<Issue> getIssues() {
+        return Collections.unmodifiableList(issues);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(Colors.RED_BACKGROUND)
+                .append("Product file must include id, name, price, and type for each item. ")
+                .append(issues.size()).append(" invalid item(s) will be skipped:");
+        for (Issue issue : issues) {
+            report.append("\n").append(issue);
+        }
+        report.append(Colors.RESET);
+        return report.toString();
+    }
+
+    public static class Issue {
+        private final long lineNumber;
+        private final String line;
+        private final String reason;
+
+        public Issue(long lineNumber, String line, String reason) {
+            this.lineNumber = lineNumber;
+            this.line = line;
+            this.reason = reason;
+        }
+
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getLine() {
+            return line;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        // Copy of this issue moved down by the number of lines in the chunks before it
+        Issue offsetBy(long lines) {
+            return new Issue(lineNumber + lines, line, reason);
+        }
+
+        @Override
+        public String toString() {
+            return "line " + lineNumber + ": " + line + " (" + reason + ")";
+        }
+    }
+}
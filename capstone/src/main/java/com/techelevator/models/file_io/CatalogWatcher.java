@@ -0,0 +1,83 @@
+package com.techelevator.models.file_io;
+
+import com.techelevator.models.Catalog;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.function.Consumer;
+
+// Watches the products file and hands a freshly loaded Catalog to the listener every time the file changes.
+// The file is parsed on the watcher's own (daemon) thread, so reloading never holds up a purchase
+public class CatalogWatcher implements AutoCloseable {
+
+    // Editors often save a file in more than one write, so wait for the writes to settle before reading it
+    private static final long SETTLE_MILLIS = 200;
+
+    private final File productsFile;
+    private final Consumer<Catalog> listener;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    //Constructor
+    public CatalogWatcher(File productsFile, Consumer<Catalog> listener) throws IOException {
+        this.productsFile = productsFile.getAbsoluteFile();
+        this.listener = listener;
+        this.watchService = FileSystems.getDefault().newWatchService();
+
+        Path directory = this.productsFile.getParentFile().toPath();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        thread = new Thread(this::watch, "catalog-watcher");
+        thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    Object context = event.context();
+                    if (context instanceof Path && ((Path) context).getFileName().toString().equals(productsFile.getName())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+
+                if (changed) {
+                    Thread.sleep(SETTLE_MILLIS);
+                    // drop the events caused by the rest of the save
+                    WatchKey pending = watchService.poll();
+                    if (pending != null) {
+                        pending.pollEvents();
+                        pending.reset();
+                    }
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            // watcher was closed
+        }
+    }
+
+    private void reload() {
+        Catalog catalog = Catalog.load(productsFile);
+
+        // an empty catalog means the file is missing or unreadable, keep selling from the current one
+        if (catalog.size() > 0) {
+            listener.accept(catalog);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        thread.interrupt();
+        watchService.close();
+    }
+}
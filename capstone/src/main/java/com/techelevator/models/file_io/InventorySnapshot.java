@@ -0,0 +1,256 @@
+package com.techelevator.models.file_io;
+
+import com.techelevator.models.Catalog;
+import com.techelevator.models.Inventory;
+import com.techelevator.models.SalesCounters;
+import com.techelevator.models.SalesTimeSeries;
+import com.techelevator.models.products.Product;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// Binary copy of the catalog and the current quantity of every product, so a restarted machine
+// keeps its real stock levels and doesn't have to parse the products file. Since version 2 it is also a
+// checkpoint for crash recovery: the customer's balance, the sales so far and the last journal sequence
+// number it covers.
+//
+// Layout (big endian): magic, version, product count, then for each product its id, name and type
+// (length prefixed UTF-8), price in cents and quantity. Version 2 adds the balance (long), the last
+// journal sequence (long), the revenue (long) and a count of product ids with units sold (int) each
+// followed by its units (long). Version 3 adds the sales time series (see SalesTimeSeries.save). Version 4
+// adds, before the time series, a count of other open sessions (int) each with its ID (int) and balance (long).
+// A CRC32 of everything before it ends the file
+public class InventorySnapshot {
+
+    private static final int MAGIC = 0x564D5353; // "VMSS"
+    private static final short VERSION = 4;
+    private static final int HEADER_SIZE = 4 + 2 + 4;
+    private static final int CRC_SIZE = 4;
+
+    private final File snapshotFile;
+
+    //Constructor
+    public InventorySnapshot(File snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    public File getFile() {
+        return snapshotFile;
+    }
+
+    // Everything a snapshot holds
+    public static class Checkpoint {
+        private final Inventory inventory;
+        private final SalesCounters sales;
+        private final SalesTimeSeries timeSeries;
+        private final long balance;
+        private final long lastSequence;
+        private final Map<Integer, Long> sessionBalances;
+
+        public Checkpoint(Inventory inventory, SalesCounters sales, SalesTimeSeries timeSeries, long balance, long lastSequence) {
+            this(inventory, sales, timeSeries, balance, Map.of(), lastSequence);
+        }
+
+        // sessionBalances are the other open sessions' balances, by session ID
+        public Checkpoint(Inventory inventory, SalesCounters sales, SalesTimeSeries timeSeries, long balance,
+                          Map<Integer, Long> sessionBalances, long lastSequence) {
+            this.inventory = inventory;
+            this.sessionBalances = sessionBalances;
+            this.sales = sales;
+            this.balance = balance;
+            this.lastSequence = lastSequence;
+            this.timeSeries = timeSeries;
+        }
+
+        public Inventory getInventory() {
+            return inventory;
+        }
+
+        public SalesCounters getSales() {
+            return sales;
+        }
+
+        public SalesTimeSeries getTimeSeries() {
+            return timeSeries;
+        }
+
+        // the customer's balance in cents
+        public long getBalance() {
+            return balance;
+        }
+
+        // the balances (in cents) of sessions other than the terminal customer's, by session ID
+        public Map<Integer, Long> getSessionBalances() {
+            return sessionBalances;
+        }
+
+        // the journal records up to and including this one are already reflected in the checkpoint
+        public long getLastSequence() {
+            return lastSequence;
+        }
+    }
+
+    // Saves stock levels only, with no sales, balance or journal position
+    public void save(Inventory inventory) throws IOException {
+        save(new Checkpoint(inventory, new SalesCounters(), new SalesTimeSeries(), 0, 0));
+    }
+
+    // Writes the snapshot to a temporary file and renames it over the old one, so a crash while
+    // saving leaves the previous snapshot in place
+    public void save(Checkpoint checkpoint) throws IOException {
+        Map<Product, Integer> products = checkpoint.getInventory().getProducts();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + products.size() * 48);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(products.size());
+        for (Map.Entry<Product, Integer> entry : products.entrySet()) {
+            Product product = entry.getKey();
+            writeString(out, product.getId());
+            writeString(out, product.getName());
+            writeString(out, product.getType());
+            out.writeLong(product.getPriceInCents());
+            out.writeInt(entry.getValue());
+        }
+
+        out.writeLong(checkpoint.getBalance());
+        out.writeLong(checkpoint.getLastSequence());
+        out.writeLong(checkpoint.getSales().getRevenue());
+        Map<String, Long> unitsSold = checkpoint.getSales().getUnitsSold();
+        out.writeInt(unitsSold.size());
+        for (Map.Entry<String, Long> entry : unitsSold.entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+        out.writeInt(checkpoint.getSessionBalances().size());
+        for (Map.Entry<Integer, Long> entry : checkpoint.getSessionBalances().entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+        checkpoint.getTimeSeries().save(out);
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+
+        Path target = snapshotFile.toPath();
+        Path temp = target.resolveSibling(snapshotFile.getName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) channel.write(buffer);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // Returns the inventory stored in the snapshot, or null if there is no snapshot or it is damaged
+    public Inventory load() {
+        Checkpoint checkpoint = loadCheckpoint();
+        return checkpoint == null ? null : checkpoint.getInventory();
+    }
+
+    // Returns everything stored in the snapshot, or null if there is no snapshot or it is damaged.
+    // A version 1 snapshot comes back with no sales, no balance and journal position 0, a version 2
+    // snapshot with no sales time series, and a version 3 snapshot with no other sessions' balances
+    public Checkpoint loadCheckpoint() {
+        if (!snapshotFile.isFile() || snapshotFile.length() < HEADER_SIZE + CRC_SIZE) return null;
+
+        try (FileChannel channel = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            // check the CRC before trusting anything else in the file
+            int crcPosition = buffer.limit() - CRC_SIZE;
+            CRC32 crc = new CRC32();
+            ByteBuffer body = buffer.duplicate();
+            body.limit(crcPosition);
+            crc.update(body);
+            if ((int) crc.getValue() != buffer.getInt(crcPosition)) return null;
+
+            if (buffer.getInt() != MAGIC) return null;
+            short version = buffer.getShort();
+            if (version < 1 || version > VERSION) return null;
+
+            int count = buffer.getInt();
+            List<Product> products = new ArrayList<>(count);
+            int[] quantities = new int[count];
+            for (int i = 0; i < count; i++) {
+                String id = readString(buffer);
+                String name = readString(buffer);
+                String type = readString(buffer);
+                long price = buffer.getLong();
+                quantities[i] = buffer.getInt();
+                // a negative quantity (e.g. a slot saved while it was being carried over) would make every
+                // purchase from the slot retry forever, so the snapshot is as unusable as a damaged one
+                if (quantities[i] < 0) return null;
+                products.add(new Product(id, name, price, type));
+            }
+
+            // products were written in slot order, so the catalog gives them the same slots back
+            Inventory inventory = new Inventory(new Catalog(products), quantities);
+            SalesTimeSeries timeSeries = new SalesTimeSeries();
+            if (version == 1) return new Checkpoint(inventory, new SalesCounters(), timeSeries, 0, 0);
+
+            long balance = buffer.getLong();
+            long lastSequence = buffer.getLong();
+            long revenue = buffer.getLong();
+            SalesCounters sales = new SalesCounters();
+            int soldCount = buffer.getInt();
+            for (int i = 0; i < soldCount; i++) {
+                sales.add(readString(buffer), buffer.getLong(), 0);
+            }
+            sales.addRevenue(revenue);
+
+            Map<Integer, Long> sessionBalances = new HashMap<>();
+            if (version >= 4) {
+                int sessionCount = buffer.getInt();
+                for (int i = 0; i < sessionCount; i++) {
+                    sessionBalances.put(buffer.getInt(), buffer.getLong());
+                }
+            }
+
+            if (version >= 3) {
+                ByteBuffer series = buffer.duplicate();
+                series.limit(crcPosition);
+                byte[] bytes = new byte[series.remaining()];
+                series.get(bytes);
+                timeSeries.load(new DataInputStream(new ByteArrayInputStream(bytes)));
+            }
+            return new Checkpoint(inventory, sales, timeSeries, balance, sessionBalances, lastSequence);
+        } catch (IOException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
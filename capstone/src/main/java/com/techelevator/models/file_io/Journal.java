@@ -0,0 +1,302 @@
+package com.techelevator.models.file_io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// Append-only record of everything that happened to the machine's money and stock, and the system of
+// record the text log is rendered from. Records go into memory mapped segment files in
+// <directory>/journal, named after the sequence number of their first record.
+//
+// Segment layout (big endian): magic, version, then records of
+//   payload length (int), CRC32 of the payload (int),
+//   payload: sequence (long), timestamp (long), type (byte), session (int), amount (long), balance (long),
+//            product id and product name (u16 length prefixed UTF-8)
+// A zero length marks the end of the segment. Sequence numbers start at 1 and have no gaps, so a torn
+// or stale record at the end of the last segment is recognised by its CRC or sequence and written over
+public class Journal {
+
+    // When appended records are forced to disk
+    public enum Durability {
+        // left to the operating system
+        NONE,
+        // by a background flush every groupCommitMillis; a crash can lose that much
+        GROUP_COMMIT,
+        // before append returns
+        PER_RECORD
+    }
+
+    public static final String DIRECTORY = "journal";
+    public static final int DEFAULT_SEGMENT_SIZE = 1024 * 1024;
+    public static final long DEFAULT_GROUP_COMMIT_MILLIS = 10;
+
+    private static final int MAGIC = 0x564D4A4C; // "VMJL"
+    private static final int VERSION = 1;
+    private static final int SEGMENT_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int FIXED_PAYLOAD_SIZE = 8 + 8 + 1 + 4 + 8 + 8 + 2 + 2;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_EXTENSION = ".seg";
+
+    // one thread flushes every group commit journal
+    private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-group-commit");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final File directory;
+    private final int segmentSize;
+    private final Durability durability;
+    private final CRC32 crc = new CRC32();
+    private final ScheduledFuture<?> groupCommit;
+
+    // guarded by this
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long nextSequence;
+    private boolean dirty;
+
+    //Constructors
+    public Journal(File machineDirectory) throws IOException {
+        this(machineDirectory, Durability.GROUP_COMMIT, DEFAULT_GROUP_COMMIT_MILLIS, DEFAULT_SEGMENT_SIZE);
+    }
+
+    // groupCommitMillis is only used with GROUP_COMMIT
+    public Journal(File machineDirectory, Durability durability, long groupCommitMillis, int segmentSize) throws IOException {
+        this.directory = new File(machineDirectory, DIRECTORY);
+        this.segmentSize = segmentSize;
+        this.durability = durability;
+        if (!directory.isDirectory() && !directory.mkdirs()) throw new IOException("Could not create " + directory);
+
+        openLastSegment();
+
+        groupCommit = durability == Durability.GROUP_COMMIT
+                ? FLUSHER.scheduleWithFixedDelay(this::force, groupCommitMillis, groupCommitMillis, TimeUnit.MILLISECONDS)
+                : null;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    // the sequence number the next record will get
+    public synchronized long getNextSequence() {
+        return nextSequence;
+    }
+
+    // Appends one record and returns its sequence number. timestamp is in epoch milliseconds, amounts in cents
+    public synchronized long append(long timestamp, byte type, int sessionID, String productID, String productName, long amount, long balance) throws IOException {
+        if (segment == null) throw new IOException("The journal is closed");
+
+        byte[] id = productID.getBytes(StandardCharsets.UTF_8);
+        byte[] name = productName.getBytes(StandardCharsets.UTF_8);
+        int payloadSize = FIXED_PAYLOAD_SIZE + id.length + name.length;
+        if (SEGMENT_HEADER_SIZE + RECORD_HEADER_SIZE + payloadSize + 4 > segmentSize) throw new IOException("Journal record too large");
+
+        // keep room for the end marker after the record
+        if (segment.remaining() < RECORD_HEADER_SIZE + payloadSize + 4) rollOver();
+
+        long sequence = nextSequence;
+        int start = segment.position();
+        segment.position(start + RECORD_HEADER_SIZE);
+        segment.putLong(sequence);
+        segment.putLong(timestamp);
+        segment.put(type);
+        segment.putInt(sessionID);
+        segment.putLong(amount);
+        segment.putLong(balance);
+        segment.putShort((short) id.length);
+        segment.put(id);
+        segment.putShort((short) name.length);
+        segment.put(name);
+        int end = segment.position();
+        // end marker, in case this segment was reused past a torn record
+        segment.putInt(end, 0);
+
+        ByteBuffer payload = segment.duplicate();
+        payload.position(start + RECORD_HEADER_SIZE).limit(end);
+        crc.reset();
+        crc.update(payload);
+        segment.putInt(start + 4, (int) crc.getValue());
+        // the length goes in last, so a reader never sees a record before it is complete
+        segment.putInt(start, payloadSize);
+
+        nextSequence++;
+        dirty = true;
+        if (durability == Durability.PER_RECORD) force();
+        return sequence;
+    }
+
+    // Forces everything appended so far to disk
+    public synchronized void force() {
+        if (dirty && segment != null) {
+            segment.force();
+            dirty = false;
+        }
+    }
+
+    public void close() throws IOException {
+        if (groupCommit != null) groupCommit.cancel(false);
+        synchronized (this) {
+            force();
+            segment = null;
+            if (channel != null) channel.close();
+            channel = null;
+        }
+    }
+
+    // Calls consumer with every record after afterSequence, oldest first
+    public void replay(long afterSequence, Consumer<JournalRecord> consumer) throws IOException {
+        synchronized (this) {
+            force();
+        }
+        replay(directory, afterSequence, consumer);
+    }
+
+    // Reads the journal in a machine's journal directory without opening it for writing
+    public static void replay(File journalDirectory, long afterSequence, Consumer<JournalRecord> consumer) throws IOException {
+        List<File> segments = segments(journalDirectory);
+        for (int i = 0; i < segments.size(); i++) {
+            // skip segments that end before afterSequence
+            if (i + 1 < segments.size() && firstSequence(segments.get(i + 1)) <= afterSequence + 1) continue;
+
+            try (FileChannel readChannel = FileChannel.open(segments.get(i).toPath(), StandardOpenOption.READ)) {
+                ByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                long expected = firstSequence(segments.get(i));
+                if (!readHeader(buffer)) continue;
+
+                JournalRecord record;
+                while ((record = readRecord(buffer, expected)) != null) {
+                    if (record.getSequence() > afterSequence) consumer.accept(record);
+                    expected++;
+                }
+            }
+        }
+    }
+
+    // Deletes whole segments whose records all have a sequence number up to and including sequence, e.g.
+    // once a checkpoint covers them. The segment being written to is always kept. Returns how many were deleted
+    public synchronized int deleteSegmentsThrough(long sequence) {
+        List<File> segments = segments(directory);
+        int deleted = 0;
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstSequence(segments.get(i + 1)) - 1 > sequence) break;
+            if (segments.get(i).delete()) deleted++;
+        }
+        return deleted;
+    }
+
+    // The segment files, oldest first
+    static List<File> segments(File journalDirectory) {
+        File[] files = journalDirectory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_EXTENSION));
+        if (files == null) return new ArrayList<>();
+        Arrays.sort(files, (a, b) -> Long.compare(firstSequence(a), firstSequence(b)));
+        return new ArrayList<>(Arrays.asList(files));
+    }
+
+    private static long firstSequence(File segmentFile) {
+        String name = segmentFile.getName();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_EXTENSION.length()));
+    }
+
+    private void openLastSegment() throws IOException {
+        List<File> segments = segments(directory);
+        if (segments.isEmpty()) {
+            nextSequence = 1;
+            openSegment(1);
+            return;
+        }
+
+        File last = segments.get(segments.size() - 1);
+        nextSequence = firstSequence(last);
+        channel = FileChannel.open(last.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), segmentSize));
+        if (!readHeader(segment)) {
+            writeHeader();
+            return;
+        }
+
+        // find the end of the last good record - anything after it is torn and gets written over
+        while (true) {
+            int position = segment.position();
+            if (readRecord(segment, nextSequence) == null) {
+                segment.position(position);
+                break;
+            }
+            nextSequence++;
+        }
+    }
+
+    private void rollOver() throws IOException {
+        force();
+        channel.close();
+        openSegment(nextSequence);
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        File file = new File(directory, String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_EXTENSION));
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        writeHeader();
+    }
+
+    private void writeHeader() {
+        segment.position(0);
+        segment.putInt(MAGIC);
+        segment.putInt(VERSION);
+        segment.putInt(SEGMENT_HEADER_SIZE, 0);
+        dirty = true;
+    }
+
+    private static boolean readHeader(ByteBuffer buffer) {
+        if (buffer.remaining() < SEGMENT_HEADER_SIZE) return false;
+        return buffer.getInt() == MAGIC && buffer.getInt() == VERSION;
+    }
+
+    // Reads the record at the buffer's position, or returns null at the end of the good records
+    private static JournalRecord readRecord(ByteBuffer buffer, long expectedSequence) {
+        if (buffer.remaining() < RECORD_HEADER_SIZE) return null;
+        int start = buffer.position();
+        int length = buffer.getInt(start);
+        if (length < FIXED_PAYLOAD_SIZE || length > buffer.remaining() - RECORD_HEADER_SIZE) return null;
+
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(start + RECORD_HEADER_SIZE).limit(start + RECORD_HEADER_SIZE + length);
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != buffer.getInt(start + 4)) return null;
+
+        long sequence = payload.getLong();
+        if (sequence != expectedSequence) return null;
+        long timestamp = payload.getLong();
+        byte type = payload.get();
+        int sessionID = payload.getInt();
+        long amount = payload.getLong();
+        long balance = payload.getLong();
+        String productID = readString(payload);
+        String productName = readString(payload);
+
+        buffer.position(start + RECORD_HEADER_SIZE + length);
+        return new JournalRecord(sequence, timestamp, type, sessionID, productID, productName, amount, balance);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,73 @@
+package com.techelevator.models.file_io;
+
+import com.techelevator.models.products.Product;
+
+import java.io.File;
+import java.io.IOException;
+
+// Records transactions in the Journal first, then renders each journal record into the familiar
+// "<date>_log.txt" text log (in the background). The journal is the system of record; the text log
+// can always be rebuilt from it with rebuildTextLog
+public class JournalLogger {
+
+    private static final String NO_PRODUCT = "";
+
+    private final Journal journal;
+    private final AsyncLogger textLog;
+
+    //Constructor
+    public JournalLogger(String directory, Journal journal) {
+        this.journal = journal;
+        this.textLog = new AsyncLogger(directory);
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+
+    // Amounts are in cents. Each method returns the journal sequence number of the record
+    public long logFeedMoney(int sessionID, long amount, long balance) throws IOException {
+        return record(JournalRecord.FEED_MONEY, sessionID, NO_PRODUCT, NO_PRODUCT, amount, balance);
+    }
+
+    public long logPurchase(int sessionID, Product product, long balance) throws IOException {
+        return record(JournalRecord.PURCHASE, sessionID, product.getId(), product.getName(), product.getPriceInCents(), balance);
+    }
+
+    public long logDispenseChange(int sessionID, long amount) throws IOException {
+        return record(JournalRecord.DISPENSE_CHANGE, sessionID, NO_PRODUCT, NO_PRODUCT, amount, 0);
+    }
+
+    // Restocks go in the journal so recovery can rebuild stock levels, but not in the text log
+    public long logRestock(Product product, int units) throws IOException {
+        return journal.append(System.currentTimeMillis(), JournalRecord.RESTOCK, 0, product.getId(), product.getName(), units, 0);
+    }
+
+    public void close() throws IOException {
+        textLog.close();
+        journal.close();
+    }
+
+    // Writes the text log for every record in a machine's journal, e.g. after the text log was lost
+    public static void rebuildTextLog(File machineDirectory) throws IOException {
+        AsyncLogger textLog = new AsyncLogger(machineDirectory.getPath());
+        try {
+            Journal.replay(new File(machineDirectory, Journal.DIRECTORY), 0, record -> {
+                if (record.getType() != JournalRecord.RESTOCK) render(textLog, record);
+            });
+        } finally {
+            textLog.close();
+        }
+    }
+
+    private long record(byte type, int sessionID, String productID, String productName, long amount, long balance) throws IOException {
+        long time = System.currentTimeMillis();
+        long sequence = journal.append(time, type, sessionID, productID, productName, amount, balance);
+        render(textLog, new JournalRecord(sequence, time, type, sessionID, productID, productName, amount, balance));
+        return sequence;
+    }
+
+    private static void render(AsyncLogger textLog, JournalRecord record) {
+        textLog.logMessage(record.getTimestamp(), record.getAction(), record.getAmount(), record.getBalance());
+    }
+}
@@ -0,0 +1,79 @@
+package com.techelevator.models.file_io;
+
+// One event read back from the Journal. Amounts are in cents; productID and productName are empty
+// for events that aren't about a product. sessionID is the customer session the event belongs to
+public class JournalRecord {
+
+    public static final byte FEED_MONEY = 1;
+    public static final byte PURCHASE = 2;
+    public static final byte DISPENSE_CHANGE = 3;
+    // amount is the number of units added to the product's slot
+    public static final byte RESTOCK = 4;
+
+    private final long sequence;
+    private final long timestamp;
+    private final byte type;
+    private final int sessionID;
+    private final String productID;
+    private final String productName;
+    private final long amount;
+    private final long balance;
+
+    public JournalRecord(long sequence, long timestamp, byte type, int sessionID, String productID, String productName, long amount, long balance) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.type = type;
+        this.sessionID = sessionID;
+        this.productID = productID;
+        this.productName = productName;
+        this.amount = amount;
+        this.balance = balance;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    // milliseconds since the epoch
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public int getSessionID() {
+        return sessionID;
+    }
+
+    public String getProductID() {
+        return productID;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public long getBalance() {
+        return balance;
+    }
+
+    // The action as it appears in the text log, e.g. "FEED MONEY" or "Potato Crisps A1"
+    public String getAction() {
+        switch (type) {
+            case FEED_MONEY:
+                return "FEED MONEY";
+            case DISPENSE_CHANGE:
+                return "DISPENSE CHANGE";
+            case RESTOCK:
+                return "RESTOCK " + productID;
+            default:
+                return productName + " " + productID;
+        }
+    }
+}
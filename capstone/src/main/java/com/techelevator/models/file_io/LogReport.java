@@ -0,0 +1,98 @@
+package com.techelevator.models.file_io;
+
+import com.techelevator.models.Catalog;
+import com.techelevator.models.SalesCounters;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// What LogReportBuilder adds up from the text logs: units and revenue per product, the money fed in by
+// denomination and the change given back. Reports for single files are merged into one for the whole archive
+public class LogReport {
+
+    private final SalesCounters sales = new SalesCounters();
+    // feed amount in cents -> number of times it was fed
+    private final Map<Long, Long> fedByDenomination = new TreeMap<>();
+    private long fed;
+    private long changeDispensed;
+    private long changeCount;
+    private long files;
+    private long lines;
+    private long skippedLines;
+
+    void addPurchase(String productID, long price) {
+        sales.add(productID, 1, price);
+    }
+
+    void addFeed(long amount) {
+        fed += amount;
+        fedByDenomination.merge(amount, 1L, Long::sum);
+    }
+
+    void addChange(long amount) {
+        changeDispensed += amount;
+        changeCount++;
+    }
+
+    void addLine(boolean parsed) {
+        lines++;
+        if (!parsed) skippedLines++;
+    }
+
+    void addFile() {
+        files++;
+    }
+
+    // Adds other into this report and returns this report
+    LogReport merge(LogReport other) {
+        sales.addAll(other.sales);
+        for (Map.Entry<Long, Long> entry : other.fedByDenomination.entrySet()) {
+            fedByDenomination.merge(entry.getKey(), entry.getValue(), Long::sum);
+        }
+        fed += other.fed;
+        changeDispensed += other.changeDispensed;
+        changeCount += other.changeCount;
+        files += other.files;
+        lines += other.lines;
+        skippedLines += other.skippedLines;
+        return this;
+    }
+
+    // The same report SalesReportPrinter writes, for the products in catalog
+    public String render(Catalog catalog) {
+        return SalesReportPrinter.render(catalog, sales);
+    }
+
+    public SalesCounters getSales() {
+        return sales;
+    }
+
+    public Map<Long, Long> getFedByDenomination() {
+        return new TreeMap<>(fedByDenomination);
+    }
+
+    public long getFed() {
+        return fed;
+    }
+
+    public long getChangeDispensed() {
+        return changeDispensed;
+    }
+
+    public long getChangeCount() {
+        return changeCount;
+    }
+
+    public long getFiles() {
+        return files;
+    }
+
+    public long getLines() {
+        return lines;
+    }
+
+    // Lines that weren't a feed, a purchase or a change, e.g. cut off by a crash
+    public long getSkippedLines() {
+        return skippedLines;
+    }
+}
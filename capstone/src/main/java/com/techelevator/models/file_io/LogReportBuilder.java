@@ -0,0 +1,197 @@
+package com.techelevator.models.file_io;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.GZIPInputStream;
+
+// Builds a sales report from the text logs instead of the counters, e.g. for a year of logs from every
+// machine in the fleet. Every log file (the day's "<date>_log.txt" and the rolled "<date>_log.<n>.txt[.gz]"
+// segments, see LogRotator) is read by its own fork/join task, and the reports are merged as the tasks join.
+//
+// Log lines: "yyyy-MM-dd HH:mm:ss <action>: $amount $balance", where the action is FEED MONEY,
+// DISPENSE CHANGE or "<product name> <product ID>" for a purchase
+public class LogReportBuilder {
+
+    private static final String GZIP_EXTENSION = ".gz";
+    private static final int TIMESTAMP_LENGTH = 19;
+    private static final String FEED_MONEY = "FEED MONEY";
+    private static final String DISPENSE_CHANGE = "DISPENSE CHANGE";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ForkJoinPool pool;
+
+    //Constructors
+    public LogReportBuilder() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public LogReportBuilder(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // The report for every log in directory
+    public LogReport build(File directory) throws IOException {
+        return build(List.of(directory), null, null);
+    }
+
+    // The report for the logs in the directories (one per machine) dated from..to, both inclusive.
+    // A null date leaves that end open
+    public LogReport build(Collection<File> directories, LocalDate from, LocalDate to) throws IOException {
+        List<File> logs = new ArrayList<>();
+        for (File directory : directories) {
+            logs.addAll(findLogs(directory, from, to));
+        }
+        if (logs.isEmpty()) return new LogReport();
+
+        try {
+            return pool.invoke(new ReportTask(logs, 0, logs.size()));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    // The log files in directory dated from..to. Listing the directory, rather than reading the manifest,
+    // also finds today's log and segments that haven't been compressed yet
+    static List<File> findLogs(File directory, LocalDate from, LocalDate to) {
+        List<File> logs = new ArrayList<>();
+        File[] files = directory.listFiles();
+        if (files == null) return logs;
+
+        for (File file : files) {
+            String name = file.getName();
+            LocalDate date = dateOf(name);
+            if (date == null || (from != null && date.isBefore(from)) || (to != null && date.isAfter(to))) continue;
+
+            if (name.endsWith(Logger.FILE_EXTENSION + GZIP_EXTENSION)) {
+                // while a segment is being compressed both files exist, and only the uncompressed one is complete
+                String uncompressed = name.substring(0, name.length() - GZIP_EXTENSION.length());
+                if (!new File(directory, uncompressed).exists()) logs.add(file);
+            } else if (name.endsWith(Logger.FILE_EXTENSION)) {
+                logs.add(file);
+            }
+        }
+        return logs;
+    }
+
+    // One task per file; bigger ranges are split in half
+    private static class ReportTask extends RecursiveTask<LogReport> {
+
+        private final List<File> logs;
+        private final int from;
+        private final int to;
+
+        ReportTask(List<File> logs, int from, int to) {
+            this.logs = logs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected LogReport compute() {
+            if (to - from == 1) {
+                try {
+                    return read(logs.get(from));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+
+            int middle = (from + to) >>> 1;
+            ReportTask left = new ReportTask(logs, from, middle);
+            left.fork();
+            LogReport right = new ReportTask(logs, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    static LogReport read(File log) throws IOException {
+        LogReport report = new LogReport();
+        report.addFile();
+
+        InputStream in = new FileInputStream(log);
+        if (log.getName().endsWith(GZIP_EXTENSION)) in = new GZIPInputStream(in, BUFFER_SIZE);
+
+        // the logs are written in UTF-8 (see Logger and AsyncLogger), whatever the platform charset is
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) report.addLine(parseLine(line, report));
+            }
+        }
+        return report;
+    }
+
+    // Adds the line to report; false if it isn't a log line
+    static boolean parseLine(String line, LogReport report) {
+        int balanceStart = line.lastIndexOf(' ');
+        if (balanceStart <= TIMESTAMP_LENGTH) return false;
+        int amountStart = line.lastIndexOf(' ', balanceStart - 1);
+        if (amountStart <= TIMESTAMP_LENGTH + 1 || line.charAt(amountStart - 1) != ':') return false;
+
+        long amount = parseCents(line, amountStart + 1, balanceStart);
+        if (amount < 0 || parseCents(line, balanceStart + 1, line.length()) < 0) return false;
+
+        int actionStart = TIMESTAMP_LENGTH + 1;
+        int actionEnd = amountStart - 1;
+        if (isAction(line, actionStart, actionEnd, FEED_MONEY)) {
+            report.addFeed(amount);
+        } else if (isAction(line, actionStart, actionEnd, DISPENSE_CHANGE)) {
+            report.addChange(amount);
+        } else {
+            int idStart = line.lastIndexOf(' ', actionEnd - 1) + 1;
+            if (idStart <= actionStart) return false;
+            report.addPurchase(line.substring(idStart, actionEnd), amount);
+        }
+        return true;
+    }
+
+    private static boolean isAction(String line, int from, int to, String action) {
+        return to - from == action.length() && line.startsWith(action, from);
+    }
+
+    // "$1,234.50" -> 123450 without going through BigDecimal, or -1 if it isn't an amount
+    static long parseCents(String text, int from, int to) {
+        long cents = 0;
+        int decimals = -1;
+        boolean digits = false;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (decimals >= 0 && ++decimals > 2) return -1;
+                cents = cents * 10 + (c - '0');
+                digits = true;
+            } else if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else if (c != '$' && c != ',') {
+                return -1;
+            }
+        }
+        if (!digits) return -1;
+        for (int i = Math.max(decimals, 0); i < 2; i++) cents *= 10;
+        return cents;
+    }
+
+    // The date at the start of "<date>_log..." or null
+    private static LocalDate dateOf(String name) {
+        int end = name.indexOf(Logger.FILE_TYPE);
+        if (end < 0) return null;
+        try {
+            return LocalDate.parse(name.substring(0, end));
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+}
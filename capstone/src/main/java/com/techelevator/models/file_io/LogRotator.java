@@ -0,0 +1,225 @@
+package com.techelevator.models.file_io;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+// Rotation for the text log. The log being written is always "<date>_log.txt"; when it rolls (at midnight,
+// or when it gets too big or too old, see RotationPolicy) it is renamed to "<date>_log.<n>.txt", compressed to
+// "<date>_log.<n>.txt.gz" in the background and listed in log_manifest.txt, so readers such as the nightly
+// collection job can find every closed segment without listing the directory. Archived segments beyond the
+// retention limits are deleted, oldest first.
+//
+// Manifest lines: file name|compressed size in bytes|date, oldest first (by date, then segment number)
+public class LogRotator {
+
+    public static final String MANIFEST_FILE = "log_manifest.txt";
+
+    // one thread compresses for every machine, so rotation never slows down logging
+    private static final ExecutorService COMPRESSOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "log-compressor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // segments waiting for (or being) compressed, so a segment found again by another rollStale (a second
+    // logger for the same directory, a machine re-created in the same process) isn't queued twice
+    private static final Set<String> QUEUED = ConcurrentHashMap.newKeySet();
+    // orders manifest entries by date, then by segment number
+    private static final Comparator<String[]> OLDEST_FIRST = Comparator
+            .comparing((String[] entry) -> entry[2])
+            .thenComparingInt(entry -> segmentNumber(entry[0]));
+
+    private final File directory;
+    private final RotationPolicy policy;
+
+    //Constructors
+    public LogRotator(String directory) {
+        this(directory, RotationPolicy.DEFAULT);
+    }
+
+    public LogRotator(String directory, RotationPolicy policy) {
+        this.directory = new File(directory);
+        this.policy = policy;
+    }
+
+    public RotationPolicy getPolicy() {
+        return policy;
+    }
+
+    // The file the log for date is written to
+    public File activeFile(LocalDate date) {
+        return new File(directory, date.format(DateTimeFormatter.ISO_DATE) + Logger.FILE_TYPE + Logger.FILE_EXTENSION);
+    }
+
+    // Closes the segment: renames it out of the way straight away and compresses it in the background.
+    // The caller must have closed the file first
+    public void roll(LocalDate date) {
+        File active = activeFile(date);
+        if (!active.isFile() || active.length() == 0) return;
+
+        File closed = nextSegmentFile(date);
+        if (!active.renameTo(closed)) return;
+        queue(closed, date);
+    }
+
+    // Rolls the logs of days before today that were never rolled (e.g. the machine was off at midnight) and
+    // compresses segments that were rolled but never compressed (e.g. the machine stopped while compressing)
+    public void rollStale(LocalDate today) {
+        File[] logs = directory.listFiles((dir, name) -> name.endsWith(Logger.FILE_EXTENSION) && dateOf(name) != null);
+        if (logs == null) return;
+
+        for (File log : logs) {
+            LocalDate date = dateOf(log.getName());
+            if (log.getName().endsWith(Logger.FILE_TYPE + Logger.FILE_EXTENSION)) {
+                if (date.isBefore(today)) roll(date);
+            } else {
+                queue(log, date);
+            }
+        }
+    }
+
+    // Waits until every segment rolled so far has been compressed
+    public void awaitArchived() throws InterruptedException {
+        try {
+            COMPRESSOR.submit(() -> { }).get();
+        } catch (ExecutionException ex) {
+            // an empty task can't fail
+        }
+    }
+
+    // The manifest entries, oldest first
+    public List<String[]> readManifest() throws IOException {
+        List<String[]> entries = new ArrayList<>();
+        File manifest = new File(directory, MANIFEST_FILE);
+        if (!manifest.isFile()) return entries;
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(manifest))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) entries.add(line.split("\\|"));
+            }
+        }
+        return entries;
+    }
+
+    // "<date>_log.<n>.txt" with n one more than any segment already closed for that day
+    private File nextSegmentFile(LocalDate date) {
+        String prefix = date.format(DateTimeFormatter.ISO_DATE) + Logger.FILE_TYPE + ".";
+        int next = 1;
+        String[] names = directory.list((dir, name) -> name.startsWith(prefix));
+        if (names != null) {
+            for (String name : names) {
+                String rest = name.substring(prefix.length());
+                int dot = rest.indexOf('.');
+                try {
+                    next = Math.max(next, Integer.parseInt(dot < 0 ? rest : rest.substring(0, dot)) + 1);
+                } catch (NumberFormatException ex) {
+                    // not a segment
+                }
+            }
+        }
+        return new File(directory, prefix + next + Logger.FILE_EXTENSION);
+    }
+
+    private void queue(File closed, LocalDate date) {
+        String key = closed.getAbsolutePath();
+        if (!QUEUED.add(key)) return;
+        COMPRESSOR.execute(() -> {
+            try {
+                archive(closed, date);
+            } finally {
+                QUEUED.remove(key);
+            }
+        });
+    }
+
+    // Runs on the compressor thread. Compresses to a temporary file that only replaces the .gz once it is
+    // complete, so a failure never touches a .gz that is already there (and may be listed in the manifest)
+    private void archive(File closed, LocalDate date) {
+        if (!closed.isFile()) return;
+        File compressed = new File(closed.getPath() + ".gz");
+        File temp = new File(closed.getPath() + ".gz.tmp");
+        try {
+            try (InputStream in = new FileInputStream(closed);
+                 OutputStream out = new GZIPOutputStream(new FileOutputStream(temp))) {
+                in.transferTo(out);
+            }
+            Files.move(temp.toPath(), compressed.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.delete(closed.toPath());
+
+            List<String[]> entries = readManifest();
+            // a segment compressed again after a crash replaces its old entry
+            entries.removeIf(entry -> entry[0].equals(compressed.getName()));
+            entries.add(new String[]{compressed.getName(), String.valueOf(compressed.length()), date.toString()});
+            entries.sort(OLDEST_FIRST);
+            enforceRetention(entries);
+            writeManifest(entries);
+        } catch (IOException ex) {
+            // leave the uncompressed segment where it is; it is still a complete log
+            temp.delete();
+        }
+    }
+
+    private void enforceRetention(List<String[]> entries) {
+        long totalBytes = 0;
+        for (String[] entry : entries) totalBytes += Long.parseLong(entry[1]);
+
+        while (!entries.isEmpty() && (entries.size() > policy.getMaxArchivedSegments() || totalBytes > policy.getMaxArchivedBytes())) {
+            String[] oldest = entries.remove(0);
+            new File(directory, oldest[0]).delete();
+            totalBytes -= Long.parseLong(oldest[1]);
+        }
+    }
+
+    // Written to a temporary file and renamed, so a reader never sees half a manifest
+    private void writeManifest(List<String[]> entries) throws IOException {
+        Path target = new File(directory, MANIFEST_FILE).toPath();
+        Path temp = target.resolveSibling(MANIFEST_FILE + ".tmp");
+        try (PrintWriter writer = new PrintWriter(temp.toFile())) {
+            for (String[] entry : entries) writer.println(String.join("|", entry));
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // "<date>_log.<n>.txt.gz" -> n
+    private static int segmentNumber(String fileName) {
+        int start = fileName.indexOf(Logger.FILE_TYPE + ".");
+        if (start < 0) return 0;
+        start += Logger.FILE_TYPE.length() + 1;
+        int end = fileName.indexOf('.', start);
+        try {
+            return Integer.parseInt(end < 0 ? fileName.substring(start) : fileName.substring(start, end));
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    private static LocalDate dateOf(String fileName) {
+        try {
+            return LocalDate.parse(fileName.substring(0, fileName.indexOf(Logger.FILE_TYPE)));
+        } catch (DateTimeParseException | IndexOutOfBoundsException ex) {
+            return null;
+        }
+    }
+}
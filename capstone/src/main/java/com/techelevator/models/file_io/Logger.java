@@ -1,19 +1,19 @@
 package com.techelevator.models.file_io;
 
+import com.techelevator.models.Money;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.PrintWriter;
-import java.math.BigDecimal;
-import java.text.NumberFormat;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 public class Logger {
 
-    private static final String FILE_EXTENSION = ".txt";
-    private static final String FILE_TYPE = "_log";
-    private static final NumberFormat currency = NumberFormat.getCurrencyInstance();
+    static final String FILE_EXTENSION = ".txt";
+    static final String FILE_TYPE = "_log";
+    static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     private final String directory;
 
@@ -22,7 +22,8 @@ public class Logger {
         this.directory = directory;
     }
 
-    public void logMessage(String action, BigDecimal actionAmount, BigDecimal balance){
+    // Amounts are in cents
+    public void logMessage(String action, long actionAmount, long balance){
 
 
         // Sets the fileName to be the date in YYYY-MM-DD format
@@ -35,22 +36,27 @@ public class Logger {
         File logFile = new File(logFilePath);
 
         // Try with resources to ensure closure of the log file after writing
-        try(FileWriter fileWriter = new FileWriter(logFile, true);
+        try(FileWriter fileWriter = new FileWriter(logFile, StandardCharsets.UTF_8, true);
             PrintWriter writer = new PrintWriter(fileWriter)){
 
             // Opens the log file and appends the new message
             LocalDateTime now = LocalDateTime.now();
 
             // Formats the localDateTime to a readable format
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-            String formatDateTime = now.format(formatter);
+            String formatDateTime = now.format(TIMESTAMP_FORMAT);
 
             // Prints the action and values to the log file
-            writer.println(formatDateTime + " " + action + ": " + currency.format(actionAmount) + " " + currency.format(balance));
+            writer.println(formatDateTime + " " + action + ": " + Money.format(actionAmount) + " " + Money.format(balance));
         } catch (Exception ex){
             //Swallow the exception
         }
     }
-}
 
+    String getDirectory() {
+        return directory;
+    }
 
+    // Nothing is held open between messages, so there is nothing to close
+    public void close() {
+    }
+}
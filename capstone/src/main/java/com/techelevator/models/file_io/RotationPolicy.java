@@ -0,0 +1,46 @@
+package com.techelevator.models.file_io;
+
+// When the text log rolls over to a new file, and how many closed (compressed) logs are kept.
+// Logs are named by day, so a new file is always started at midnight as well
+public class RotationPolicy {
+
+    public static final RotationPolicy DEFAULT = new RotationPolicy(10 * 1024 * 1024, 0, 365, 64L * 1024 * 1024);
+
+    private final long maxSegmentBytes;
+    private final long maxSegmentMillis;
+    private final int maxArchivedSegments;
+    private final long maxArchivedBytes;
+
+    // A segment rolls once it would grow past maxSegmentBytes or has been open for maxSegmentMillis
+    // (0 turns either limit off). The oldest archived segments are deleted once there are more than
+    // maxArchivedSegments of them or they take up more than maxArchivedBytes
+    public RotationPolicy(long maxSegmentBytes, long maxSegmentMillis, int maxArchivedSegments, long maxArchivedBytes) {
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.maxSegmentMillis = maxSegmentMillis;
+        this.maxArchivedSegments = maxArchivedSegments;
+        this.maxArchivedBytes = maxArchivedBytes;
+    }
+
+    public long getMaxSegmentBytes() {
+        return maxSegmentBytes;
+    }
+
+    public long getMaxSegmentMillis() {
+        return maxSegmentMillis;
+    }
+
+    public int getMaxArchivedSegments() {
+        return maxArchivedSegments;
+    }
+
+    public long getMaxArchivedBytes() {
+        return maxArchivedBytes;
+    }
+
+    // True if a segment of size bytes, opened at openedAt, should roll before another length bytes at time now
+    boolean shouldRoll(long size, long openedAt, long length, long now) {
+        if (size == 0) return false;
+        if (maxSegmentBytes > 0 && size + length > maxSegmentBytes) return true;
+        return maxSegmentMillis > 0 && now - openedAt >= maxSegmentMillis;
+    }
+}
@@ -1,151 +1,150 @@
 package com.techelevator.models.file_io;
 
-import com.techelevator.application.VendingMachine;
+import com.techelevator.models.Catalog;
 import com.techelevator.models.Inventory;
+import com.techelevator.models.Money;
+import com.techelevator.models.SalesCounters;
+import com.techelevator.models.SalesSnapshot;
 import com.techelevator.models.products.Product;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.text.NumberFormat;
+import java.nio.file.StandardCopyOption;
 import java.text.SimpleDateFormat;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Map;
 
+// Renders the sales report from the machine's SalesCounters. Sales are counted in memory by product ID
+// (and kept across restarts by the journal and checkpoints), so a sale never touches this file.
+// Every report is rendered from one snapshot of the counters, so it is never caught halfway through a sale
 public class
 SalesReportPrinter {
 
     private static final String FILE_EXTENSION = ".txt";
     private static final String FILE_TYPE = "TotalSalesReport";
-    private static final NumberFormat currency = NumberFormat.getCurrencyInstance();
+    private static final String TOTAL_PREFIX = "**TOTAL SALES** ";
 
     private final String directory;
+    private final Inventory inventory;
+    private final SalesCounters salesCounters;
 
     //Constructor
-    public SalesReportPrinter(String directory){
+    public SalesReportPrinter(String directory, Inventory inventory, SalesCounters salesCounters){
 
         this.directory = directory;
+        this.inventory = inventory;
+        this.salesCounters = salesCounters;
 
         if (!checkReportExists()){
             generateNewReport();
         }
     }
 
-    public void logSale(Product product){
+    // The report: "name|units sold" for every product in the catalog, then the total sales
+    public String render() {
+        return render(inventory.getCatalog(), salesCounters.snapshot());
+    }
 
+    // The same report for any counters, e.g. the ones LogReportBuilder adds up from old logs
+    public static String render(Catalog catalog, SalesCounters salesCounters) {
+        return render(catalog, salesCounters.snapshot());
+    }
 
-        // Sets log file path
-        String salesFilePath = directory + "/" + FILE_TYPE + FILE_EXTENSION;
+    public static String render(Catalog catalog, SalesSnapshot sales) {
+        StringBuilder report = new StringBuilder();
+        String newLine = System.lineSeparator();
 
-        // Copies the sales report so that it can read from the copy and write to the master
-        try {
-            Files.copy(Path.of(salesFilePath), Path.of((salesFilePath + "_old")));
-        } catch (IOException e){
-            System.out.println(e.getMessage());
+        Map<String, Long> unitsSold = new HashMap<>(sales.getUnitsSold());
+        for (Product product : catalog.getProducts()) {
+            Long units = unitsSold.remove(product.getId());
+            report.append(product.getName()).append('|').append(units == null ? 0 : units).append(newLine);
+        }
+        // products sold before being taken out of the catalog are listed by ID
+        for (Map.Entry<String, Long> entry : unitsSold.entrySet()) {
+            report.append(entry.getKey()).append('|').append(entry.getValue()).append(newLine);
         }
-            // Creates new log file, or opens current one
-        File readFile = new File(salesFilePath + "_old");
-        File writeFile = new File(salesFilePath);
-
-        try (Scanner reader = new Scanner(readFile);
-             PrintWriter writer = new PrintWriter(writeFile)){
-
-            String searchItem = product.getName();
-            // Reads through the entire file
-            while (reader.hasNextLine()){
-                String line = reader.nextLine();
-
-                // Searches each line for the sold product
-                if (line.contains(searchItem)){
-
-                    // Increments the quantity sold of the product
-                    String[] products = line.split("\\|");
-                    int quantity = Integer.parseInt(products[1]);
-                    quantity++;
-                    products[1] = String.valueOf(quantity);
-                    line = products[0] + "|" + (products[1]);
-                }
 
-                // Searches the document for the total and updates it with the price of the purchaseMenu
-                 else if (line.contains("TOTAL SALES")){
-                    String[] totalSales = line.split("\\$");
-                    BigDecimal sales = new BigDecimal(totalSales[1]);
-                    sales = sales.add(product.getPrice());
-
-                    totalSales[1] = currency.format(sales);
-                    line = Arrays.toString(totalSales);
-                    line = line.replace("[", "");
-                    line = line.replace("]","");
-                    line = line.replace(", ", "");
-                }
+        report.append(newLine).append(newLine);
+        report.append(TOTAL_PREFIX).append(Money.format(sales.getRevenue())).append(newLine);
+        return report.toString();
+    }
+
+    // The all-time totals in the directory's TotalSalesReport.txt, for a machine that kept its sales only in the
+    // report (before the counters were journaled and checkpointed). Names are matched to the catalog, lines
+    // that don't match a name are taken to be product IDs. Empty counters if there is no readable report
+    public static SalesCounters load(String directory, Catalog catalog) {
+        SalesCounters counters = new SalesCounters();
+        File report = new File(directory, FILE_TYPE + FILE_EXTENSION);
+        if (!report.isFile()) return counters;
 
-                // Writes either the unaffected line, or the incremented line to the sales report
-                writer.println(line);
+        Map<String, String> idsByName = new HashMap<>();
+        for (Product product : catalog.getProducts()) idsByName.putIfAbsent(product.getName(), product.getId());
+        try {
+            List<String> lines = Files.readAllLines(report.toPath(), StandardCharsets.UTF_8);
+            for (String line : lines) {
+                if (line.startsWith(TOTAL_PREFIX)) {
+                    counters.addRevenue(Money.parse(line.substring(TOTAL_PREFIX.length())));
+                    continue;
+                }
+                int bar = line.lastIndexOf('|');
+                if (bar <= 0) continue;
+                String name = line.substring(0, bar);
+                long units = Long.parseLong(line.substring(bar + 1).trim());
+                if (units > 0) counters.add(idsByName.getOrDefault(name, name), units, 0);
             }
-        } catch (FileNotFoundException e) {
-            // Swallow the exception
-        } finally {
-            readFile.delete();
+        } catch (IOException | RuntimeException ex) {
+            System.out.println("Could not read the sales totals from the old sales report: " + ex.getMessage());
+            return new SalesCounters();
         }
-
+        return counters;
     }
 
-    public void printReport() {
+    // Writes the report to a timestamped file, and brings TotalSalesReport.txt up to date with the same
+    // snapshot. Taking the snapshot copies nothing, so printing never holds up a purchase. The snapshot is
+    // returned so callers can diff it against the one from an earlier print
+    public synchronized SalesSnapshot printReport() {
 
         // Timestamps the created file
         String timeStamp = new SimpleDateFormat("yyyy.MM.dd.HH.mm.ss").format(new java.util.Date());
 
-        // creates paths for files
-        String readFilePath = directory + "/" + FILE_TYPE + FILE_EXTENSION;
-        String copyFilePath = directory + "/" + timeStamp + FILE_TYPE + FILE_EXTENSION;
-        Path original = Path.of(readFilePath);
-        Path copy = Path.of(copyFilePath);
-
-        // Copies the sales report so that it can read from the copy and write to the master
+        SalesSnapshot snapshot = salesCounters.snapshot();
+        String report = render(inventory.getCatalog(), snapshot);
         try{
-            Files.copy(original, copy);
-        } catch (Exception ex) {
+            write(Path.of(directory, timeStamp + FILE_TYPE + FILE_EXTENSION), report);
+        } catch (IOException ex) {
             System.out.println("Could not create print file");
         }
-
+        generateNewReport(report);
+        return snapshot;
     }
 
     // Checks if the total sales report exists
     public boolean checkReportExists(){
-        String salesFilePath = directory + "/" + FILE_TYPE + FILE_EXTENSION;
-        return Files.exists(Path.of(salesFilePath));
+        return Files.exists(Path.of(directory, FILE_TYPE + FILE_EXTENSION));
     }
 
-    // Generates an empty sales report
-    public void generateNewReport(){
-
-        String salesFilePath = directory + "/" + FILE_TYPE + FILE_EXTENSION;
-        File writeFile = new File(salesFilePath);
-
-        try (PrintWriter writer = new PrintWriter(writeFile)){
-
-            List<Product> inventory = Inventory.getOrganizedProducts();
-
-            for (Product product : inventory){
-
-                String name = product.getName();
-                String quantity = "0";
-
-                writer.println(name + "|" + quantity);
-            }
-
-            writer.println();
-            writer.println();
-            writer.println("**TOTAL SALES** $0.00");
+    // Brings TotalSalesReport.txt up to date with the counters. Synchronized with printReport, since several
+    // customers can finish at once: the reports share a temporary file, and a newer one must not be overwritten
+    public synchronized void generateNewReport(){
+        generateNewReport(render());
+    }
 
-        } catch (Exception ex){
-            // Swallow exception
+    private void generateNewReport(String report) {
+        try {
+            write(Path.of(directory, FILE_TYPE + FILE_EXTENSION), report);
+        } catch (IOException ex) {
+            System.out.println("Could not write the sales report: " + ex.getMessage());
         }
+    }
 
+    // Written to a temporary file and renamed, so a crash never leaves half a report
+    private void write(Path target, String report) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, report.getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
     }
 }
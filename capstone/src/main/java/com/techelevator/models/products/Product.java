@@ -1,14 +1,17 @@
 package com.techelevator.models.products;
 
-import java.math.BigDecimal;
+import com.techelevator.models.Money;
 
-public class Product implements Comparable<Product> {
+// Products are immutable, so a single instance can be shared by every inventory that stocks it
+public final class Product implements Comparable<Product> {
 
     // Properties
-    private String id;
-    private String name;
-    private BigDecimal price;
-    private String type;
+    private final String id;
+    private final String name;
+    private final long priceInCents;
+    private final String type;
+    // Dense slot number assigned by the Catalog, -1 if the product is not part of a catalog
+    private final int slot;
 
     public String getId() {
         return id;
@@ -18,25 +21,53 @@ public class Product implements Comparable<Product> {
         return name;
     }
 
-    public BigDecimal getPrice() {
-        return price;
+    public long getPriceInCents() {
+        return priceInCents;
     }
 
     public String getType() {
         return type;
     }
 
+    public int getSlot() {
+        return slot;
+    }
+
     // Constructor
-    public Product(String id, String name, BigDecimal price, String type) {
+    public Product(String id, String name, long priceInCents, String type) {
+        this(id, name, priceInCents, type, -1);
+    }
+
+    private Product(String id, String name, long priceInCents, String type, int slot) {
         this.id = id;
         this.name = name;
-        this.price = price;
+        this.priceInCents = priceInCents;
         this.type = type;
+        this.slot = slot;
+    }
+
+    // Returns a copy of this product placed in the given catalog slot
+    public Product withSlot(int slot) {
+        return new Product(id, name, priceInCents, type, slot);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof Product)) return false;
+        Product product = (Product) other;
+        return id.equals(product.id) && name.equals(product.name)
+                && priceInCents == product.priceInCents && type.equals(product.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
     }
 
     @Override
     public String toString(){
-        return id + ": " + name + " - price: $" + price;
+        return id + ": " + name + " - price: $" + Money.toBigDecimal(priceInCents);
     }
 
     @Override
@@ -1,139 +1,172 @@
 package com.techelevator.ui;
+import com.techelevator.models.Catalog;
 import com.techelevator.models.Inventory;
+import com.techelevator.models.Money;
 import com.techelevator.models.products.Product;
 import com.techelevator.view.Colors;
-import java.text.NumberFormat;
+import java.io.PrintStream;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
+// Draws the inventory as a grid with a row per product type. The layout (column widths, row labels and the
+// text of every cell) only depends on the catalog, so it is worked out once per catalog and kept. Each cell's
+// lines are cached too and only redrawn when its stock changes; the whole grid then goes to the terminal in
+// one write
 public class ProductGrid {
-    private static int numOfSpacesInCell;
-    private static int numOfCharsOnSymbolLines;
-    private static int numOfSpacesBeforeEachRow;
-    private static String leftSpacing;
     private static final String[] COLORS = new String[]{Colors.GREEN, Colors.CYAN, Colors.PURPLE, Colors.YELLOW};
-    private static Map<String, String> productColors = new HashMap<>();
+    private static final String CELL_END = "\t\t";
+    private static final int LINES_PER_ROW = 7;
+    private static final int QUANTITY_LINE = 5;
+
+    // Layout state belongs to one grid, so every machine can draw its own inventory
+    private final Inventory inventory;
+    private final String newLine = System.lineSeparator();
+
+    // the catalog the layout below was worked out for; a reload swaps in a new catalog
+    private Catalog catalog;
+    private int numOfSpacesInCell;
+    private int numOfCharsOnSymbolLines;
+    private int numOfSpacesBeforeEachRow;
+    private String leftSpacing;
+    private List<Row> rows = new ArrayList<>();
+
+    // the last grid drawn, reused as long as nothing changed
+    private final StringBuilder frame = new StringBuilder();
+    private String lastFrame;
+
+    public ProductGrid(Inventory inventory) {
+        this.inventory = inventory;
+    }
 
-    public static void printProductGrid(List<Product> products, Inventory inventory) {
-        int count = 0;
+    public void printProductGrid(PrintStream out) {
+        out.print(render());
+        out.flush();
+    }
+
+    // The grid as text, with the colors as ANSI escape codes
+    public synchronized String render() {
+        boolean changed = false;
+        if (inventory.getCatalog() != catalog) {
+            layOut(inventory.getCatalog());
+            changed = true;
+        }
+
+        for (Row row : rows) {
+            for (Cell cell : row.cells) {
+                int quantity = inventory.getQuantity(cell.product);
+                if (quantity != cell.quantity) {
+                    cell.draw(quantity, row.color);
+                    changed = true;
+                }
+            }
+        }
 
+        if (changed || lastFrame == null) {
+            frame.setLength(0);
+            for (Row row : rows) row.appendTo(frame);
+            lastFrame = frame.toString();
+        }
+        return lastFrame;
+    }
+
+    // Works out the column widths and the rows for a catalog; every cell is drawn again on the next render
+    private void layOut(Catalog catalog) {
+        this.catalog = catalog;
+        List<Product> products = catalog.getProducts();
         setNumOfSpacesBeforeEachRow();
         setLeftSpacing();
         setNumOfSpacesInCell(products);
         setNumOfCharsOnSymbolLines();
 
+        rows = new ArrayList<>();
+        int count = 0;
         // for each product type, output a row
-        for (int i = 0; i < Inventory.getProductTypeAndQuantity().keySet().size(); i++) {
+        for (int i = 0; i < catalog.getProductTypeAndQuantity().size(); i++) {
             // count of items of the same type
-            int quantity = Inventory.getProductTypeAndQuantity().get(products.get(count).getType());
-            // add products to a list
-            List<Product> productsOfSameType = new ArrayList<>();
-            for (int j = count; j < count + quantity; j++) {
-                productsOfSameType.add(products.get(j));
-            }
+            int quantity = catalog.getProductTypeAndQuantity().get(products.get(count).getType());
+            rows.add(new Row(i, products.subList(count, count + quantity)));
             count += quantity;
-
-            printRow(i, productsOfSameType, inventory);
         }
+        lastFrame = null;
     }
 
-    public static void printRow(int rowNumber, List<Product> products, Inventory inventory) {
-        //Checks for out of stock items and colors them black
-        getColorsForProducts(rowNumber, products, inventory);
-        // line 1
-        System.out.println(lineBuilder(products," ", "+"));
-        // line 2
-        System.out.println(lineBuilder(products, "id", inventory, true));
-        // line 3
-        System.out.println(lineBuilder(products, "|", "-"));
-        // line 4
-        System.out.println(COLORS[rowNumber % 4] + getRowNamePlusSpaces(products.get(0)) + lineBuilder(products, "name", inventory, false));
-        // line 5
-        System.out.println(lineBuilder(products, "price", inventory, true));
-        // line 6
-        System.out.println(lineBuilder(products, "quantity", inventory, true));
-        // line 7
-        System.out.println(lineBuilder(products, " ", "+"));
-
-        System.out.print(Colors.RESET);
-    }
-
-    private static String lineBuilder(List<Product> products, String attribute, Inventory inventory, boolean includeSpacing) {
-        String line = "";
-        if (includeSpacing)
-            line += leftSpacing;
-
-        for (int i = 0; i < products.size(); i++) {
-            Product product = products.get(i);
-            line += productColors.get(product.getId());
-            String textToDisplay = getAttribute(product, attribute, inventory);
-            int difference = numOfSpacesInCell - textToDisplay.length();
-            line += "| " + textToDisplay;
-            for (int j = 0; j < difference; j++) line += " ";
-            line += "|\t\t";
+    private final class Row {
+        private final String color;
+        // the text before the cells of each line: the row name goes on the name line
+        private final String[] prefixes = new String[LINES_PER_ROW];
+        private final List<Cell> cells = new ArrayList<>();
+
+        Row(int rowNumber, List<Product> products) {
+            color = COLORS[rowNumber % 4];
+            for (int line = 0; line < LINES_PER_ROW; line++) prefixes[line] = leftSpacing;
+            prefixes[3] = color + getRowNamePlusSpaces(products.get(0));
+            for (Product product : products) cells.add(new Cell(product));
         }
 
-        return line;
+        void appendTo(StringBuilder frame) {
+            for (int line = 0; line < LINES_PER_ROW; line++) {
+                frame.append(prefixes[line]);
+                for (Cell cell : cells) frame.append(cell.lines[line]);
+                frame.append(newLine);
+            }
+            frame.append(Colors.RESET);
+        }
     }
 
+    private final class Cell {
+        private final Product product;
+        // -1 until the cell is first drawn
+        private int quantity = -1;
+        private final String[] lines = new String[LINES_PER_ROW];
 
-    private static String lineBuilder(List<Product> products, String edgeChar, String innerChar) {
-        String line = leftSpacing;
-
-        for (int i = 0; i < products.size(); i++) {
-            line += productColors.get(products.get(i).getId()) + edgeChar;
-            for (int j = 0; j < numOfCharsOnSymbolLines; j++) {
-                line += innerChar;
-            }
-            line += edgeChar + "\t\t";
+        Cell(Product product) {
+            this.product = product;
         }
 
-        return line;
+        // Out of stock products are drawn in black, so the whole cell changes color with the stock
+        void draw(int quantity, String rowColor) {
+            boolean colorChanged = this.quantity < 0 || (this.quantity <= 0) != (quantity <= 0);
+            this.quantity = quantity;
+            lines[QUANTITY_LINE] = text(quantity <= 0 ? Colors.BLACK : rowColor,
+                    quantity == 0 ? "Out of stock" : quantity + " in stock");
+            if (!colorChanged) return;
+
+            String color = quantity <= 0 ? Colors.BLACK : rowColor;
+            lines[0] = symbols(color, " ", '+');
+            lines[1] = text(color, product.getId());
+            lines[2] = symbols(color, "|", '-');
+            lines[3] = text(color, product.getName());
+            lines[4] = text(color, Money.format(product.getPriceInCents()));
+            lines[6] = lines[0];
+        }
     }
 
-    private static String getAttribute(Product product, String attribute, Inventory inventory) {
-        NumberFormat currency = NumberFormat.getCurrencyInstance();
-        int quantity = inventory.getQuantity(product);
-
-        switch (attribute) {
-            case "id":
-                return product.getId();
-            case "name":
-                return product.getName();
-            case "price":
-                return currency.format(product.getPrice());
-            case "quantity":
-                return quantity == 0 ? "Out of stock" : quantity + " in stock";
-            default:
-                return "";
-        }
+    // "| text     |" padded to the cell width
+    private String text(String color, String textToDisplay) {
+        StringBuilder line = new StringBuilder(color.length() + numOfSpacesInCell + 6);
+        line.append(color).append("| ").append(textToDisplay);
+        for (int j = textToDisplay.length(); j < numOfSpacesInCell; j++) line.append(' ');
+        return line.append('|').append(CELL_END).toString();
     }
 
-    private static String getRowNamePlusSpaces(Product product) {
-        String productType = product.getType().toUpperCase();
-        String line = " " + productType;
-        int difference = numOfSpacesBeforeEachRow - productType.length();
-        for (int i = 0; i < difference; i++) {
-            line += " ";
-        }
-        return line;
+    // " +++++ " or "|-----|" across the cell
+    private String symbols(String color, String edgeChar, char innerChar) {
+        StringBuilder line = new StringBuilder(color.length() + numOfCharsOnSymbolLines + 4);
+        line.append(color).append(edgeChar);
+        for (int j = 0; j < numOfCharsOnSymbolLines; j++) line.append(innerChar);
+        return line.append(edgeChar).append(CELL_END).toString();
     }
 
-    public static void getColorsForProducts(int rowNumber, List<Product> products, Inventory inventory) {
-        for (Product product : products) {
-            if (inventory.getProducts().get(product) <= 0) {
-                productColors.put(product.getId(), Colors.BLACK);
-            } else {
-                productColors.put(product.getId(), COLORS[rowNumber % 4]);
-            }
-        }
+    private String getRowNamePlusSpaces(Product product) {
+        String productType = product.getType().toUpperCase();
+        StringBuilder line = new StringBuilder(" ").append(productType);
+        for (int i = productType.length(); i < numOfSpacesBeforeEachRow; i++) line.append(' ');
+        return line.toString();
     }
 
-    private static void setNumOfSpacesBeforeEachRow() {
+    private void setNumOfSpacesBeforeEachRow() {
         String longestWord = "";
-        for (String productType : Inventory.getProductTypeAndQuantity().keySet()) {
+        for (String productType : catalog.getProductTypeAndQuantity().keySet()) {
             if (productType.length() > longestWord.length()) {
                 longestWord = productType;
             }
@@ -141,15 +174,11 @@ public class ProductGrid {
         numOfSpacesBeforeEachRow = longestWord.length() + 1;
     }
 
-    private static void setLeftSpacing() {
-        String spacing = " ";
-        for (int i = 0; i < numOfSpacesBeforeEachRow; i++) {
-            spacing += " ";
-        }
-        leftSpacing = spacing;
+    private void setLeftSpacing() {
+        leftSpacing = " ".repeat(numOfSpacesBeforeEachRow + 1);
     }
 
-    private static void setNumOfSpacesInCell(List<Product> products) {
+    private void setNumOfSpacesInCell(List<Product> products) {
         String longestWord = "";
         String inStock = "XX in stock";
         int minimumNumOfSpaces = inStock.length(); // At a minimum, must be able to display in-stock message
@@ -162,7 +191,7 @@ public class ProductGrid {
         numOfSpacesInCell = Math.max(longestWord.length(), minimumNumOfSpaces) + 1;
     }
 
-    private static void setNumOfCharsOnSymbolLines() {
+    private void setNumOfCharsOnSymbolLines() {
         numOfCharsOnSymbolLines = numOfSpacesInCell + 1;
     }
 
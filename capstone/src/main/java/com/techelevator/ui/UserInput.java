@@ -1,46 +1,69 @@
 package com.techelevator.ui;
+import com.techelevator.view.Screen;
+import java.io.InputStream;
+import java.io.PrintStream;
 import java.util.Scanner;
 
+// Reads the customer's answers. Each machine gets its own, so a machine can be driven from any stream; the
+// prompts go to the same stream as the machine's UserOutput
 public class UserInput {
-    private static Scanner input = new Scanner(System.in);
+    private final Scanner input;
+    private final PrintStream out;
 
-    public static String getInput(String message) {
-        System.out.print("\n" + message);
+    public UserInput() {
+        this(System.in, System.out);
+    }
+
+    public UserInput(InputStream in, PrintStream out) {
+        this.input = new Scanner(in);
+        this.out = out;
+    }
 
-        return input.nextLine();
+    public String getInput(String message) {
+        out.print("\n" + message);
+
+        return readLine();
     }
 
-    public static void getInputNoReturn(String message) {
-        System.out.print("\n" + message);
+    public void getInputNoReturn(String message) {
+        out.print("\n" + message);
+
+        readLine();
+    }
 
-        input.nextLine();
+    // The screen is painted before waiting for the user, and what they type is on it afterwards
+    private String readLine() {
+        out.flush();
+        String line = input.nextLine();
+        Screen.typed(out, line);
+        return line;
     }
 
-    public static String getSelection() {
+    public String getSelection() {
         return getInput("Please make a selection: ");
     }
 
-    public static String getPayment() {
+    public String getPayment() {
         return getInput("Please enter the dollar amount you wish to add: $");
     }
 
-    public static String addMoreMoneyPrompt() {
+    public String addMoreMoneyPrompt() {
         return getInput("Add more money? (Y/N): ");
     }
 
-    public static String buyAnotherItemPrompt() {
+    public String buyAnotherItemPrompt() {
         return getInput("Buy another item? (Y/N): ");
     }
 
-    public static String getUserItemId(){
+    public String getUserItemId(){
         return getInput("Enter the ID of the item you wish to buy: ");
     }
 
-    public static void pressEnterToContinuePrompt() {
+    public void pressEnterToContinuePrompt() {
         getInputNoReturn("Press enter to continue ");
     }
 
-    public static void noMoneyInMachineMessage() {
+    public void noMoneyInMachineMessage() {
         getInputNoReturn("Please input funds. Press enter to return to previous screen.");
     }
 }
@@ -1,93 +1,106 @@
 package com.techelevator.ui;
 
 import com.techelevator.models.CurrencyController;
-import com.techelevator.models.Inventory;
+import com.techelevator.models.Money;
+import com.techelevator.models.PickListItem;
 import com.techelevator.models.products.Product;
 import com.techelevator.ui.asciiArt.*;
 import com.techelevator.view.Colors;
 import com.techelevator.view.Console;
-import java.math.BigDecimal;
-import java.text.NumberFormat;
+import java.io.PrintStream;
 import java.util.List;
 
 
+// Everything the machine shows a customer. Each machine gets its own, so a machine can draw to any stream
+// (a terminal, a test, or nowhere when it is driven by a script)
 public class UserOutput {
-    //Formatting price as a local currency number
-    private static NumberFormat currency = NumberFormat.getCurrencyInstance();
+    private final PrintStream out;
 
-    public static void printHeader(String message) {
-        System.out.println();
-        System.out.println("*****************************");
-        System.out.println(message);
-        System.out.println("*****************************");
+    public UserOutput() {
+        this(System.out);
     }
 
-    public static void printMenu(String item1, String item2, String item3) {
-        System.out.println();
-        System.out.println("1) " + item1);
-        System.out.println("2) " + item2);
-        System.out.println("3) " + item3);
+    public UserOutput(PrintStream out) {
+        this.out = out;
     }
 
-    public static void clearScreen() {
-        System.out.println(Console.CLEAR_SCREEN);
+    public PrintStream getOut() {
+        return out;
     }
 
-    public static void printVendingMachine() {
-        VendingMachineImg.printVendingMachineArtWithColor();
+    public void printHeader(String message) {
+        out.println();
+        out.println("*****************************");
+        out.println(message);
+        out.println("*****************************");
     }
 
-    public static void printMoneyStack() {
-        MoneyStack.printMoneyStackWithColor();
+    public void printMenu(String item1, String item2, String item3) {
+        out.println();
+        out.println("1) " + item1);
+        out.println("2) " + item2);
+        out.println("3) " + item3);
     }
 
-    public static void printSorryMessage() {
-        SorryText.printSorry();
-        System.out.println();
+    public void clearScreen() {
+        out.println(Console.CLEAR_SCREEN);
     }
 
-    public static void goodbye() {
-        HandWave.printHandWave();
-        System.out.println();
-        System.out.println("\nThank you for shopping with Umbrella Corporation.");
-        System.out.println(Colors.RED + "\"Our Business Is Life Itself.\"" + Colors.RESET);
+    public void printVendingMachine() {
+        VendingMachineImg.printVendingMachineArtWithColor(out);
     }
 
-    public static void displayWelcomeScreen() {
+    public void printMoneyStack() {
+        MoneyStack.printMoneyStackWithColor(out);
+    }
+
+    public void printSorryMessage() {
+        SorryText.printSorry(out);
+        out.println();
+    }
+
+    public void goodbye() {
+        HandWave.printHandWave(out);
+        out.println();
+        out.println("\nThank you for shopping with Umbrella Corporation.");
+        out.println(Colors.RED + "\"Our Business Is Life Itself.\"" + Colors.RESET);
+    }
+
+    public void displayWelcomeScreen() {
         printHeader("Welcome to our totally normal\n" +
                 "non-criminal vending machine!");
 
-        Umbrella.printUmbrellaWithColor();
-        System.out.println();
-        UmbrellaCorpLogo.printUmbrellaCorpLogo();
+        Umbrella.printUmbrellaWithColor(out);
+        out.println();
+        UmbrellaCorpLogo.printUmbrellaCorpLogo(out);
     }
 
-    public static void displayHomeScreenMenu() {
+    public void displayHomeScreenMenu() {
         printVendingMachine();
         printHeader("Home");
         printMenu("Display Vending Machine Items", "Purchase", "Exit");
     }
 
-    public static void displayInventoryAsGrid(Inventory inventory) {
+    public void displayInventoryAsGrid(ProductGrid productGrid) {
         printHeader("Products");
-        System.out.println();
+        out.println();
 
-        ProductGrid.printProductGrid(Inventory.getOrganizedProducts(), inventory);
+        productGrid.printProductGrid(out);
 
     }
 
-    public static void displayMoneyInMachine(CurrencyController currencyController) {
+    public void displayMoneyInMachine(CurrencyController currencyController) {
         String str = "\nBalance: ";
-        String money = currency.format(currencyController.getMoneyInMachine());
+        String money = Money.format(currencyController.getMoneyInMachine());
 
-        System.out.println(str + money);
+        out.println(str + money);
     }
 
-    public static void displayPurchaseMenu() {
+    public void displayPurchaseMenu() {
         printMenu("Feed Money", "Select Product", "Finish Transaction");
     }
 
-    private static String getDispenseItemMessage(Product product) {
+    private String getDispenseItemMessage(Product product) {
         if (product.getType().equalsIgnoreCase("chip")) {
             return (Colors.YELLOW + "Crunch Crunch, Yum!" + Colors.RESET);
         }
@@ -109,68 +122,88 @@ public class UserOutput {
         }
     }
 
-    private static void printDispenseItemImage(Product product) {
+    private void printDispenseItemImage(Product product) {
         if (product.getType().equalsIgnoreCase("chip")) {
-          ChipBag.printChipBagWithColor();
+          ChipBag.printChipBagWithColor(out);
         }
         else if (product.getType().equalsIgnoreCase("candy")) {
-           Candy.printCandyWithColor();
+           Candy.printCandyWithColor(out);
         }
         else if (product.getType().equalsIgnoreCase("drink")) {
-        Soda.printSodaWithColor();
+        Soda.printSodaWithColor(out);
         }
         else if (product.getType().equalsIgnoreCase("gum")) {
-          Gum.printGumWithColor();
+          Gum.printGumWithColor(out);
         }
         else {
-            OtherProductType.printOtherProductTypeWithColor();
+            OtherProductType.printOtherProductTypeWithColor(out);
         }
 
     }
 
-    public static void vendingMachineSuccessMessage(Product product) {
-        String price = currency.format(product.getPrice());
+    public void vendingMachineSuccessMessage(Product product) {
+        String price = Money.format(product.getPriceInCents());
         String message = getDispenseItemMessage(product);
 
-        System.out.print("\n\tDispensing " + product.getName() + " - " + price + " ");
+        out.print("\n\tDispensing " + product.getName() + " - " + price + " ");
 
         try {
             sleepMessage(List.of(".", ".", ".", " " + message, " "));
         } catch (InterruptedException e) {
-            System.out.println(e.getMessage());
+            out.println(e.getMessage());
         }
 
-        System.out.println();
+        out.println();
         printDispenseItemImage(product);
-        System.out.println();
+        out.println();
 
         }
 
-    private static void sleepMessage(List<String> message) throws InterruptedException {
+    private void sleepMessage(List<String> message) throws InterruptedException {
         for (String s : message) {
             Thread.sleep(500);
-            System.out.print(s);
+            out.print(s);
+            out.flush();
         }
     }
 
-    public static void dispenseChange(CurrencyController currencyController) {
-        String money = currency.format(currencyController.getMoneyInMachine());
+    // change is the dispensed denominations, total is the balance it paid out (in cents)
+    public void dispenseChange(String change, long total) {
+        String money = Money.format(total);
 
-        // dispense change only if there is money in the machine
-        if (currencyController.getMoneyInMachine().compareTo(BigDecimal.ZERO) > 0) {
-            MoneyStack.printMoneyStackWithColor();
-            System.out.println("\nHere's your change!");
-            System.out.println(currencyController.dispenseChange());
-            System.out.println("------------\n" + "Total change: " + money);
+        // dispense change only if there was money in the machine
+        if (total > 0) {
+            MoneyStack.printMoneyStackWithColor(out);
+            out.println("\nHere's your change!");
+            out.println(change);
+            out.println("------------\n" + "Total change: " + money);
         }
     }
 
-    public static void invalidSelection() {
-        System.out.println("\nInvalid selection. Please try again");
+    public void printMessage(String message) {
+        out.println(message);
+    }
+
+    public void invalidSelection() {
+        out.println("\nInvalid selection. Please try again");
+    }
+
+    public void salesReportMessage() {
+        out.println("Generating sales report...");
     }
 
-    public static void salesReportMessage() {
-        System.out.println("Generating sales report...");
+    public void restockMessage() {
+        out.println("Restock manifest applied.");
+    }
+
+    public void displayPickList(List<PickListItem> pickList) {
+        printHeader("Pick List");
+        if (pickList.isEmpty()) {
+            out.println("Every slot is at or above par.");
+        }
+        for (PickListItem item : pickList) {
+            out.println(item);
+        }
     }
 
 }
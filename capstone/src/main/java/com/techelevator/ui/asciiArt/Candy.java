@@ -1,27 +1,28 @@
 package com.techelevator.ui.asciiArt;
 
 import com.techelevator.view.Colors;
+import java.io.PrintStream;
 
 public class Candy {
-    public static void printCandy() {
-        System.out.println("\t\t           ______");
-        System.out.println("\t\t___      .' /:::::.      ___");
-        System.out.println("\t\t\\  '-.  /  (:::::-'\\  .-'  /");
-        System.out.println("\t\t >_-=.\\/:\\___\\/___  \\/.=-_<");
-        System.out.println("\t\t > -='/\\:::::/\\::::\\/\\'=- <");
-        System.out.println("\t\t/__.-'  \\:::'  ):::/  '-.__\\");
-        System.out.println("\t\t         '.___/:::'");
+    public static void printCandy(PrintStream out) {
+        out.println("\t\t           ______");
+        out.println("\t\t___      .' /:::::.      ___");
+        out.println("\t\t\\  '-.  /  (:::::-'\\  .-'  /");
+        out.println("\t\t >_-=.\\/:\\___\\/___  \\/.=-_<");
+        out.println("\t\t > -='/\\:::::/\\::::\\/\\'=- <");
+        out.println("\t\t/__.-'  \\:::'  ):::/  '-.__\\");
+        out.println("\t\t         '.___/:::'");
 
     }
 
-    public static void printCandyWithColor() {
-        System.out.println(Colors.RED + "\t\t           ______");
-        System.out.println("\t\t___      .' /:::::.      ___");
-        System.out.println("\t\t\\  '-.  /  (:::::-'\\  .-'  /");
-        System.out.println("\t\t >_-=.\\/:\\___\\/___  \\/.=-_<");
-        System.out.println("\t\t > -='/\\:::::/\\::::\\/\\'=- <");
-        System.out.println("\t\t/__.-'  \\:::'  ):::/  '-.__\\");
-        System.out.println("\t\t         '.___/:::'" + Colors.RESET);
+    public static void printCandyWithColor(PrintStream out) {
+        out.println(Colors.RED + "\t\t           ______");
+        out.println("\t\t___      .' /:::::.      ___");
+        out.println("\t\t\\  '-.  /  (:::::-'\\  .-'  /");
+        out.println("\t\t >_-=.\\/:\\___\\/___  \\/.=-_<");
+        out.println("\t\t > -='/\\:::::/\\::::\\/\\'=- <");
+        out.println("\t\t/__.-'  \\:::'  ):::/  '-.__\\");
+        out.println("\t\t         '.___/:::'" + Colors.RESET);
 
     }
 
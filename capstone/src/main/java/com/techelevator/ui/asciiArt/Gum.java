@@ -1,28 +1,29 @@
 package com.techelevator.ui.asciiArt;
 
 import com.techelevator.view.Colors;
+import java.io.PrintStream;
 
 public class Gum {
-    public static void printGum() {
-        System.out.println("        __________________________________");
-        System.out.println("       /      ___  __  __ ___ ___        / \\");
-        System.out.println("      /     / __ `/ / / / __ `__ \\      /  /");
-        System.out.println("     /     / /_/ / /_/ / / / / / /     /  /");
-        System.out.println("    /      \\__, /\\__,_/_/ /_/ /_/     /  /");
-        System.out.println("   /      /____/                     /  /");
-        System.out.println("  /_________________________________/  /");
-        System.out.println("  \\__________________________________\\/");
-        System.out.println("  ");
+    public static void printGum(PrintStream out) {
+        out.println("        __________________________________");
+        out.println("       /      ___  __  __ ___ ___        / \\");
+        out.println("      /     / __ `/ / / / __ `__ \\      /  /");
+        out.println("     /     / /_/ / /_/ / / / / / /     /  /");
+        out.println("    /      \\__, /\\__,_/_/ /_/ /_/     /  /");
+        out.println("   /      /____/                     /  /");
+        out.println("  /_________________________________/  /");
+        out.println("  \\__________________________________\\/");
+        out.println("  ");
     }
 
-    public static void printGumWithColor() {
-        System.out.println("\t\t      " + Colors.BLACK + "__________________________________");
-        System.out.println("\t\t     " + Colors.CYAN_BACKGROUND + "/      ___  __  __ ___ ___        / \\" + Colors.RESET + Colors.BLACK);
-        System.out.println("\t\t    " + Colors.CYAN_BACKGROUND + "/     / __ `/ / / / __ `__ \\      /  /" + Colors.RESET + Colors.BLACK);
-        System.out.println("\t\t   " + Colors.CYAN_BACKGROUND + "/     / /_/ / /_/ / / / / / /     /  /" + Colors.RESET + Colors.BLACK);
-        System.out.println("\t\t  " + Colors.CYAN_BACKGROUND + "/      \\__, /\\__,_/_/ /_/ /_/     /  /" + Colors.RESET + Colors.BLACK);
-        System.out.println("\t\t " + Colors.CYAN_BACKGROUND + "/      /____/                     /  /" + Colors.RESET + Colors.BLACK);
-        System.out.println("\t\t" + Colors.CYAN_BACKGROUND + "/_________________________________/  /" + Colors.RESET + Colors.BLACK);
-        System.out.println("\t\t" + Colors.CYAN_BACKGROUND + "\\__________________________________\\/" + Colors.RESET + Colors.BLACK + Colors.RESET);
+    public static void printGumWithColor(PrintStream out) {
+        out.println("\t\t      " + Colors.BLACK + "__________________________________");
+        out.println("\t\t     " + Colors.CYAN_BACKGROUND + "/      ___  __  __ ___ ___        / \\" + Colors.RESET + Colors.BLACK);
+        out.println("\t\t    " + Colors.CYAN_BACKGROUND + "/     / __ `/ / / / __ `__ \\      /  /" + Colors.RESET + Colors.BLACK);
+        out.println("\t\t   " + Colors.CYAN_BACKGROUND + "/     / /_/ / /_/ / / / / / /     /  /" + Colors.RESET + Colors.BLACK);
+        out.println("\t\t  " + Colors.CYAN_BACKGROUND + "/      \\__, /\\__,_/_/ /_/ /_/     /  /" + Colors.RESET + Colors.BLACK);
+        out.println("\t\t " + Colors.CYAN_BACKGROUND + "/      /____/                     /  /" + Colors.RESET + Colors.BLACK);
+        out.println("\t\t" + Colors.CYAN_BACKGROUND + "/_________________________________/  /" + Colors.RESET + Colors.BLACK);
+        out.println("\t\t" + Colors.CYAN_BACKGROUND + "\\__________________________________\\/" + Colors.RESET + Colors.BLACK + Colors.RESET);
       }
 }
@@ -1,28 +1,29 @@
 package com.techelevator.ui.asciiArt;
 
 import com.techelevator.view.Colors;
+import java.io.PrintStream;
 
 public class HandWave {
-    public static void printHandWave() {
+    public static void printHandWave(PrintStream out) {
 
-        System.out.println(Colors.RED + "                               ,,                 ");
-        System.out.println("                          ,,,    ,,               ");
-        System.out.println("        ///    /////         ,,    ,              ");
-        System.out.println("       /////// ////////        ,,  ,,             ");
-        System.out.println("        ////////  ///////            ////         ");
-        System.out.println("    ///// ////////  ////////        //////        ");
-        System.out.println("    ///////  //////// ////////      ///////       ");
-        System.out.println("      //////// ////////  ////////    ///////      ");
-        System.out.println("     /  ////////  ///////////////**   ///////     ");
-        System.out.println("   //////  ///////  ///////////**/////////////    ");
-        System.out.println("    //////// //////////////////*///////////////   ");
-        System.out.println("      ////////  ///////////////*////////////////  ");
-        System.out.println("         //////////////////////*////////////////  ");
-        System.out.println("           /////////////////////*///////////////  ");
-        System.out.println("     ,,       /////////////////////////////////   ");
-        System.out.println("       ,,       //////////////////////////////    ");
-        System.out.println("   ,,    *,,,,,    /////////////////////////      ");
-        System.out.println("      ,,             .///////////////////         ");
-        System.out.println("          ,,,            /////////////           " + Colors.RESET);
+        out.println(Colors.RED + "                               ,,                 ");
+        out.println("                          ,,,    ,,               ");
+        out.println("        ///    /////         ,,    ,              ");
+        out.println("       /////// ////////        ,,  ,,             ");
+        out.println("        ////////  ///////            ////         ");
+        out.println("    ///// ////////  ////////        //////        ");
+        out.println("    ///////  //////// ////////      ///////       ");
+        out.println("      //////// ////////  ////////    ///////      ");
+        out.println("     /  ////////  ///////////////**   ///////     ");
+        out.println("   //////  ///////  ///////////**/////////////    ");
+        out.println("    //////// //////////////////*///////////////   ");
+        out.println("      ////////  ///////////////*////////////////  ");
+        out.println("         //////////////////////*////////////////  ");
+        out.println("           /////////////////////*///////////////  ");
+        out.println("     ,,       /////////////////////////////////   ");
+        out.println("       ,,       //////////////////////////////    ");
+        out.println("   ,,    *,,,,,    /////////////////////////      ");
+        out.println("      ,,             .///////////////////         ");
+        out.println("          ,,,            /////////////           " + Colors.RESET);
     }
 }
@@ -1,34 +1,35 @@
 package com.techelevator.ui.asciiArt;
 
 import com.techelevator.view.Colors;
+import java.io.PrintStream;
 
 public class MoneyStack {
-    public static void printMoneyStack() {
+    public static void printMoneyStack(PrintStream out) {
 
-        System.out.println(Colors.GREEN + "         @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@  ");
-        System.out.println("       @&&&&&&&&@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ @  ");
-        System.out.println("      @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@* @ @  ");
-        System.out.println("      @@@@@            *$/            &@@@@, @ @  ");
-        System.out.println("      @@             $$_||_@@            *@, @ @  ");
-        System.out.println("      @@           $$$/  _/$$$            @, @ @  ");
-        System.out.println("      @@          ($$$\\_  \\$$$)          @, @ @  ");
-        System.out.println("      @@@           $$/_ _/$$#          @@@. @#@  ");
-        System.out.println("      @@@@@            $||$             @@@@@@@@    ");
-        System.out.println("      *******-----------------------**********.    " + Colors.RESET);
+        out.println(Colors.GREEN + "         @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@  ");
+        out.println("       @&&&&&&&&@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ @  ");
+        out.println("      @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@* @ @  ");
+        out.println("      @@@@@            *$/            &@@@@, @ @  ");
+        out.println("      @@             $$_||_@@            *@, @ @  ");
+        out.println("      @@           $$$/  _/$$$            @, @ @  ");
+        out.println("      @@          ($$$\\_  \\$$$)          @, @ @  ");
+        out.println("      @@@           $$/_ _/$$#          @@@. @#@  ");
+        out.println("      @@@@@            $||$             @@@@@@@@    ");
+        out.println("      *******-----------------------**********.    " + Colors.RESET);
 
     }
 
-    public static void printMoneyStackWithColor() {
-        System.out.println("         " + Colors.GREEN_BACKGROUND + Colors.BLACK + "@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@" + Colors.RESET + Colors.BLACK);
-        System.out.println("       " + Colors.GREEN_BACKGROUND + "@&&&&&&&&@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ @" + Colors.RESET + Colors.BLACK);
-        System.out.println("      " + Colors.GREEN_BACKGROUND + "@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@* @ @" + Colors.RESET + Colors.BLACK);
-        System.out.println("      " + Colors.GREEN_BACKGROUND + "@@@@@            " + Colors.WHITE_BACKGROUND + "*$/" + Colors.GREEN_BACKGROUND + "            &@@@@, @ @" + Colors.RESET + Colors.BLACK);
-        System.out.println("      "  + Colors.GREEN_BACKGROUND + "@@             " + Colors.WHITE_BACKGROUND + "$$_||_@@" + Colors.GREEN_BACKGROUND + "            *@, @ @" + Colors.RESET + Colors.BLACK);
-        System.out.println("      "  + Colors.GREEN_BACKGROUND + "@@           " + Colors.WHITE_BACKGROUND + "$$$/  _/$$$" + Colors.GREEN_BACKGROUND + "            @, @ @" + Colors.RESET + Colors.BLACK);
-        System.out.println("      "  + Colors.GREEN_BACKGROUND + "@@          " + Colors.WHITE_BACKGROUND + "($$$\\_  \\$$$)" + Colors.GREEN_BACKGROUND + "           @, @ @" + Colors.RESET + Colors.BLACK);
-        System.out.println("      "  + Colors.GREEN_BACKGROUND + "@@@           " + Colors.WHITE_BACKGROUND + "$$/_ _/$$#" + Colors.GREEN_BACKGROUND + "          @@@. @#@" + Colors.RESET + Colors.BLACK);
-        System.out.println("      "  + Colors.GREEN_BACKGROUND + "@@@@@            " + Colors.WHITE_BACKGROUND + "$||$" + Colors.GREEN_BACKGROUND + "             @@@@@@" + Colors.RESET + Colors.BLACK);
-        System.out.println("      "  + Colors.GREEN_BACKGROUND + "*******-----------------------*******" + Colors.RESET);
+    public static void printMoneyStackWithColor(PrintStream out) {
+        out.println("         " + Colors.GREEN_BACKGROUND + Colors.BLACK + "@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@" + Colors.RESET + Colors.BLACK);
+        out.println("       " + Colors.GREEN_BACKGROUND + "@&&&&&&&&@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ @" + Colors.RESET + Colors.BLACK);
+        out.println("      " + Colors.GREEN_BACKGROUND + "@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@* @ @" + Colors.RESET + Colors.BLACK);
+        out.println("      " + Colors.GREEN_BACKGROUND + "@@@@@            " + Colors.WHITE_BACKGROUND + "*$/" + Colors.GREEN_BACKGROUND + "            &@@@@, @ @" + Colors.RESET + Colors.BLACK);
+        out.println("      "  + Colors.GREEN_BACKGROUND + "@@             " + Colors.WHITE_BACKGROUND + "$$_||_@@" + Colors.GREEN_BACKGROUND + "            *@, @ @" + Colors.RESET + Colors.BLACK);
+        out.println("      "  + Colors.GREEN_BACKGROUND + "@@           " + Colors.WHITE_BACKGROUND + "$$$/  _/$$$" + Colors.GREEN_BACKGROUND + "            @, @ @" + Colors.RESET + Colors.BLACK);
+        out.println("      "  + Colors.GREEN_BACKGROUND + "@@          " + Colors.WHITE_BACKGROUND + "($$$\\_  \\$$$)" + Colors.GREEN_BACKGROUND + "           @, @ @" + Colors.RESET + Colors.BLACK);
+        out.println("      "  + Colors.GREEN_BACKGROUND + "@@@           " + Colors.WHITE_BACKGROUND + "$$/_ _/$$#" + Colors.GREEN_BACKGROUND + "          @@@. @#@" + Colors.RESET + Colors.BLACK);
+        out.println("      "  + Colors.GREEN_BACKGROUND + "@@@@@            " + Colors.WHITE_BACKGROUND + "$||$" + Colors.GREEN_BACKGROUND + "             @@@@@@" + Colors.RESET + Colors.BLACK);
+        out.println("      "  + Colors.GREEN_BACKGROUND + "*******-----------------------*******" + Colors.RESET);
 
     }
 }
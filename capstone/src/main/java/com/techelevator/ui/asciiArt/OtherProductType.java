@@ -1,21 +1,22 @@
 package com.techelevator.ui.asciiArt;
 
 import com.techelevator.view.Colors;
+import java.io.PrintStream;
 
 public class OtherProductType {
 
-    public static void printOtherProductTypeWithColor() {
-        System.out.println(Colors.PURPLE +"\t\t.===================.");
-        System.out.println("\t\t||     ______      ||");
-        System.out.println("\t\t||    / ____ \\     ||");
-        System.out.println("\t\t||   ( (    ) )    ||");
-        System.out.println("\t\t||    \\/   / /     ||");
-        System.out.println("\t\t||        ( (      ||");
-        System.out.println("\t\t||        | |      ||");
-        System.out.println("\t\t||        (_)      ||");
-        System.out.println("\t\t||         _       ||");
-        System.out.println("\t\t||        (_)      ||");
-        System.out.println("\t\t||                 ||");
-        System.out.println("\t\t'==================='" + Colors.RESET);
+    public static void printOtherProductTypeWithColor(PrintStream out) {
+        out.println(Colors.PURPLE +"\t\t.===================.");
+        out.println("\t\t||     ______      ||");
+        out.println("\t\t||    / ____ \\     ||");
+        out.println("\t\t||   ( (    ) )    ||");
+        out.println("\t\t||    \\/   / /     ||");
+        out.println("\t\t||        ( (      ||");
+        out.println("\t\t||        | |      ||");
+        out.println("\t\t||        (_)      ||");
+        out.println("\t\t||         _       ||");
+        out.println("\t\t||        (_)      ||");
+        out.println("\t\t||                 ||");
+        out.println("\t\t'==================='" + Colors.RESET);
     }
 }
@@ -1,14 +1,15 @@
 package com.techelevator.ui.asciiArt;
 
 import com.techelevator.view.Colors;
+import java.io.PrintStream;
 
 public class SorryText {
-    public static void printSorry() {
-        System.out.println(Colors.RED + "\t                                  ._.");
-        System.out.println("\t  ________________________ ___.__.| |");
-        System.out.println("\t /  ___/  _ \\_  __ \\_  __ <   |  || |");
-        System.out.println("\t \\___ (  <_> )  | \\/|  | \\/\\___  | \\|");
-        System.out.println("\t/____  >____/|__|   |__|   / ____| __");
-        System.out.println("\t     \\/                    \\/      \\/" + Colors.RESET);
+    public static void printSorry(PrintStream out) {
+        out.println(Colors.RED + "\t                                  ._.");
+        out.println("\t  ________________________ ___.__.| |");
+        out.println("\t /  ___/  _ \\_  __ \\_  __ <   |  || |");
+        out.println("\t \\___ (  <_> )  | \\/|  | \\/\\___  | \\|");
+        out.println("\t/____  >____/|__|   |__|   / ____| __");
+        out.println("\t     \\/                    \\/      \\/" + Colors.RESET);
     }
 }
@@ -3,52 +3,53 @@ package com.techelevator.ui.asciiArt;
 import com.techelevator.view.Colors;
 
 import java.awt.*;
+import java.io.PrintStream;
 
 public class Umbrella {
 
-    public static void printUmbrella() {
-        System.out.println("@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@%@@@@@@@@@@@@@@");
-        System.out.println("@@@@@@@@@@@@@@ , @@             @@ . @@@@@@@@@@@@@");
-        System.out.println("@@@@@@@@@@@@  **, @@@@@@@@@@@@@@@ ***  @@@@@@@@@@@");
-        System.out.println("@@@@@@@@@@  ****** @@@@@@@@@@@@@ ******  @@@@@@@@@");
-        System.out.println("@@@@@@@@  ********* @@@@@@@@@@@ *********  @@@@@@@");
-        System.out.println("@@@@&  ************* @@@@@@@@@ *************  @@@@");
-        System.out.println("@  ****************** @@@@@@@ ******************"  );
-        System.out.println("@  @@@   ************* @@@@@ *************   @@@ %");
-        System.out.println("@@ @@@@@@@@@   ******** @@@ *******,   @@@@@@@@. @");
-        System.out.println("@@  @@@@@@@@@@@@@@   ,** @ **,   @@@@@@@@@@@@@@ ,@");
-        System.out.println("@@% @@@@@@@@@@@@@@@@@@@@   @@@@@@@@@@@@@@@@@@@@ @@");
-        System.out.println("@@. @@@@@@@@@@@@@@   *** @ ***   @@@@@@@@@@@@@@ @@");
-        System.out.println("@@ @@@@@@@@&   ******** @@@ ********   @@@@@@@@, @");
-        System.out.println("@% @@%   ************* @@@@@ *************   @@@ @");
-        System.out.println("@  ****************** @@@@@@@ ******************"  );
-        System.out.println("@@@@@  ************* @@@@@@@@@ *************  @@@@");
-        System.out.println("@@@@@@@@  ********* @@@@@@@@@@@ *********  @@@@@@@");
-        System.out.println("@@@@@@@@@@( ****** @@@@@@@@@@@@@ ****** @@@@@@@@@@");
-        System.out.println("@@@@@@@@@@@@  **, @@@@@@@@@@@@@@@ *** (@@@@@@@@@@@");
-        System.out.println("@@@@@@@@@@@@@@ . @,             /@   @@@@@@@@@@@@@");
+    public static void printUmbrella(PrintStream out) {
+        out.println("@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@%@@@@@@@@@@@@@@");
+        out.println("@@@@@@@@@@@@@@ , @@             @@ . @@@@@@@@@@@@@");
+        out.println("@@@@@@@@@@@@  **, @@@@@@@@@@@@@@@ ***  @@@@@@@@@@@");
+        out.println("@@@@@@@@@@  ****** @@@@@@@@@@@@@ ******  @@@@@@@@@");
+        out.println("@@@@@@@@  ********* @@@@@@@@@@@ *********  @@@@@@@");
+        out.println("@@@@&  ************* @@@@@@@@@ *************  @@@@");
+        out.println("@  ****************** @@@@@@@ ******************"  );
+        out.println("@  @@@   ************* @@@@@ *************   @@@ %");
+        out.println("@@ @@@@@@@@@   ******** @@@ *******,   @@@@@@@@. @");
+        out.println("@@  @@@@@@@@@@@@@@   ,** @ **,   @@@@@@@@@@@@@@ ,@");
+        out.println("@@% @@@@@@@@@@@@@@@@@@@@   @@@@@@@@@@@@@@@@@@@@ @@");
+        out.println("@@. @@@@@@@@@@@@@@   *** @ ***   @@@@@@@@@@@@@@ @@");
+        out.println("@@ @@@@@@@@&   ******** @@@ ********   @@@@@@@@, @");
+        out.println("@% @@%   ************* @@@@@ *************   @@@ @");
+        out.println("@  ****************** @@@@@@@ ******************"  );
+        out.println("@@@@@  ************* @@@@@@@@@ *************  @@@@");
+        out.println("@@@@@@@@  ********* @@@@@@@@@@@ *********  @@@@@@@");
+        out.println("@@@@@@@@@@( ****** @@@@@@@@@@@@@ ****** @@@@@@@@@@");
+        out.println("@@@@@@@@@@@@  **, @@@@@@@@@@@@@@@ *** (@@@@@@@@@@@");
+        out.println("@@@@@@@@@@@@@@ . @,             /@   @@@@@@@@@@@@@");
     }
 
-    public static void printUmbrellaWithColor() {
-        System.out.println(Colors.BLACK + "       @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@%@@@@@@@@@@@@@@");
-        System.out.println("       @@@@@@@@@@@@@@ " + Colors.RED + "," + Colors.RESET + " @@             @@ " + Colors.RED + "." + Colors.BLACK + " @@@@@@@@@@@@@");
-        System.out.println("       @@@@@@@@@@@@  " + Colors.RED + "**," + Colors.RESET + " @@@@@@@@@@@@@@@ " + Colors.RED + "***" + Colors.BLACK + "  @@@@@@@@@@@");
-        System.out.println("       @@@@@@@@@@  " + Colors.RED + "******" + Colors.RESET + " @@@@@@@@@@@@@" + Colors.RED + "******" + Colors.BLACK + "  @@@@@@@@@@");
-        System.out.println("       @@@@@@@@  " + Colors.RED + "*********" + Colors.RESET + " @@@@@@@@@@@ " + Colors.RED + "*********" + Colors.BLACK + " @@@@@@@@");
-        System.out.println("       @@@@&  " + Colors.RED + "*************" + Colors.RESET + " @@@@@@@@@ " + Colors.RED + "*************" + Colors.BLACK + "  @@@@");
-        System.out.println("       @  " + Colors.RED + "******************" + Colors.RESET + " @@@@@@@ " + Colors.RED + "******************" + Colors.BLACK + "@@");
-        System.out.println("       @"  + Colors.RESET + "@@@   "  + Colors.RED + "*************" + Colors.RESET + "@@@@@ " + Colors.RED + "*************" + Colors.RESET + "   @@@ %" + Colors.BLACK + " @@");
-        System.out.println("       @@" + Colors.RESET + "@@@@@@@@@   " + Colors.RED + "********" + Colors.RESET + " @@@ "  + Colors.RED + "*******," + Colors.RESET + "   @@@@@@@@." + Colors.BLACK + " @@");
-        System.out.println("       @ " + Colors.RESET + "@@@@@@@@@@@@@@@@@ " + Colors.RED + ",**" + Colors.RESET + " @ " + Colors.RED + "**," + Colors.RESET + "   @@@@@@@@@@@@@@" + Colors.BLACK + " ,@@");
-        System.out.println("       @@%" + Colors.RESET + "@@@@@@@@@@@@@@@@@@@@ " + Colors.RED + "*" + Colors.RESET +" @@@@@@@@@@@@@@@@@@@@ " + Colors.BLACK + "@@@");
-        System.out.println("       @@" + Colors.RESET + ".@@@@@@@@@@@@@@   " + Colors.RED + "***" + Colors.RESET + " @ "  + Colors.RED + "***" + Colors.RESET + "   @@@@@@@@@@@@@@" + Colors.BLACK + " @@@");
-        System.out.println("       @@" + Colors.RESET + "@@@@@@@@&   " + Colors.RED + "********" + Colors.RESET + " @@@ " + Colors.RED + "********" + Colors.RESET + "   @@@@@@@@," + Colors.BLACK + " @@");
-        System.out.println("       @" + Colors.RESET + "%@@%   " + Colors.RED + "*************" + Colors.RESET + " @@@@@ " + Colors.RED + "*************" + Colors.RESET + "   @@@" + Colors.BLACK + " @@");
-        System.out.println("       @  " + Colors.RED + "******************" + Colors.RESET + " @@@@@@@ " + Colors.RED + "******************"  + Colors.BLACK + "@@");
-        System.out.println("       @@@@@  " + Colors.RED + "*************" + Colors.RESET + " @@@@@@@@@ " + Colors.RED + "*************" + Colors.BLACK + "  @@@@");
-        System.out.println("       @@@@@@@@  " + Colors.RED + "*********" + Colors.RESET + " @@@@@@@@@@@ " + Colors.RED + "*********" + Colors.BLACK + "  @@@@@@@");
-        System.out.println("       @@@@@@@@@@( " + Colors.RED + "******" + Colors.RESET + " @@@@@@@@@@@@@ " + Colors.RED + "******" + Colors.BLACK + " @@@@@@@@@@");
-        System.out.println("       @@@@@@@@@@@@  " + Colors.RED + "**," + Colors.RESET + " @@@@@@@@@@@@@@@ " + Colors.RED + "***" + Colors.BLACK + " (@@@@@@@@@@@");
-        System.out.println("       @@@@@@@@@@@@@@ " + Colors.RED + "." + Colors.RESET + " @,             /@" + Colors.RED + "." + Colors.BLACK + "  @@@@@@@@@@@@@" + Colors.RESET);
+    public static void printUmbrellaWithColor(PrintStream out) {
+        out.println(Colors.BLACK + "       @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@%@@@@@@@@@@@@@@");
+        out.println("       @@@@@@@@@@@@@@ " + Colors.RED + "," + Colors.RESET + " @@             @@ " + Colors.RED + "." + Colors.BLACK + " @@@@@@@@@@@@@");
+        out.println("       @@@@@@@@@@@@  " + Colors.RED + "**," + Colors.RESET + " @@@@@@@@@@@@@@@ " + Colors.RED + "***" + Colors.BLACK + "  @@@@@@@@@@@");
+        out.println("       @@@@@@@@@@  " + Colors.RED + "******" + Colors.RESET + " @@@@@@@@@@@@@" + Colors.RED + "******" + Colors.BLACK + "  @@@@@@@@@@");
+        out.println("       @@@@@@@@  " + Colors.RED + "*********" + Colors.RESET + " @@@@@@@@@@@ " + Colors.RED + "*********" + Colors.BLACK + " @@@@@@@@");
+        out.println("       @@@@&  " + Colors.RED + "*************" + Colors.RESET + " @@@@@@@@@ " + Colors.RED + "*************" + Colors.BLACK + "  @@@@");
+        out.println("       @  " + Colors.RED + "******************" + Colors.RESET + " @@@@@@@ " + Colors.RED + "******************" + Colors.BLACK + "@@");
+        out.println("       @"  + Colors.RESET + "@@@   "  + Colors.RED + "*************" + Colors.RESET + "@@@@@ " + Colors.RED + "*************" + Colors.RESET + "   @@@ %" + Colors.BLACK + " @@");
+        out.println("       @@" + Colors.RESET + "@@@@@@@@@   " + Colors.RED + "********" + Colors.RESET + " @@@ "  + Colors.RED + "*******," + Colors.RESET + "   @@@@@@@@." + Colors.BLACK + " @@");
+        out.println("       @ " + Colors.RESET + "@@@@@@@@@@@@@@@@@ " + Colors.RED + ",**" + Colors.RESET + " @ " + Colors.RED + "**," + Colors.RESET + "   @@@@@@@@@@@@@@" + Colors.BLACK + " ,@@");
+        out.println("       @@%" + Colors.RESET + "@@@@@@@@@@@@@@@@@@@@ " + Colors.RED + "*" + Colors.RESET +" @@@@@@@@@@@@@@@@@@@@ " + Colors.BLACK + "@@@");
+        out.println("       @@" + Colors.RESET + ".@@@@@@@@@@@@@@   " + Colors.RED + "***" + Colors.RESET + " @ "  + Colors.RED + "***" + Colors.RESET + "   @@@@@@@@@@@@@@" + Colors.BLACK + " @@@");
+        out.println("       @@" + Colors.RESET + "@@@@@@@@&   " + Colors.RED + "********" + Colors.RESET + " @@@ " + Colors.RED + "********" + Colors.RESET + "   @@@@@@@@," + Colors.BLACK + " @@");
+        out.println("       @" + Colors.RESET + "%@@%   " + Colors.RED + "*************" + Colors.RESET + " @@@@@ " + Colors.RED + "*************" + Colors.RESET + "   @@@" + Colors.BLACK + " @@");
+        out.println("       @  " + Colors.RED + "******************" + Colors.RESET + " @@@@@@@ " + Colors.RED + "******************"  + Colors.BLACK + "@@");
+        out.println("       @@@@@  " + Colors.RED + "*************" + Colors.RESET + " @@@@@@@@@ " + Colors.RED + "*************" + Colors.BLACK + "  @@@@");
+        out.println("       @@@@@@@@  " + Colors.RED + "*********" + Colors.RESET + " @@@@@@@@@@@ " + Colors.RED + "*********" + Colors.BLACK + "  @@@@@@@");
+        out.println("       @@@@@@@@@@( " + Colors.RED + "******" + Colors.RESET + " @@@@@@@@@@@@@ " + Colors.RED + "******" + Colors.BLACK + " @@@@@@@@@@");
+        out.println("       @@@@@@@@@@@@  " + Colors.RED + "**," + Colors.RESET + " @@@@@@@@@@@@@@@ " + Colors.RED + "***" + Colors.BLACK + " (@@@@@@@@@@@");
+        out.println("       @@@@@@@@@@@@@@ " + Colors.RED + "." + Colors.RESET + " @,             /@" + Colors.RED + "." + Colors.BLACK + "  @@@@@@@@@@@@@" + Colors.RESET);
     }
 }
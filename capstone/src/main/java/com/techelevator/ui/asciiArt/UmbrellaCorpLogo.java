@@ -1,19 +1,20 @@
 package com.techelevator.ui.asciiArt;
 
 import com.techelevator.view.Colors;
+import java.io.PrintStream;
 
 public class UmbrellaCorpLogo {
 
-    public static void printUmbrellaCorpLogo() {
+    public static void printUmbrellaCorpLogo(PrintStream out) {
 
-        System.out.println(Colors.RED + "      _   _ __  __ ___ ___ ___ _    _      _");
-        System.out.println("     | | | |  \\/  | _ ) _ \\ __| |  | |    /_\\     ");
-        System.out.println("     | |_| | |\\/| | _ \\   / _|| |__| |__ / _ \\    ");
-        System.out.println("      \\___/|_|  |_|___/_|_\\___|____|____/_/ \\_\\  ");
-        System.out.println("       ___ ___  ___ ___  ___  ___    _ _____ ___ ___  _  _ ");
-        System.out.println("      / __/ _ \\| _ \\ _ \\/ _ \\| _ \\  /_\\_   _|_ _/ _ \\| \\| |");
-        System.out.println("       (_| (_) |   /  _/ (_) |   / / _ \\| |  | | (_) | .` | ");
-        System.out.println("      \\___\\___/|_|_\\_|  \\___/|_|_\\/_/ \\_\\_| |___\\___/|_|\\_|" + Colors.RESET);
+        out.println(Colors.RED + "      _   _ __  __ ___ ___ ___ _    _      _");
+        out.println("     | | | |  \\/  | _ ) _ \\ __| |  | |    /_\\     ");
+        out.println("     | |_| | |\\/| | _ \\   / _|| |__| |__ / _ \\    ");
+        out.println("      \\___/|_|  |_|___/_|_\\___|____|____/_/ \\_\\  ");
+        out.println("       ___ ___  ___ ___  ___  ___    _ _____ ___ ___  _  _ ");
+        out.println("      / __/ _ \\| _ \\ _ \\/ _ \\| _ \\  /_\\_   _|_ _/ _ \\| \\| |");
+        out.println("       (_| (_) |   /  _/ (_) |   / / _ \\| |  | | (_) | .` | ");
+        out.println("      \\___\\___/|_|_\\_|  \\___/|_|_\\/_/ \\_\\_| |___\\___/|_|\\_|" + Colors.RESET);
     }
 
 
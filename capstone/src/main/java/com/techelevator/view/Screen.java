@@ -0,0 +1,373 @@
+package com.techelevator.view;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Stands in for System.out on a real terminal and repaints only what changed. Everything printed since the
+// last Console.CLEAR_SCREEN is one frame; the frame is not written when it is printed but when System.out
+// is flushed (UserInput flushes before it waits for the user). Lines that are the same as on the terminal
+// are skipped, changed lines are rewritten in place with ANSI cursor moves, and the clear screen itself is
+// never sent, so screens that differ in a line or two (the purchase menu after feeding money) cost a line
+// or two instead of the whole screen.
+//
+// Frames taller than the terminal scroll, and lines wider than it wrap onto the next row, both of which throw
+// off the cursor moves, so those frames are written in full. So is every frame when the terminal's size isn't
+// known. Only the thread that created the Screen (the one drawing the menus) is buffered into frames; what
+// other threads print (e.g. an error from a background writer) goes to the terminal straight away
+public class Screen extends OutputStream {
+
+    private static final String ESC = "\033[";
+    private static final String ERASE_TO_END_OF_LINE = ESC + "K";
+    private static final String ERASE_BELOW = ESC + "J";
+    // back to the start of the line and down one, whatever the terminal does with a bare line feed
+    private static final String NEXT_LINE = "\r\n";
+    private static final int DEFAULT_WIDTH = 80;
+    // a width or height that isn't known, see fits
+    private static final int UNKNOWN = 0;
+    private static final int TAB_WIDTH = 8;
+
+    private static Screen installed;
+    private static PrintStream installedStream;
+
+    private final PrintStream terminal;
+    private final Thread owner = Thread.currentThread();
+    private final int width;
+    private final int height;
+    private final Charset charset = Charset.defaultCharset();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+    // the frame printed so far: complete lines and the line the cursor is on
+    private final List<Line> frame = new ArrayList<>();
+    private StringBuilder current = new StringBuilder();
+    private String currentColor = "";
+    // the color escape codes in effect at the end of the frame so far
+    private String color = "";
+    private String foreground = "";
+    private String background = "";
+    private String attributes = "";
+    // what the terminal shows, null when it isn't known (nothing painted yet, or the last frame scrolled)
+    private List<Line> shown;
+    // the color the terminal is writing in after the last repaint
+    private String terminalColor = "";
+
+    public Screen(PrintStream terminal, int height) {
+        this(terminal, DEFAULT_WIDTH, height);
+    }
+
+    public Screen(PrintStream terminal, int width, int height) {
+        this.terminal = terminal;
+        this.width = width;
+        this.height = height;
+    }
+
+    // Puts a Screen between System.out and the terminal. The size is taken from the COLUMNS and LINES
+    // environment variables when the shell exports them (bash doesn't by default), otherwise from stty
+    public static synchronized Screen install() {
+        int[] size = querySize();
+        return install(System.out, fromEnvironment("COLUMNS", size[1]), fromEnvironment("LINES", size[0]));
+    }
+
+    public static synchronized Screen install(PrintStream terminal, int height) {
+        return install(terminal, DEFAULT_WIDTH, height);
+    }
+
+    public static synchronized Screen install(PrintStream terminal, int width, int height) {
+        if (installed != null) return installed;
+        installed = new Screen(terminal, width, height);
+        installedStream = new PrintStream(installed, false, installed.charset);
+        System.setOut(installedStream);
+        return installed;
+    }
+
+    private static int fromEnvironment(String name, int defaultValue) {
+        String value = System.getenv(name);
+        try {
+            if (value != null) return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            // keep the default
+        }
+        return defaultValue;
+    }
+
+    // {rows, columns} as stty reports them for the controlling terminal, UNKNOWN for both if it can't tell
+    private static int[] querySize() {
+        try {
+            Process stty = new ProcessBuilder("stty", "size")
+                    .redirectInput(ProcessBuilder.Redirect.from(new File("/dev/tty")))
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            String[] size = new String(stty.getInputStream().readAllBytes()).trim().split("\\s+");
+            if (stty.waitFor(1, TimeUnit.SECONDS) && stty.exitValue() == 0 && size.length == 2) {
+                return new int[] {Integer.parseInt(size[0]), Integer.parseInt(size[1])};
+            }
+        } catch (IOException | NumberFormatException ex) {
+            // no stty, or no terminal to ask
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return new int[] {UNKNOWN, UNKNOWN};
+    }
+
+    // Flushes the last frame and gives System.out back to the terminal
+    public static synchronized void uninstall() {
+        if (installed == null) return;
+        System.out.flush();
+        System.setOut(installed.terminal);
+        installed = null;
+        installedStream = null;
+    }
+
+    // The terminal echoes what the user types at the prompt, so it is on the screen without being painted.
+    // out is the stream the prompt was printed to; input read for other streams doesn't touch the screen
+    public static synchronized void typed(PrintStream out, String input) {
+        if (installed != null && out == installedStream) installed.echo(input);
+    }
+
+    @Override
+    public synchronized void write(int b) {
+        if (Thread.currentThread() == owner) {
+            pending.write(b);
+        } else {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+    }
+
+    @Override
+    public synchronized void write(byte[] bytes, int offset, int length) {
+        if (Thread.currentThread() == owner) {
+            pending.write(bytes, offset, length);
+            return;
+        }
+        // not part of any frame; what the terminal shows is no longer known, so the next frame is written in full
+        terminal.write(bytes, offset, length);
+        terminal.flush();
+        shown = null;
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (pending.size() == 0) return;
+        take(new String(pending.toByteArray(), charset));
+        pending.reset();
+        repaint();
+    }
+
+    private synchronized void echo(String input) {
+        flush();
+        take(input + "\n");
+        if (shown != null) shown = fits(lines()) ? lines() : null;
+    }
+
+    // Adds printed text to the frame
+    private void take(String text) {
+        int i = 0;
+        while (i < text.length()) {
+            if (text.startsWith(Console.CLEAR_SCREEN, i)) {
+                frame.clear();
+                current = new StringBuilder();
+                currentColor = color;
+                i += Console.CLEAR_SCREEN.length();
+                continue;
+            }
+
+            char c = text.charAt(i);
+            if (c == '\033' && text.startsWith(ESC, i)) {
+                int end = i + ESC.length();
+                while (end < text.length() && !Character.isLetter(text.charAt(end))) end++;
+                String sequence = text.substring(i, Math.min(end + 1, text.length()));
+                // a color code that doesn't change the color (the grid repeats one for every cell) is dropped
+                if (!sequence.endsWith("m") || setColor(sequence)) current.append(sequence);
+                i += sequence.length();
+                continue;
+            }
+
+            if (c == '\n') {
+                frame.add(new Line(currentColor, current.toString()));
+                current = new StringBuilder();
+                currentColor = color;
+            } else if (c != '\r') {
+                current.append(c);
+            }
+            i++;
+        }
+    }
+
+    // A new foreground or background color replaces the old one, so the codes to get back to the current
+    // color stay short however many were printed. False if the color is the same as before
+    private boolean setColor(String sequence) {
+        String before = color;
+        String code = sequence.substring(ESC.length(), sequence.length() - 1);
+        int number = -1;
+        try {
+            number = code.isEmpty() ? 0 : Integer.parseInt(code);
+        } catch (NumberFormatException ex) {
+            // several codes at once, e.g. bold and red
+        }
+
+        if (number == 0) {
+            foreground = "";
+            background = "";
+            attributes = "";
+        } else if ((number >= 30 && number <= 39) || (number >= 90 && number <= 97)) {
+            foreground = sequence;
+        } else if ((number >= 40 && number <= 49) || (number >= 100 && number <= 107)) {
+            background = sequence;
+        } else {
+            attributes += sequence;
+        }
+        color = attributes + foreground + background;
+        return !color.equals(before);
+    }
+
+    private List<Line> lines() {
+        List<Line> lines = new ArrayList<>(frame);
+        lines.add(new Line(currentColor, current.toString()));
+        return lines;
+    }
+
+    private void repaint() {
+        List<Line> lines = lines();
+        String full = fullRepaint(lines);
+        if (shown == null || !fits(lines)) {
+            terminal.print(full);
+            shown = fits(lines) ? lines : null;
+        } else {
+            // when most of the screen changed, clearing it and writing it out is shorter
+            String changes = changes(lines);
+            terminal.print(changes.length() < full.length() ? changes : full);
+            shown = lines;
+        }
+        terminalColor = color;
+        terminal.flush();
+    }
+
+    // Whether every line of the frame takes exactly one row of the terminal
+    private boolean fits(List<Line> lines) {
+        if (width == UNKNOWN || height == UNKNOWN || lines.size() > height) return false;
+        for (Line line : lines) {
+            if (line.width() > width) return false;
+        }
+        return true;
+    }
+
+    private String fullRepaint(List<Line> lines) {
+        StringBuilder out = new StringBuilder(Console.CLEAR_SCREEN).append(Colors.RESET).append(lines.get(0).color);
+        for (int row = 0; row < lines.size(); row++) {
+            if (row > 0) out.append(NEXT_LINE);
+            out.append(lines.get(row).text);
+        }
+        return out.toString();
+    }
+
+    // Cursor moves and the lines that are different from what the terminal shows
+    private String changes(List<Line> lines) {
+        StringBuilder out = new StringBuilder();
+        String painted = terminalColor;
+        // the cursor is where the last repaint (or the user's typing) left it, at the end of the last line
+        int cursorRow = shown.size() - 1;
+        boolean cursorAtEnd = true;
+        int last = lines.size() - 1;
+
+        for (int row = 0; row < last; row++) {
+            Line before = row < shown.size() ? shown.get(row) : null;
+            if (lines.get(row).equals(before)) continue;
+
+            paint(out, row, cursorRow, cursorAtEnd, before, lines.get(row), painted);
+            cursorRow = row;
+            cursorAtEnd = true;
+            // the color at the end of a line is the one the next line starts in
+            painted = lines.get(row + 1).color;
+        }
+        if (shown.size() > lines.size()) {
+            out.append(moveTo(lines.size(), 0)).append(ERASE_BELOW);
+            cursorRow = lines.size();
+            cursorAtEnd = false;
+        }
+
+        // the cursor line goes last, so the cursor ends up where the text does
+        Line cursorLine = lines.get(last);
+        Line before = last < shown.size() ? shown.get(last) : null;
+        if (!cursorLine.equals(before) || cursorLine.text.indexOf('\t') >= 0) {
+            if (!cursorLine.equals(before) || cursorRow != last || !cursorAtEnd) {
+                paint(out, last, cursorRow, cursorAtEnd, before, cursorLine, painted);
+            }
+        } else if (cursorRow != last || !cursorAtEnd) {
+            out.append(moveTo(last, cursorLine.width()));
+            if (!painted.equals(color)) out.append(Colors.RESET).append(color);
+        }
+        return out.toString();
+    }
+
+    // Writes a line: only the new text when text was added where the cursor is, otherwise from the first
+    // character that changed (when both lines are plain text) to the end
+    private void paint(StringBuilder out, int row, int cursorRow, boolean cursorAtEnd, Line before, Line line, String painted) {
+        if (before != null && row == cursorRow && cursorAtEnd && before.color.equals(line.color) && line.text.startsWith(before.text)) {
+            out.append(line.text, before.text.length(), line.text.length());
+            return;
+        }
+
+        int from = 0;
+        if (before != null && before.color.equals(line.color) && before.isPlain() && line.isPlain()) {
+            int length = Math.min(before.text.length(), line.text.length());
+            while (from < length && before.text.charAt(from) == line.text.charAt(from)) from++;
+        }
+
+        out.append(row == cursorRow + 1 && from == 0 ? NEXT_LINE : moveTo(row, from));
+        if (!painted.equals(line.color)) out.append(Colors.RESET).append(line.color);
+        out.append(line.text, from, line.text.length());
+        if (before != null) out.append(ERASE_TO_END_OF_LINE);
+    }
+
+    // rows and columns count from 0 here and from 1 on the terminal
+    private static String moveTo(int row, int column) {
+        return ESC + (row + 1) + ";" + (column + 1) + "H";
+    }
+
+    // A line of the frame, with the color it starts in
+    private static final class Line {
+        private final String color;
+        private final String text;
+
+        Line(String color, String text) {
+            this.color = color;
+            this.text = text;
+        }
+
+        // no escape codes or tabs, so every character is one column
+        boolean isPlain() {
+            return text.indexOf('\033') < 0 && text.indexOf('\t') < 0;
+        }
+
+        // columns taken up on the terminal, not counting escape codes, with a tab going to the next tab stop
+        int width() {
+            int width = 0;
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) == '\033') {
+                    while (i < text.length() && !Character.isLetter(text.charAt(i))) i++;
+                } else if (text.charAt(i) == '\t') {
+                    width += TAB_WIDTH - width % TAB_WIDTH;
+                } else {
+                    width++;
+                }
+            }
+            return width;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Line && ((Line) other).color.equals(color) && ((Line) other).text.equals(text);
+        }
+
+        @Override
+        public int hashCode() {
+            return color.hashCode() * 31 + text.hashCode();
+        }
+    }
+}
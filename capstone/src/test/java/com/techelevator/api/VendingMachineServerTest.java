@@ -0,0 +1,190 @@
+package com.techelevator.api;
+
+import com.techelevator.application.VendingMachine;
+import com.techelevator.models.Catalog;
+import com.techelevator.models.TimerWheel;
+import com.techelevator.models.products.Product;
+import com.techelevator.ui.UserInput;
+import com.techelevator.ui.UserOutput;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+public class VendingMachineServerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private Product crisps;
+    private VendingMachine machine;
+    private VendingMachineServer server;
+
+    @Before
+    public void setup() throws Exception {
+        crisps = new Product("A1", "Potato Crisps", 305, "Chip");
+        Catalog catalog = new Catalog(List.of(crisps, new Product("B1", "Moonpie", 180, "Candy")));
+        PrintStream out = new PrintStream(new ByteArrayOutputStream());
+        machine = new VendingMachine(catalog, folder.getRoot().getPath(),
+                new UserInput(new ByteArrayInputStream(new byte[0]), out), new UserOutput(out));
+        server = new VendingMachineServer(machine, 0);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        machine.close();
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+
+    private static String session(HttpResponse<String> opened) {
+        Matcher matcher = Pattern.compile("\"session\":\"([^\"]+)\"").matcher(opened.body());
+        assertTrue("Because opening a session returns its token", matcher.find());
+        return matcher.group(1);
+    }
+
+    @Test
+    public void inventory_should_list_every_product_with_its_stock() throws Exception {
+        //Act
+        HttpResponse<String> response = get("/inventory");
+
+        //Assert
+        assertEquals("Because listing the inventory always works", 200, response.statusCode());
+        assertEquals("Because every product is listed with its price and stock",
+                "{\"products\":[{\"id\":\"A1\",\"name\":\"Potato Crisps\",\"type\":\"Chip\",\"priceInCents\":305,\"quantity\":5},"
+                        + "{\"id\":\"B1\",\"name\":\"Moonpie\",\"type\":\"Candy\",\"priceInCents\":180,\"quantity\":5}]}",
+                response.body());
+    }
+
+    @Test
+    public void feed_purchase_and_finish_should_sell_through_the_machine() throws Exception {
+        //Arrange
+        String session = session(post("/sessions"));
+
+        //Act
+        HttpResponse<String> fed = post("/sessions/" + session + "/feed?amount=5");
+        HttpResponse<String> bought = post("/sessions/" + session + "/purchase/A1");
+        HttpResponse<String> finished = post("/sessions/" + session + "/finish");
+
+        //Assert
+        assertEquals("Because $5 was fed", "{\"balanceInCents\":500}", fed.body());
+        assertTrue("Because $1.95 is left after the crisps", bought.body().startsWith("{\"balanceInCents\":195,\"product\":{\"id\":\"A1\""));
+        assertEquals("Because finishing dispenses the change", 200, finished.statusCode());
+        assertTrue("Because the change is listed by denomination", finished.body().startsWith("{\"change\":[\"1 x $1"));
+        assertEquals("Because the sale went through the machine", 4, machine.getInventory().getQuantity(crisps));
+        assertEquals("Because the sale is in the sales counters", 1, machine.getSalesCounters().getUnitsSold("A1"));
+        assertEquals("Because a finished session is gone", 404, get("/sessions/" + session).statusCode());
+        assertEquals("Because no sessions are left open", 0, server.getOpenSessions());
+    }
+
+    @Test
+    public void errors_should_come_back_as_status_codes() throws Exception {
+        //Arrange
+        String session = session(post("/sessions"));
+
+        //Act + Assert
+        assertEquals("Because ten isn't a whole dollar amount", 400, post("/sessions/" + session + "/feed?amount=ten").statusCode());
+        assertEquals("Because nothing was fed for the crisps", 402, post("/sessions/" + session + "/purchase/A1").statusCode());
+        assertEquals("Because there is no product Z9", 404, post("/sessions/" + session + "/purchase/Z9").statusCode());
+        assertEquals("Because there is no such session", 404, post("/sessions/nobody/feed?amount=5").statusCode());
+        assertEquals("Because the inventory can only be read", 405, post("/inventory").statusCode());
+    }
+
+    @Test
+    public void report_should_count_sales_made_over_http() throws Exception {
+        //Arrange
+        String session = session(post("/sessions"));
+        post("/sessions/" + session + "/feed?amount=5");
+        post("/sessions/" + session + "/purchase/B1");
+
+        //Act
+        HttpResponse<String> response = get("/report");
+
+        //Assert
+        assertTrue("Because one Moonpie was sold", response.body().contains("\"id\":\"B1\",\"name\":\"Moonpie\",\"type\":\"Candy\",\"priceInCents\":180,\"unitsSold\":1"));
+        assertTrue("Because the total is the Moonpie's price", response.body().contains("\"totalSalesInCents\":180"));
+        assertTrue("Because the text report comes along", response.body().contains("Moonpie|1"));
+    }
+
+    @Test
+    public void an_idle_session_should_be_finished_by_the_server() throws Exception {
+        //Arrange - a wheel that only turns when the test says so, and sessions idle after one tick
+        server.stop(0);
+        TimerWheel wheel = new TimerWheel(8, 1);
+        server = new VendingMachineServer(machine, 0, wheel, 1, 10);
+        server.start();
+        int fives = machine.getCashCassette().getCount(4);
+        String session = session(post("/sessions"));
+        post("/sessions/" + session + "/feed?amount=5");
+        Thread.sleep(5);
+
+        //Act
+        wheel.tick();
+
+        //Assert
+        assertEquals("Because the idle session was finished", 0, server.getOpenSessions());
+        assertEquals("Because an expired session is gone", 404, get("/sessions/" + session).statusCode());
+        assertEquals("Because its $5 was dispensed as change, not left in the machine", fives, machine.getCashCassette().getCount(4));
+    }
+
+    @Test
+    public void opening_a_session_past_the_cap_should_answer_503() throws Exception {
+        //Arrange
+        server.stop(0);
+        server = new VendingMachineServer(machine, 0, new TimerWheel(8, 1000), 60_000, 1);
+        server.start();
+        String first = session(post("/sessions"));
+
+        //Act
+        HttpResponse<String> second = post("/sessions");
+        post("/sessions/" + first + "/finish");
+        HttpResponse<String> third = post("/sessions");
+
+        //Assert
+        assertEquals("Because only one session may be open", 503, second.statusCode());
+        assertEquals("Because the client is told when to try again", "60", second.headers().firstValue("Retry-After").orElse(null));
+        assertEquals("Because finishing the first session freed its place", 201, third.statusCode());
+    }
+
+    @Test
+    public void stop_should_finish_the_sessions_still_open() throws Exception {
+        //Arrange
+        int fives = machine.getCashCassette().getCount(4);
+        String session = session(post("/sessions"));
+        post("/sessions/" + session + "/feed?amount=5");
+
+        //Act
+        server.stop(0);
+
+        //Assert
+        assertEquals("Because no session outlives the server", 0, server.getOpenSessions());
+        assertEquals("Because its $5 was dispensed as change before the machine saves its state", fives, machine.getCashCassette().getCount(4));
+    }
+}
@@ -0,0 +1,56 @@
+package com.techelevator.application;
+
+import com.techelevator.models.Catalog;
+import com.techelevator.models.products.Product;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FleetTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Fleet fleet;
+
+    @Before
+    public void setup() {
+        Catalog catalog = new Catalog(List.of(
+                new Product("A1", "Potato Crisps", 305, "Chip"),
+                new Product("B1", "Moonpie", 180, "Candy")));
+        fleet = new Fleet(catalog, folder.getRoot());
+    }
+
+    @Test
+    public void purchase_on_one_machine_should_not_change_another_machines_inventory() throws Throwable {
+        //Arrange
+        VendingMachine first = fleet.addMachine("machine-1");
+        VendingMachine second = fleet.addMachine("machine-2");
+        first.feedMoney("5");
+
+        //Act
+        first.purchase("a1");
+
+        //Assert
+        Product product = fleet.getCatalog().findProductByID("A1");
+        assertEquals("Because the first machine sold one unit", 4, first.getInventory().getQuantity(product));
+        assertEquals("Because the second machine has its own inventory", 5, second.getInventory().getQuantity(product));
+        assertEquals("Because the second machine has its own balance", 0L, second.getCurrencyController().getMoneyInMachine());
+    }
+
+    @Test
+    public void addMachine_should_return_existing_machine_for_same_id() {
+        //Act
+        VendingMachine first = fleet.addMachine("machine-1");
+        VendingMachine again = fleet.addMachine("machine-1");
+
+        //Assert
+        assertSame("Because a machine ID should only ever map to one machine", first, again);
+        assertEquals("Because only one machine was added", 1, fleet.size());
+    }
+}
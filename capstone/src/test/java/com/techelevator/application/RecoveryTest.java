@@ -0,0 +1,163 @@
+package com.techelevator.application;
+
+import com.techelevator.models.Catalog;
+import com.techelevator.models.Session;
+import com.techelevator.models.products.Product;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RecoveryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Catalog catalog;
+    private Product crisps;
+
+    @Before
+    public void setup() {
+        crisps = new Product("A1", "Potato Crisps", 305, "Chip");
+        catalog = new Catalog(List.of(crisps, new Product("B1", "Moonpie", 180, "Candy")));
+    }
+
+    @Test
+    public void restart_should_replay_the_journal_after_a_crash() throws Throwable {
+        //Arrange - a customer is mid-transaction when the machine stops without saving anything
+        String directory = folder.getRoot().getPath();
+        VendingMachine crashed = new VendingMachine(catalog, directory);
+        crashed.feedMoney("5");
+        crashed.purchase("A1");
+
+        //Act
+        VendingMachine restarted = new VendingMachine(catalog, directory);
+
+        //Assert
+        assertEquals("Because the customer still has $1.95 left", 195, restarted.getCurrencyController().getMoneyInMachine());
+        assertEquals("Because one unit was sold before the crash", 4, restarted.getInventory().getQuantity(crisps));
+        assertEquals("Because the sale still counts", 1, restarted.getSalesCounters().getUnitsSold("A1"));
+    }
+
+    @Test
+    public void restart_should_not_replay_records_a_checkpoint_covers() throws Throwable {
+        //Arrange
+        String directory = folder.getRoot().getPath();
+        VendingMachine machine = new VendingMachine(catalog, directory);
+        machine.feedMoney("5");
+        machine.purchase("A1");
+        machine.finish();
+        machine.checkpoint();
+        machine.feedMoney("1");
+        machine.close();
+
+        //Act
+        VendingMachine restarted = new VendingMachine(catalog, directory);
+
+        //Assert
+        assertEquals("Because the purchase is in the checkpoint and must only count once", 4, restarted.getInventory().getQuantity(crisps));
+        assertEquals("Because the sale is in the checkpoint and must only count once", 1, restarted.getSalesCounters().getUnitsSold("A1"));
+        assertEquals("Because the $1 fed after the checkpoint is replayed", 100, restarted.getCurrencyController().getMoneyInMachine());
+    }
+
+    @Test
+    public void restart_should_refund_money_left_in_a_remote_session() throws Throwable {
+        //Arrange - a remote customer fed money and the machine stopped before they finished
+        String directory = folder.getRoot().getPath();
+        VendingMachine crashed = new VendingMachine(catalog, directory);
+        Session remote = crashed.openSession();
+        crashed.feedMoney(remote, "5");
+        crashed.purchase(remote, "B1");
+
+        //Act
+        VendingMachine restarted = new VendingMachine(catalog, directory);
+
+        //Assert
+        assertTrue(restarted.getCashBoxLedger().awaitSettled(5000));
+        assertEquals("Because the $3.20 left in the remote session is owed to the customer", 320, restarted.getCashBoxLedger().getTotalOwed());
+        assertEquals("Because the remote customer's money isn't the terminal customer's", 0, restarted.getCurrencyController().getMoneyInMachine());
+    }
+
+    @Test
+    public void restart_should_refund_remote_balances_a_checkpoint_covers() throws Throwable {
+        //Arrange - the feed is only in the checkpoint, its journal record is deleted with it
+        String directory = folder.getRoot().getPath();
+        VendingMachine machine = new VendingMachine(catalog, directory);
+        Session remote = machine.openSession();
+        machine.feedMoney(remote, "2");
+        machine.checkpoint();
+        machine.close();
+
+        //Act
+        VendingMachine restarted = new VendingMachine(catalog, directory);
+        VendingMachine restartedAgain = new VendingMachine(catalog, directory);
+
+        //Assert
+        assertTrue(restarted.getCashBoxLedger().awaitSettled(5000));
+        assertEquals("Because the $2 in the checkpointed session is owed to the customer", 200, restarted.getCashBoxLedger().getTotalOwed());
+        assertTrue(restartedAgain.getCashBoxLedger().awaitSettled(5000));
+        assertEquals("Because the refund is only made once", 0, restartedAgain.getCashBoxLedger().getTotalOwed());
+    }
+
+    @Test
+    public void restart_should_write_owed_refunds_to_a_file_that_outlives_the_checkpoint() throws Throwable {
+        //Arrange
+        String directory = folder.getRoot().getPath();
+        VendingMachine crashed = new VendingMachine(catalog, directory);
+        Session remote = crashed.openSession();
+        crashed.feedMoney(remote, "5");
+
+        //Act
+        new VendingMachine(catalog, directory).close();
+        new VendingMachine(catalog, directory).close();
+
+        //Assert
+        List<String> owed = Files.readAllLines(new File(directory, "owed_refunds.txt").toPath());
+        assertEquals("Because the refund is recorded once, and kept after the next checkpoint", 1, owed.size());
+        assertTrue("Because the line names the session and the cents owed", owed.get(0).endsWith("|" + remote.getId() + "|500"));
+    }
+
+    @Test
+    public void checkpoint_should_save_a_unit_on_hold_as_in_stock() throws Throwable {
+        //Arrange - a remote customer holds the crisps when the machine stops
+        String directory = folder.getRoot().getPath();
+        VendingMachine machine = new VendingMachine(catalog, directory);
+        Session remote = machine.openSession();
+        machine.feedMoney(remote, "5");
+        machine.hold(remote, "A1");
+
+        //Act
+        machine.checkpoint();
+        machine.close();
+        VendingMachine restarted = new VendingMachine(catalog, directory);
+
+        //Assert
+        assertEquals("Because nobody can commit the hold after a restart", 5, restarted.getInventory().getQuantity(crisps));
+        assertTrue(restarted.getCashBoxLedger().awaitSettled(5000));
+        assertEquals("Because the held price is refunded with the rest of the balance", 500, restarted.getCashBoxLedger().getTotalOwed());
+    }
+
+    @Test
+    public void upgrading_should_keep_the_all_time_totals_of_the_old_sales_report() throws Throwable {
+        //Arrange - a machine from before the counters were saved has only its report
+        String directory = folder.getRoot().getPath();
+        Files.write(new File(directory, "TotalSalesReport.txt").toPath(),
+                List.of("Potato Crisps|7", "Moonpie|2", "", "", "**TOTAL SALES** $24.95"));
+
+        //Act
+        VendingMachine machine = new VendingMachine(catalog, directory);
+        machine.checkpoint();
+        machine.close();
+
+        //Assert
+        assertEquals("Because the crisps sold before the upgrade still count", 7, machine.getSalesCounters().getUnitsSold("A1"));
+        List<String> report = Files.readAllLines(new File(directory, "TotalSalesReport.txt").toPath());
+        assertTrue("Because the checkpoint must not write the totals over", report.contains("**TOTAL SALES** $24.95"));
+    }
+}
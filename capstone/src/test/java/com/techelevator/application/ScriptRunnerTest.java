@@ -0,0 +1,79 @@
+package com.techelevator.application;
+
+import com.techelevator.models.Catalog;
+import com.techelevator.models.products.Product;
+import com.techelevator.ui.UserInput;
+import com.techelevator.ui.UserOutput;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ScriptRunnerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Product crisps;
+    private VendingMachine machine;
+    private ByteArrayOutputStream screen;
+
+    @Before
+    public void setup() {
+        crisps = new Product("A1", "Potato Crisps", 305, "Chip");
+        Catalog catalog = new Catalog(List.of(crisps, new Product("B1", "Moonpie", 180, "Candy")));
+        screen = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(screen);
+        machine = new VendingMachine(catalog, folder.getRoot().getPath(),
+                new UserInput(new ByteArrayInputStream(new byte[0]), out), new UserOutput(out));
+    }
+
+    private ScriptRunner run(String script) throws Exception {
+        ScriptRunner runner = new ScriptRunner(machine);
+        runner.run(new BufferedReader(new StringReader(script)));
+        return runner;
+    }
+
+    @Test
+    public void run_should_feed_select_and_finish() throws Exception {
+        //Act
+        ScriptRunner runner = run("# a regular\nfeed 5\nselect A1\n\nfinish\n");
+
+        //Assert
+        assertEquals("Because the comment and the blank line are not commands", 3, runner.getCommands());
+        assertEquals("Because one product was selected", 1, runner.getPurchases());
+        assertEquals("Because one transaction was finished", 1, runner.getTransactions());
+        assertEquals("Because the purchase took a unit", 4, machine.getInventory().getQuantity(crisps));
+        assertEquals("Because the change was dispensed", 0, machine.getCurrencyController().getMoneyInMachine());
+    }
+
+    @Test
+    public void run_should_count_failures_and_carry_on() throws Exception {
+        //Act
+        ScriptRunner runner = run("feed ten\nselect A1\nfeed 5\nselect Z9\nselect B1\ndance\n");
+
+        //Assert
+        assertEquals("Because the bad amount, the unpaid and unknown products and the unknown command failed", 4, runner.getFailureCount());
+        assertEquals("Because the Moonpie was still bought", 1, runner.getPurchases());
+        assertTrue("Because failures name the line", runner.getFailures().get(0).startsWith("line 1 (feed ten)"));
+        assertEquals("Because $5.00 - $1.80 is left", 320, machine.getCurrencyController().getMoneyInMachine());
+    }
+
+    @Test
+    public void run_should_not_draw_any_screens() throws Exception {
+        //Act
+        run("feed 5\nselect A1\nfinish\n");
+
+        //Assert
+        assertEquals("Because a script drives the machine without its screens", 0, screen.size());
+    }
+}
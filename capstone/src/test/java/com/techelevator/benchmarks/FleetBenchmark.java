@@ -0,0 +1,109 @@
+package com.techelevator.benchmarks;
+
+import com.techelevator.application.Fleet;
+import com.techelevator.application.VendingMachine;
+import com.techelevator.models.Catalog;
+import com.techelevator.models.exceptions.ChangeUnavailableException;
+import com.techelevator.models.exceptions.InsufficientFundsException;
+import com.techelevator.models.exceptions.InvalidIDException;
+import com.techelevator.models.exceptions.SoldOutException;
+import com.techelevator.models.products.Product;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+// Measures memory per machine and purchases per second as the number of machines in a Fleet grows.
+// Run from the capstone folder after mvn test-compile:
+//   java -cp target/classes:target/test-classes com.techelevator.benchmarks.FleetBenchmark 10 100 1000
+public class FleetBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int[] machineCounts = args.length == 0 ? new int[]{10, 100, 1000} : new int[args.length];
+        for (int i = 0; i < args.length; i++) machineCounts[i] = Integer.parseInt(args[i]);
+
+        Catalog catalog = Catalog.load(new File("data/vendingmachine.csv"));
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        // warm up class loading and the JIT before measuring
+        Path warmUp = Files.createTempDirectory("fleet-benchmark");
+        try {
+            run(catalog, warmUp, 10, threads, false);
+        } finally {
+            deleteDirectory(warmUp);
+        }
+
+        System.out.println("machines | bytes/machine | purchases | purchases/sec");
+        for (int machineCount : machineCounts) {
+            Path root = Files.createTempDirectory("fleet-benchmark");
+            try {
+                run(catalog, root, machineCount, threads, true);
+            } finally {
+                deleteDirectory(root);
+            }
+        }
+    }
+
+    private static void run(Catalog catalog, Path root, int machineCount, int threads, boolean print) throws Exception {
+        long heapBefore = usedHeap();
+        Fleet fleet = new Fleet(catalog, root.toFile());
+        for (int i = 0; i < machineCount; i++) {
+            fleet.addMachine("machine-" + i);
+        }
+        long bytesPerMachine = (usedHeap() - heapBefore) / machineCount;
+
+        // every machine sells one of each product, machines are spread across all cores. Money is fed $5 at a
+        // time, which the default float can always make change for
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (VendingMachine machine : fleet.getMachines()) {
+            results.add(executor.submit(() -> {
+                int purchases = 0;
+                for (Product product : catalog.getProducts()) {
+                    while (machine.getCurrencyController().getMoneyInMachine() < product.getPriceInCents()) {
+                        machine.feedMoney("5");
+                    }
+                    try {
+                        machine.purchase(product.getId());
+                        purchases++;
+                    } catch (SoldOutException | ChangeUnavailableException ex) {
+                        // sold out by an earlier run or no change left, move on to the next product
+                    } catch (InvalidIDException | InsufficientFundsException ex) {
+                        throw new IllegalStateException("Could not buy " + product.getId(), ex);
+                    }
+                }
+                machine.finish();
+                return purchases;
+            }));
+        }
+
+        int purchases = 0;
+        for (Future<Integer> result : results) purchases += result.get();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        executor.shutdown();
+        if (purchases == 0) throw new IllegalStateException("No purchases went through, there is nothing to measure");
+
+        if (print) System.out.printf("%8d | %13d | %9d | %13.0f%n", machineCount, bytesPerMachine, purchases, purchases / seconds);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void deleteDirectory(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
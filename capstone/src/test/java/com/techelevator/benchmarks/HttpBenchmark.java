@@ -0,0 +1,162 @@
+package com.techelevator.benchmarks;
+
+import com.techelevator.api.VendingMachineServer;
+import com.techelevator.application.VendingMachine;
+import com.techelevator.models.Catalog;
+import com.techelevator.models.products.Product;
+import com.techelevator.ui.UserInput;
+import com.techelevator.ui.UserOutput;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Request latency of the HTTP API as the number of concurrent keep-alive clients grows. Every client opens a
+// session, feeds money, then mostly reads the inventory with a purchase every tenth request, and finishes.
+// All clients share one HttpClient, so each keeps its connection between requests.
+// Run from the capstone folder after mvn test-compile:
+//   java -cp target/classes:target/test-classes com.techelevator.benchmarks.HttpBenchmark 10 100 1000
+// A second argument list after -r sets the requests per client (default 50), e.g. ... 100 1000 -r 20
+public class HttpBenchmark {
+
+    private static final Pattern SESSION = Pattern.compile("\"session\":\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        List<Integer> clientCounts = new ArrayList<>();
+        int requestsPerClient = 50;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-r")) requestsPerClient = Integer.parseInt(args[++i]);
+            else clientCounts.add(Integer.parseInt(args[i]));
+        }
+        if (clientCounts.isEmpty()) clientCounts = List.of(10, 100, 1000);
+
+        Catalog catalog = Catalog.load(new File("data/vendingmachine.csv"));
+
+        // warm up class loading and the JIT before measuring
+        run(catalog, 10, requestsPerClient, false);
+
+        System.out.println("clients | requests | requests/sec | p50 ms | p99 ms | max ms | errors");
+        for (int clients : clientCounts) run(catalog, clients, requestsPerClient, true);
+    }
+
+    private static void run(Catalog catalog, int clients, int requestsPerClient, boolean print) throws Exception {
+        Path directory = Files.createTempDirectory("http-benchmark");
+        PrintStream nowhere = new PrintStream(OutputStream.nullOutputStream());
+        VendingMachine machine = new VendingMachine(catalog, directory.toString(),
+                new UserInput(InputStream.nullInputStream(), nowhere), new UserOutput(nowhere));
+        VendingMachineServer server = new VendingMachineServer(machine, 0);
+        server.start();
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String base = "http://localhost:" + server.getPort();
+
+        try {
+            long[][] latencies = new long[clients][];
+            int[] errors = new int[clients];
+            CountDownLatch ready = new CountDownLatch(clients);
+            CountDownLatch go = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                int index = i;
+                Thread thread = new Thread(() -> {
+                    ready.countDown();
+                    try {
+                        go.await();
+                        latencies[index] = customer(client, base, catalog, requestsPerClient, index, errors);
+                    } catch (Exception ex) {
+                        latencies[index] = new long[0];
+                        errors[index]++;
+                    }
+                }, "client-" + i);
+                thread.start();
+                threads.add(thread);
+            }
+
+            ready.await();
+            long start = System.nanoTime();
+            go.countDown();
+            for (Thread thread : threads) thread.join();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+            int errorCount = Arrays.stream(errors).sum();
+            if (print) System.out.printf("%7d | %8d | %12.0f | %6.2f | %6.2f | %6.2f | %6d%n", clients, all.length, all.length / seconds,
+                    millis(percentile(all, 50)), millis(percentile(all, 99)), millis(all[all.length - 1]), errorCount);
+        } finally {
+            server.stop(0);
+            machine.close();
+            deleteDirectory(directory);
+        }
+    }
+
+    // One customer's visit, returns the latency of every request in nanoseconds
+    private static long[] customer(HttpClient client, String base, Catalog catalog, int requests, int index, int[] errors) throws Exception {
+        long[] latencies = new long[requests + 3];
+        int count = 0;
+
+        long start = System.nanoTime();
+        HttpResponse<String> opened = send(client, post(base + "/sessions"));
+        latencies[count++] = System.nanoTime() - start;
+        Matcher matcher = SESSION.matcher(opened.body());
+        if (!matcher.find()) throw new IllegalStateException("No session in " + opened.body());
+        String session = base + "/sessions/" + matcher.group(1);
+
+        start = System.nanoTime();
+        send(client, post(session + "/feed?amount=20"));
+        latencies[count++] = System.nanoTime() - start;
+
+        List<Product> products = catalog.getProducts();
+        for (int i = 0; i < requests; i++) {
+            // sold out and out of money answers are still answers; only server errors count
+            HttpRequest request = i % 10 == 9
+                    ? post(session + "/purchase/" + products.get((index + i) % products.size()).getId())
+                    : HttpRequest.newBuilder(URI.create(base + "/inventory")).GET().build();
+            start = System.nanoTime();
+            HttpResponse<String> response = send(client, request);
+            latencies[count++] = System.nanoTime() - start;
+            if (response.statusCode() >= 500) errors[index]++;
+        }
+
+        start = System.nanoTime();
+        send(client, post(session + "/finish"));
+        latencies[count++] = System.nanoTime() - start;
+        return latencies;
+    }
+
+    private static HttpRequest post(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).POST(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private static HttpResponse<String> send(HttpClient client, HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static long percentile(long[] sorted, int percent) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * percent / 100.0) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static void deleteDirectory(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
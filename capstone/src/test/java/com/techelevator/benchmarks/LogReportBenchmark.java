@@ -0,0 +1,112 @@
+package com.techelevator.benchmarks;
+
+import com.techelevator.models.Catalog;
+import com.techelevator.models.Money;
+import com.techelevator.models.file_io.LogReport;
+import com.techelevator.models.file_io.LogReportBuilder;
+import com.techelevator.models.products.Product;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+// Builds the sales report from a synthetic archive of daily logs, on one thread and on every core.
+// Every day but the last is a compressed rolled segment, like LogRotator leaves them.
+// Run from the capstone folder after mvn test-compile (arguments: machines, days, purchases per day):
+//   java -cp target/classes:target/test-classes com.techelevator.benchmarks.LogReportBenchmark 1000 365 20
+public class LogReportBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int machines = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 365;
+        int purchasesPerDay = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        List<Product> products = Catalog.load(new File("data/vendingmachine.csv")).getProducts();
+        Path root = Files.createTempDirectory("log-report-benchmark");
+        try {
+            long start = System.nanoTime();
+            List<File> directories = generate(root, products, machines, days, purchasesPerDay);
+            System.out.printf("generated %d machines x %d days in %.1f s%n", machines, days, (System.nanoTime() - start) / 1e9);
+
+            ForkJoinPool single = new ForkJoinPool(1);
+            // the first runs warm up the JIT and the page cache
+            run("1 thread (warm up)", new LogReportBuilder(single), directories);
+            run("1 thread", new LogReportBuilder(single), directories);
+            run("common pool (" + ForkJoinPool.getCommonPoolParallelism() + ")", new LogReportBuilder(), directories);
+            single.shutdown();
+        } finally {
+            try (Stream<Path> paths = Files.walk(root)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    private static void run(String label, LogReportBuilder builder, List<File> directories) throws IOException {
+        long start = System.nanoTime();
+        LogReport report = builder.build(directories, null, null);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-20s %d files, %d lines in %.2f s (%.0f lines/sec), sales %s%n", label,
+                report.getFiles(), report.getLines(), seconds, report.getLines() / seconds, Money.format(report.getSales().getRevenue()));
+    }
+
+    private static List<File> generate(Path root, List<Product> products, int machines, int days, int purchasesPerDay) {
+        List<File> directories = new ArrayList<>();
+        for (int i = 0; i < machines; i++) {
+            File directory = root.resolve("machine-" + i).toFile();
+            directory.mkdirs();
+            directories.add(directory);
+        }
+
+        LocalDate first = LocalDate.now().minusDays(days - 1);
+        IntStream.range(0, machines).parallel().forEach(machine -> {
+            Random random = new Random(machine);
+            for (int day = 0; day < days; day++) {
+                LocalDate date = first.plusDays(day);
+                boolean today = day == days - 1;
+                File file = new File(directories.get(machine), date + (today ? "_log.txt" : "_log.1.txt.gz"));
+                try {
+                    write(file, !today, day(date, products, purchasesPerDay, random));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        });
+        return directories;
+    }
+
+    // A day of customers who each feed $5 and buy one product
+    private static String day(LocalDate date, List<Product> products, int purchases, Random random) {
+        StringBuilder log = new StringBuilder();
+        for (int i = 0; i < purchases; i++) {
+            Product product = products.get(random.nextInt(products.size()));
+            String time = String.format("%s %02d:%02d:%02d", date, 8 + i * 12 / purchases, i % 60, random.nextInt(60));
+            long fed = 500;
+            long balance = fed - product.getPriceInCents();
+            log.append(time).append(" FEED MONEY: ").append(Money.format(fed)).append(' ').append(Money.format(fed)).append('\n');
+            log.append(time).append(' ').append(product.getName()).append(' ').append(product.getId()).append(": ")
+                    .append(Money.format(product.getPriceInCents())).append(' ').append(Money.format(balance)).append('\n');
+            log.append(time).append(" DISPENSE CHANGE: ").append(Money.format(balance)).append(" $0.00\n");
+        }
+        return log.toString();
+    }
+
+    private static void write(File file, boolean compressed, String text) throws IOException {
+        try (OutputStream out = compressed ? new GZIPOutputStream(new FileOutputStream(file)) : new FileOutputStream(file)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.techelevator.benchmarks;
+
+import com.techelevator.application.VendingMachine;
+import com.techelevator.models.Catalog;
+import com.techelevator.ui.UserInput;
+import com.techelevator.ui.UserOutput;
+import com.techelevator.view.Screen;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Bytes sent to the terminal per interaction, with full clear screen redraws and with the differential Screen,
+// for a first time customer who goes through every screen and for a regular who stays on the purchase screens.
+// Run from the capstone folder after mvn test-compile (takes a few seconds, the dispense animation sleeps):
+//   java -cp target/classes:target/test-classes com.techelevator.benchmarks.ScreenBenchmark
+public class ScreenBenchmark {
+
+    private static final List<String> FIRST_VISIT = List.of(
+            "",                                 // welcome screen
+            "1", "",                            // look at the products
+            "2", "1", "5", "y", "1", "n",      // feed $5 and then $1
+            "2", "A1", "y", "B2", "n",          // buy two products
+            "3", "",                            // finish and take the change
+            "3");                               // leave the main menu
+
+    private static final List<String> REGULAR = List.of(
+            "",                                 // welcome screen
+            "2", "1", "1", "y", "1", "y", "1", "y", "1", "y", "1", "n",    // feed $1 five times
+            "2", "A1", "y", "A2", "n",          // buy two products
+            "3", "",                            // finish and take the change
+            "3");                               // leave the main menu
+
+    public static void main(String[] args) throws Exception {
+        Catalog catalog = Catalog.load(new File("data/vendingmachine.csv"));
+        PrintStream console = System.out;
+
+        List<String> results = new ArrayList<>();
+        results.add("customer    | full redraw bytes/interaction | differential bytes/interaction | saved");
+        results.add(compare("first visit", FIRST_VISIT, catalog));
+        results.add(compare("regular", REGULAR, catalog));
+
+        System.setOut(console);
+        results.forEach(System.out::println);
+    }
+
+    private static String compare(String name, List<String> customer, Catalog catalog) throws IOException {
+        CountingStream fullRedraw = new CountingStream();
+        System.setOut(new PrintStream(fullRedraw, true));
+        run(catalog, customer);
+
+        CountingStream differential = new CountingStream();
+        Screen.install(new PrintStream(differential, true), 50);
+        run(catalog, customer);
+        Screen.uninstall();
+
+        int interactions = customer.size();
+        return String.format("%-11s | %29d | %30d | %.0f%%", name, fullRedraw.count / interactions,
+                differential.count / interactions, 100.0 - 100.0 * differential.count / fullRedraw.count);
+    }
+
+    // The customer types into the machine and it draws on System.out, the counting stream or the Screen
+    private static void run(Catalog catalog, List<String> customer) throws IOException {
+        Path directory = Files.createTempDirectory("screen-benchmark");
+        byte[] typed = (String.join("\n", customer) + "\n").getBytes();
+        PrintStream out = System.out;
+        try {
+            new VendingMachine(catalog, directory.toString(),
+                    new UserInput(new ByteArrayInputStream(typed), out), new UserOutput(out)).run();
+        } finally {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    private static class CountingStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            count += length;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.techelevator.models;
+
+import com.techelevator.models.exceptions.ChangeUnavailableException;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CashCassetteTest {
+
+    // index of each denomination in CashCassette.DENOMINATIONS
+    private static final int QUARTER = 6;
+    private static final int DIME = 7;
+    private static final int NICKEL = 8;
+
+    @Test
+    public void dispense_should_use_largest_denominations_when_stocked() {
+        //Arrange
+        CashCassette cassette = new CashCassette(new int[]{0, 0, 1, 1, 1, 1, 4, 4, 4});
+
+        //Act
+        DispensePlan plan = cassette.dispense(3640);
+
+        //Assert
+        assertEquals("Because greedy change should be used when every coin is available", "\n1 x $20\n1 x $10\n1 x $5\n1 x $1\n1 x $0.25\n1 x $0.10\n1 x $0.05", plan.toString());
+        assertEquals("Because dispensed coins leave the cassette", 3, cassette.getCount(QUARTER));
+    }
+
+    @Test
+    public void dispense_should_find_change_when_greedy_runs_out_of_coins() {
+        //Arrange - greedy takes the quarter and then needs a nickel there isn't
+        CashCassette cassette = new CashCassette(new int[]{0, 0, 0, 0, 0, 0, 1, 3, 0});
+
+        //Act
+        DispensePlan plan = cassette.dispense(30);
+
+        //Assert
+        assertNotNull("Because 30 cents can be paid with three dimes", plan);
+        assertEquals("Because only dimes add up to 30 cents", 3, plan.getCount(DIME));
+        assertEquals("Because the quarter should stay in the cassette", 1, cassette.getCount(QUARTER));
+    }
+
+    @Test
+    public void dispense_should_take_nothing_when_change_cannot_be_made() {
+        //Arrange
+        CashCassette cassette = new CashCassette(new int[]{0, 0, 0, 0, 0, 0, 3, 0, 0});
+
+        //Act
+        DispensePlan plan = cassette.dispense(40);
+
+        //Assert
+        assertNull("Because 40 cents can't be made from quarters", plan);
+        assertEquals("Because a failed dispense must not take coins", 3, cassette.getCount(QUARTER));
+        assertFalse("Because the cassette can't make 40 cents", cassette.canMakeChange(40));
+    }
+
+    @Test
+    public void deposit_should_make_fed_bills_available_as_change() {
+        //Arrange
+        CashCassette cassette = new CashCassette(new int[9]);
+        assertFalse("Because an empty cassette can't make change", cassette.canMakeChange(500));
+
+        //Act
+        cassette.deposit(1500);
+
+        //Assert
+        assertTrue("Because the $5 bill fed can be given back", cassette.canMakeChange(500));
+        assertEquals("Because no nickels were fed", 0, cassette.getCount(NICKEL));
+    }
+
+    @Test
+    public void pay_should_not_promise_the_same_change_to_two_wallets() throws Exception {
+        //Arrange - one quarter, shared by two customers who each fed $1
+        CashCassette cassette = new CashCassette(new int[]{0, 0, 0, 0, 0, 0, 1, 0, 0});
+        CurrencyController first = new CurrencyController(cassette);
+        CurrencyController second = new CurrencyController(cassette);
+        first.addMoneyToMachine("1");
+        second.addMoneyToMachine("1");
+
+        //Act
+        first.pay(75);
+        boolean secondPaid = true;
+        try {
+            second.pay(75);
+        } catch (ChangeUnavailableException ex) {
+            secondPaid = false;
+        }
+
+        //Assert
+        assertFalse("Because the only quarter is reserved for the first customer's change", secondPaid);
+        assertEquals("Because the second customer keeps their dollar", 100, second.getMoneyInMachine());
+        assertEquals("Because the first customer gets the quarter", 1, first.dispenseChangePlan().getCount(QUARTER));
+        assertNotNull("Because the second customer's dollar bill was kept for them", second.dispenseChangePlan());
+    }
+}
@@ -0,0 +1,82 @@
+package com.techelevator.models;
+
+import com.techelevator.models.products.Product;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CatalogTest {
+
+    private Catalog catalog;
+
+    @Before
+    public void setup(){
+        catalog = new Catalog(List.of(
+                new Product("B1", "Moonpie", 180, "Candy"),
+                new Product("A1", "Potato Crisps", 305, "Chip"),
+                new Product("A2", "Stackers", 145, "Chip")));
+    }
+
+    @Test
+    public void constructor_Should_AssignDenseSlots_InIDOrder() {
+
+        //Act
+        Product first = catalog.getProduct(0);
+        Product last = catalog.getProduct(2);
+
+        //Assert
+        assertEquals("Because A1 sorts first it should be in slot 0", "A1", first.getId());
+        assertEquals("Because a product should know its own slot", 0, first.getSlot());
+        assertEquals("Because B1 sorts last it should be in slot 2", "B1", last.getId());
+        assertEquals("Because a product should know its own slot", 2, last.getSlot());
+    }
+
+    @Test
+    public void slotOf_ShouldReturn_Slot_ForEqualProductFromOutsideTheCatalog() {
+
+        //Arrange
+        Product product = new Product("A2", "Stackers", 145, "Chip");
+
+        //Act
+        int actual = catalog.slotOf(product);
+
+        //Assert
+        assertEquals("Because a product with the same ID should resolve to the catalog slot", 1, actual);
+    }
+
+    @Test
+    public void slotOf_ShouldReturn_MinusOne_ForUnknownProduct() {
+
+        //Arrange
+        Product product = new Product("Z9", "Mystery", 100, "Other");
+
+        //Act
+        int actual = catalog.slotOf(product);
+
+        //Assert
+        assertEquals("Because the product is not in the catalog", -1, actual);
+    }
+
+    @Test
+    public void getProductTypeAndQuantity_Should_CountProductsOfEachType() {
+
+        //Act
+        int actual = catalog.getProductTypeAndQuantity().get("Chip");
+
+        //Assert
+        assertEquals("Because there are two chips in the catalog", 2, actual);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_Should_Reject_DuplicateIDs() {
+
+        //Act
+        new Catalog(List.of(
+                new Product("A1", "Potato Crisps", 305, "Chip"),
+                new Product("a1", "Stackers", 145, "Chip")));
+    }
+}
@@ -1,6 +1,7 @@
 package com.techelevator.models;
 
 import com.techelevator.models.exceptions.AmountLessThanOneException;
+import com.techelevator.models.exceptions.ChangeUnavailableException;
 import com.techelevator.models.exceptions.InsufficientFundsException;
 import org.junit.After;
 import org.junit.Before;
@@ -8,7 +9,6 @@ import org.junit.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
-import java.math.BigDecimal;
 
 import static org.junit.Assert.*;
 
@@ -28,11 +28,11 @@ public class CurrencyControllerTest {
     public void addMoneyToMachine_ShouldAdd_DollarAmountTendered() throws AmountLessThanOneException {
 
         //Arrange
-        BigDecimal expected = new BigDecimal("10");
+        long expected = 1000;
         currencyController.addMoneyToMachine("10");
 
         //Act
-        BigDecimal actual = currencyController.getMoneyInMachine();
+        long actual = currencyController.getMoneyInMachine();
 
         //Assert
         assertEquals("Because a new machine should report 10 when 10 is added to it", expected, actual);
@@ -70,16 +70,16 @@ public class CurrencyControllerTest {
     }
 
     @Test
-    public void subtractMoney_Should_SubtractPriceFromMoneyInMachine() throws InsufficientFundsException, AmountLessThanOneException {
+    public void pay_Should_SubtractPriceFromMoneyInMachine() throws InsufficientFundsException, ChangeUnavailableException, AmountLessThanOneException {
 
         //Arrange
-        BigDecimal price = new BigDecimal(5);
-        BigDecimal expected = new BigDecimal("10");
+        long price = 500;
+        long expected = 1000;
         currencyController.addMoneyToMachine("15");
-        currencyController.subtractMoney(price);
+        currencyController.pay(price);
 
         //Act
-        BigDecimal actual = currencyController.getMoneyInMachine();
+        long actual = currencyController.getMoneyInMachine();
 
         //Assert
         assertEquals("Because currencyController should report 5.00 when 10.00 is added and 5 is subtracted", expected, actual);
@@ -87,13 +87,13 @@ public class CurrencyControllerTest {
     }
 
     @Test(expected = InsufficientFundsException.class)
-    public void subtractMoney_ShouldPrint_InsufficientFunds_OnZeroInMachine() throws InsufficientFundsException {
+    public void pay_ShouldThrow_InsufficientFunds_OnZeroInMachine() throws InsufficientFundsException, ChangeUnavailableException {
         //Arrange
         String expected = "You have insufficient funds for this purchaseMenu";
-        BigDecimal price = new BigDecimal(10);
+        long price = 1000;
 
         //Act
-        currencyController.subtractMoney(price);
+        currencyController.pay(price);
         String actual = outputStreamCaptor.toString().trim();
 
         //Assert
@@ -102,14 +102,14 @@ public class CurrencyControllerTest {
     }
 
     @Test(expected = InsufficientFundsException.class)
-    public void subtractMoney_ShouldPrint_InsufficientFunds_WhenPriceExceedsAvailableMoney() throws InsufficientFundsException, AmountLessThanOneException {
+    public void pay_ShouldThrow_InsufficientFunds_WhenPriceExceedsAvailableMoney() throws InsufficientFundsException, ChangeUnavailableException, AmountLessThanOneException {
         //Arrange
         String expected = "You have insufficient funds for this purchaseMenu";
         currencyController.addMoneyToMachine("5");
-        BigDecimal price = new BigDecimal(10);
+        long price = 1000;
 
         //Act
-        currencyController.subtractMoney(price);
+        currencyController.pay(price);
         String actual = outputStreamCaptor.toString().trim();
 
         //Assert
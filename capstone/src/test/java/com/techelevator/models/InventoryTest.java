@@ -1,20 +1,36 @@
 package com.techelevator.models;
 
 import com.techelevator.models.exceptions.InvalidIDException;
+import com.techelevator.models.exceptions.InvalidRestockException;
 import com.techelevator.models.exceptions.SoldOutException;
 import com.techelevator.models.products.Product;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
 public class InventoryTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private final PrintStream standardOut = System.out;
     private final ByteArrayOutputStream outputStreamCaptor = new ByteArrayOutputStream();
     Inventory inventory;
@@ -62,6 +78,237 @@ public class InventoryTest {
 
 
 
+    @Test
+    public void tryDecrementQuantity_Should_NeverGoNegative_UnderContention() throws Exception {
+
+        //Arrange
+        int threads = 16;
+        int attemptsPerThread = 1000;
+        AtomicInteger successfulPurchases = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Void>> results = new ArrayList<>();
+
+        //Act
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < attemptsPerThread; j++) {
+                    if (inventory.tryDecrementQuantity(product)) successfulPurchases.incrementAndGet();
+                    if (inventory.getQuantity(product) < 0) throw new IllegalStateException("Quantity went negative");
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<Void> result : results) {
+            // rethrows if any thread saw a negative quantity
+            result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        //Assert
+        assertEquals("Because exactly the 5 stocked units should be sold", 5, successfulPurchases.get());
+        assertEquals("Because the slot should be empty, never negative", 0, inventory.getQuantity(product));
+    }
+
+    @Test
+    public void reload_Should_KeepStock_ForUnchangedSlots_AndStockNewSlots() throws SoldOutException {
+
+        //Arrange
+        inventory.decrementQuantity(product);
+        List<Product> products = new ArrayList<>(inventory.getOrganizedProducts());
+        products.add(new Product("Z1", "Brain Freeze", 200, "Drink"));
+
+        //Act
+        inventory.reload(new Catalog(products));
+
+        //Assert
+        assertEquals("Because the slot was in both catalogs, its stock should carry over", 4, inventory.getQuantity(product));
+        assertEquals("Because a new slot should start with 5 units", 5, inventory.getQuantity(inventory.findProductByID("Z1")));
+    }
+
+    @Test(timeout = 5000)
+    public void reload_Should_NotHang_WhenTheProductsFileRepeatsAnID() throws Exception {
+
+        //Arrange - a hand-edited products file with a second row for a product already in it
+        inventory.decrementQuantity(product);
+        StringBuilder rows = new StringBuilder();
+        for (Product each : inventory.getOrganizedProducts()) {
+            rows.append(each.getId()).append('|').append(each.getName()).append('|')
+                    .append(Money.toBigDecimal(each.getPriceInCents())).append('|').append(each.getType()).append('\n');
+        }
+        rows.append(product.getId()).append("|Copy|1.00|Chip\n");
+        File file = folder.newFile("vendingmachine.csv");
+        Files.writeString(file.toPath(), rows.toString());
+
+        //Act
+        inventory.reload(Catalog.load(file));
+
+        //Assert
+        assertEquals("Because the repeated row is skipped and the slot's stock carries over once", 4, inventory.getQuantity(product));
+        assertEquals("Because the first row with the ID is kept", product.getName(), inventory.findProductByID(product.getId()).getName());
+    }
+
+    @Test
+    public void tryDecrementQuantity_Should_NotLoseUnits_WhileCatalogIsReloaded() throws Exception {
+
+        //Arrange
+        int threads = 8;
+        Catalog catalog = inventory.getCatalog();
+        AtomicInteger successfulPurchases = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Void>> results = new ArrayList<>();
+
+        //Act
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 10000; j++) {
+                    if (inventory.tryDecrementQuantity(product)) successfulPurchases.incrementAndGet();
+                    inventory.incrementQuantity(product);
+                    if (inventory.tryDecrementQuantity(product)) successfulPurchases.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (int i = 0; i < 200; i++) {
+            inventory.reload(new Catalog(catalog.getProducts()));
+        }
+        for (Future<Void> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        //Assert
+        int putBack = threads * 10000;
+        assertEquals("Because every unit sold or put back across reloads should be accounted for",
+                5 + putBack - successfulPurchases.get(), inventory.getQuantity(product));
+    }
+
+    @Test(timeout = 20000)
+    public void getProducts_Should_NeverReturn_MovedQuantities_WhileCatalogIsReloaded() throws Exception {
+
+        //Arrange
+        Catalog catalog = inventory.getCatalog();
+        AtomicInteger negative = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+        Thread reader = new Thread(() -> {
+            while (done.getCount() > 0) {
+                for (int quantity : inventory.getProducts().values()) {
+                    if (quantity < 0) negative.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+
+        //Act
+        for (int i = 0; i < 20000; i++) {
+            inventory.reload(catalog);
+        }
+        done.countDown();
+        reader.join();
+
+        //Assert
+        assertEquals("Because a snapshot of the stock is read again from the new levels, never saved as MOVED", 0, negative.get());
+    }
+
+    @Test
+    public void restock_Should_AddUnits_ForEveryLineInTheManifest() throws Exception {
+
+        //Arrange
+        Product other = inventory.getOrganizedProducts().get(1);
+        RestockManifest manifest = new RestockManifest(List.of(
+                new RestockManifest.Line(product.getId(), 3),
+                new RestockManifest.Line(other.getId().toLowerCase(), 5)));
+
+        //Act
+        inventory.restock(manifest);
+
+        //Assert
+        assertEquals("Because 3 units were added to 5", 8, inventory.getQuantity(product));
+        assertEquals("Because 5 units were added to 5", 10, inventory.getQuantity(other));
+    }
+
+    @Test
+    public void restock_Should_ChangeNothing_WhenAnyLineIsInvalid() {
+
+        //Arrange
+        RestockManifest manifest = new RestockManifest(List.of(
+                new RestockManifest.Line(product.getId(), 3),
+                new RestockManifest.Line("buffalo", 1)));
+
+        //Act
+        try {
+            inventory.restock(manifest);
+            fail("Because the manifest has an invalid ID");
+        } catch (InvalidRestockException ex) {
+            // expected
+        }
+
+        //Assert
+        assertEquals("Because a manifest is applied completely or not at all", 5, inventory.getQuantity(product));
+    }
+
+    @Test(timeout = 10000)
+    public void restock_Should_NeverBeSeen_HalfApplied() throws Exception {
+
+        //Arrange - the product is listed first, so a line by line restock would show it restocked before the other
+        Product other = inventory.getOrganizedProducts().get(1);
+        AtomicInteger halfApplied = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+        Thread reader = new Thread(() -> {
+            while (done.getCount() > 0) {
+                int first = inventory.getQuantity(product);
+                int second = inventory.getQuantity(other);
+                if (first > second) halfApplied.incrementAndGet();
+            }
+        });
+        reader.start();
+
+        //Act
+        for (int i = 0; i < ParLevels.DEFAULT_CAPACITY - 5; i++) {
+            inventory.restock(new RestockManifest(List.of(
+                    new RestockManifest.Line(product.getId(), 1),
+                    new RestockManifest.Line(other.getId(), 1))));
+            Thread.sleep(1);
+        }
+        done.countDown();
+        reader.join();
+
+        //Assert
+        assertEquals("Because the second slot is never read behind the first", 0, halfApplied.get());
+        assertEquals("Because every restock was applied", ParLevels.DEFAULT_CAPACITY, inventory.getQuantity(other));
+    }
+
+    @Test(expected = InvalidRestockException.class)
+    public void restock_Should_Reject_MoreUnitsThanTheSlotCanHold() throws InvalidRestockException {
+
+        //Act
+        inventory.restock(new RestockManifest(List.of(new RestockManifest.Line(product.getId(), ParLevels.DEFAULT_CAPACITY))));
+    }
+
+    @Test
+    public void getPickList_Should_List_SlotsBelowPar_UntilTheyAreRestocked() throws Exception {
+
+        //Arrange
+        for (int i = 0; i < 3; i++) {
+            inventory.decrementQuantity(product);
+        }
+
+        //Act
+        List<PickListItem> pickList = inventory.getPickList();
+        inventory.restock(RestockManifest.fromPickList(pickList));
+
+        //Assert
+        assertEquals("Because only one slot dropped below par", 1, pickList.size());
+        assertEquals("Because the slot needs 8 units to be full", 8, pickList.get(0).getUnitsNeeded());
+        assertTrue("Because the slot was filled to capacity", inventory.getPickList().isEmpty());
+        assertEquals("Because the slot was filled to capacity", ParLevels.DEFAULT_CAPACITY, inventory.getQuantity(product));
+    }
+
     @Test
     public void getProductByID_ShouldReturn_Product_OnValidID(){
 
@@ -77,6 +324,31 @@ public class InventoryTest {
     }
 
 
+    @Test
+    public void findProductByID_ShouldReturn_Product_OnLowerCaseID(){
+
+        //Arrange
+        Product expected = product;
+
+        //Act
+        Product actual = inventory.findProductByID(product.getId().toLowerCase());
+
+        //Assert
+        assertEquals("Because IDs should be matched regardless of case", expected, actual);
+
+    }
+
+    @Test
+    public void findProductByID_ShouldReturn_Null_OnInvalidID(){
+
+        //Act
+        Product actual = inventory.findProductByID("buffalo");
+
+        //Assert
+        assertNull("Because an invalid ID should not match any product", actual);
+
+    }
+
     @Test
     public void isIDValid_ShouldReturn_False_OnInvalidID() {
 
@@ -0,0 +1,138 @@
+package com.techelevator.models;
+
+import com.techelevator.models.products.Product;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.*;
+
+public class MappedSalesCountersTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void sales_should_be_in_the_file_without_closing_it() throws Exception {
+        //Arrange
+        File file = new File(folder.getRoot(), "sales.counters");
+        MappedSalesCounters counters = MappedSalesCounters.create(file, new SalesCounters());
+
+        //Act
+        counters.record(new Product("A1", "Potato Crisps", 305, "Chip"));
+        counters.record(new Product("A1", "Potato Crisps", 305, "Chip"));
+        SalesCounters read = MappedSalesCounters.read(file);
+
+        //Assert
+        assertEquals("Because two units were sold", 2, read.getUnitsSold("A1"));
+        assertEquals("Because two sales of $3.05 make $6.10", 610, read.getRevenue());
+        counters.close();
+    }
+
+    @Test
+    public void create_should_start_from_the_given_counters() throws Exception {
+        //Arrange
+        SalesCounters recovered = new SalesCounters();
+        recovered.add("B1", 3, 540);
+
+        //Act
+        MappedSalesCounters counters = MappedSalesCounters.create(new File(folder.getRoot(), "sales.counters"), recovered);
+
+        //Assert
+        assertEquals("Because the recovered units are carried over", 3, counters.getUnitsSold("B1"));
+        assertEquals("Because the recovered revenue is carried over", 540, counters.getRevenue());
+        counters.close();
+    }
+
+    @Test
+    public void file_should_grow_past_its_first_capacity() throws Exception {
+        //Arrange
+        File file = new File(folder.getRoot(), "sales.counters");
+        MappedSalesCounters counters = MappedSalesCounters.create(file, new SalesCounters());
+
+        //Act
+        for (int i = 0; i < 1000; i++) counters.add("ID" + i, 1, 100);
+
+        //Assert
+        assertEquals("Because every product gets its own slot", 1000, MappedSalesCounters.read(file).getUnitsSold().size());
+        assertEquals("Because the last product was counted", 1, counters.getUnitsSold("ID999"));
+        counters.close();
+    }
+
+    @Test
+    public void open_should_keep_a_file_that_matches_the_recovered_counters() throws Exception {
+        //Arrange - a clean shutdown leaves the file and the checkpoint in agreement
+        File file = new File(folder.getRoot(), "sales.counters");
+        MappedSalesCounters before = MappedSalesCounters.create(file, new SalesCounters());
+        before.add("A1", 2, 610);
+        before.close();
+        SalesCounters recovered = new SalesCounters();
+        recovered.add("A1", 2, 0);
+        recovered.addRevenue(610);
+
+        //Act
+        MappedSalesCounters counters = MappedSalesCounters.open(file, recovered);
+        counters.add("A1", 1, 305);
+
+        //Assert
+        SalesCounters read = MappedSalesCounters.read(file);
+        assertEquals("Because the two units in the file are counted once, plus the new one", 3, read.getUnitsSold("A1"));
+        assertEquals("Because the revenue in the file is counted once", 915, read.getRevenue());
+        assertEquals("Because memory agrees with the file", 3, counters.getUnitsSold("A1"));
+        counters.close();
+    }
+
+    @Test
+    public void open_should_start_over_when_the_file_disagrees_with_the_journal() throws Exception {
+        //Arrange - the file counted a sale the journal never recorded
+        File file = new File(folder.getRoot(), "sales.counters");
+        MappedSalesCounters before = MappedSalesCounters.create(file, new SalesCounters());
+        before.add("A1", 5, 1525);
+        before.close();
+        SalesCounters recovered = new SalesCounters();
+        recovered.add("B1", 1, 180);
+
+        //Act
+        MappedSalesCounters counters = MappedSalesCounters.open(file, recovered);
+
+        //Assert
+        SalesCounters read = MappedSalesCounters.read(file);
+        assertEquals("Because the journal's counters win", 0, read.getUnitsSold("A1"));
+        assertEquals("Because the recovered sale is written to the file", 1, read.getUnitsSold("B1"));
+        assertEquals("Because only the recovered revenue is in the file", 180, read.getRevenue());
+        counters.close();
+    }
+
+    @Test
+    public void a_sale_left_halfway_into_the_file_should_not_be_read_or_reopened() throws Exception {
+        //Arrange - a crash between a sale's adds leaves the writing count above zero
+        File file = new File(folder.getRoot(), "sales.counters");
+        MappedSalesCounters before = MappedSalesCounters.create(file, new SalesCounters());
+        before.add("A1", 1, 305);
+        before.close();
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.seek(24);
+            raw.writeLong(1);
+        }
+        SalesCounters recovered = new SalesCounters();
+        recovered.add("A1", 1, 305);
+
+        //Act
+        boolean readHalfway = true;
+        try {
+            MappedSalesCounters.read(file);
+        } catch (IOException ex) {
+            readHalfway = false;
+        }
+        MappedSalesCounters counters = MappedSalesCounters.open(file, recovered);
+
+        //Assert
+        assertFalse("Because a file halfway through a sale is not consistent", readHalfway);
+        assertEquals("Because open rewrote the file from the recovered counters", 1, MappedSalesCounters.read(file).getUnitsSold("A1"));
+        counters.close();
+    }
+}
@@ -0,0 +1,35 @@
+package com.techelevator.models;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MoneyTest {
+
+    @Test
+    public void format_should_show_cents_as_dollars() {
+        //Act
+        String actual = Money.format(305);
+
+        //Assert
+        assertEquals("Because 305 cents is $3.05", "$3.05", actual);
+    }
+
+    @Test
+    public void parse_should_read_formatted_amounts_into_cents() {
+        //Act
+        long actual = Money.parse("$1,234.5");
+
+        //Assert
+        assertEquals("Because $1,234.50 is 123450 cents", 123450, actual);
+    }
+
+    @Test
+    public void fromDollars_should_convert_whole_dollars_to_cents() {
+        //Act
+        long actual = Money.fromDollars(36);
+
+        //Assert
+        assertEquals("Because $36 is 3600 cents", 3600, actual);
+    }
+}
@@ -0,0 +1,201 @@
+package com.techelevator.models;
+
+import com.techelevator.models.exceptions.ChangeUnavailableException;
+import com.techelevator.models.exceptions.InsufficientFundsException;
+import com.techelevator.models.exceptions.SoldOutException;
+import com.techelevator.models.products.Product;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ReservationBookTest {
+
+    private Inventory inventory;
+    private CurrencyController wallet;
+    private TimerWheel timerWheel;
+    private ReservationBook reservationBook;
+    private Product product;
+
+    @Before
+    public void setup() throws Exception {
+        product = new Product("A1", "Potato Crisps", 305, "Chip");
+        inventory = new Inventory(new Catalog(List.of(product)));
+        wallet = new CurrencyController();
+        wallet.addMoneyToMachine("10");
+        // ticks are driven by the test: 8 buckets of 10ms, holds last 30ms (3 ticks)
+        timerWheel = new TimerWheel(8, 10);
+        reservationBook = new ReservationBook(inventory, timerWheel, 30);
+    }
+
+    @Test
+    public void hold_should_take_one_unit_and_the_price() throws Exception {
+        //Act
+        reservationBook.hold(product, wallet);
+
+        //Assert
+        assertEquals("Because the hold takes one unit", 4, inventory.getQuantity(product));
+        assertEquals("Because the hold takes the price", 695, wallet.getMoneyInMachine());
+        assertEquals("Because one hold is active", 1, reservationBook.getActiveHolds());
+    }
+
+    @Test
+    public void abort_should_give_back_the_unit_and_the_money() throws Exception {
+        //Arrange
+        Reservation reservation = reservationBook.hold(product, wallet);
+
+        //Act
+        boolean aborted = reservationBook.abort(reservation);
+
+        //Assert
+        assertTrue("Because the hold was still active", aborted);
+        assertEquals("Because the unit goes back on the shelf", 5, inventory.getQuantity(product));
+        assertEquals("Because the money goes back to the customer", 1000, wallet.getMoneyInMachine());
+    }
+
+    @Test
+    public void expired_hold_should_be_released_and_not_committable() throws Exception {
+        //Arrange
+        Reservation reservation = reservationBook.hold(product, wallet);
+
+        //Act
+        for (int i = 0; i < 3; i++) timerWheel.tick();
+        boolean committed = reservationBook.commit(reservation);
+
+        //Assert
+        assertFalse("Because an expired hold can't be committed", committed);
+        assertEquals("Because the expired hold gave its unit back", 5, inventory.getQuantity(product));
+        assertEquals("Because no holds are active", 0, reservationBook.getActiveHolds());
+    }
+
+    @Test
+    public void committed_hold_should_not_expire() throws Exception {
+        //Arrange
+        Reservation reservation = reservationBook.hold(product, wallet);
+        reservationBook.commit(reservation);
+
+        //Act
+        for (int i = 0; i < 16; i++) timerWheel.tick();
+
+        //Assert
+        assertTrue("Because the sale was committed", reservation.isCommitted());
+        assertEquals("Because a committed sale keeps its unit", 4, inventory.getQuantity(product));
+    }
+
+    @Test(expected = InsufficientFundsException.class)
+    public void hold_should_take_nothing_when_funds_are_insufficient() throws Exception {
+        //Arrange - three holds leave $0.85
+        reservationBook.hold(product, wallet);
+        reservationBook.hold(product, wallet);
+        reservationBook.hold(product, wallet);
+
+        //Act
+        reservationBook.hold(product, wallet);
+    }
+
+    @Test
+    public void hold_should_throw_sold_out_when_every_unit_is_held() throws Exception {
+        //Arrange
+        wallet.addMoneyToMachine("20");
+        for (int i = 0; i < 5; i++) reservationBook.hold(product, wallet);
+
+        //Act
+        try {
+            reservationBook.hold(product, wallet);
+            fail("Because every unit is held");
+        } catch (SoldOutException ex) {
+            //Assert
+            assertEquals("Because a sold out hold must not take money", 1475, wallet.getMoneyInMachine());
+        }
+    }
+
+    @Test
+    public void hold_should_be_refused_when_change_cannot_be_made() throws Exception {
+        //Arrange - an empty cassette only holds the $10 bill that was fed
+        CurrencyController emptyWallet = new CurrencyController(new CashCassette(new int[9]));
+        emptyWallet.addMoneyToMachine("10");
+
+        //Act
+        try {
+            reservationBook.hold(product, emptyWallet);
+            fail("Because $6.95 in change can't be made from a single $10 bill");
+        } catch (ChangeUnavailableException ex) {
+            //Assert
+            assertEquals("Because a refused sale must not take money", 1000, emptyWallet.getMoneyInMachine());
+            assertEquals("Because a refused sale must not take a unit", 5, inventory.getQuantity(product));
+        }
+    }
+
+    @Test
+    public void sell_should_not_leave_a_hold_on_the_timer() throws Exception {
+        //Act
+        reservationBook.sell(product, wallet);
+
+        //Assert
+        assertEquals("Because the sale takes one unit", 4, inventory.getQuantity(product));
+        assertEquals("Because the sale takes the price", 695, wallet.getMoneyInMachine());
+        assertEquals("Because a sale on the spot holds nothing", 0, reservationBook.getActiveHolds());
+    }
+
+    @Test
+    public void tick_should_keep_expiring_holds_after_a_timeout_throws() throws Exception {
+        //Arrange - a broken timeout due on the same tick as the hold
+        timerWheel.schedule(new TimerWheel.Timeout() {
+            public boolean isDone() {
+                return false;
+            }
+
+            public void expire() {
+                throw new IllegalStateException("broken timeout");
+            }
+        }, 30);
+        Reservation reservation = reservationBook.hold(product, wallet);
+
+        //Act
+        for (int i = 0; i < 3; i++) timerWheel.tick();
+
+        //Assert
+        assertFalse("Because the expired hold can no longer be committed", reservationBook.commit(reservation));
+        assertEquals("Because the unit went back on the shelf anyway", 5, inventory.getQuantity(product));
+    }
+
+    @Test(timeout = 20000)
+    public void tick_should_not_miss_timeouts_scheduled_while_it_runs() throws Exception {
+        //Arrange - one tick timeouts scheduled from another thread while the wheel turns
+        AtomicInteger scheduled = new AtomicInteger();
+        AtomicInteger expired = new AtomicInteger();
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread scheduler = new Thread(() -> {
+            while (!stop.get()) {
+                scheduled.incrementAndGet();
+                timerWheel.schedule(new TimerWheel.Timeout() {
+                    private boolean done;
+
+                    public boolean isDone() {
+                        return done;
+                    }
+
+                    public void expire() {
+                        done = true;
+                        expired.incrementAndGet();
+                    }
+                }, 10);
+            }
+        });
+        scheduler.start();
+
+        //Act
+        for (int i = 0; i < 20000; i++) timerWheel.tick();
+        stop.set(true);
+        scheduler.join();
+        // due within one more tick; a timeout missed by its bucket would wait a whole turn (8 ticks)
+        timerWheel.tick();
+
+        //Assert
+        assertEquals("Because every timeout expires on the tick it is due", scheduled.get(), expired.get());
+    }
+}
@@ -0,0 +1,87 @@
+package com.techelevator.models;
+
+import com.techelevator.models.products.Product;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SalesCountersTest {
+
+    private Product cola;
+    private Product chips;
+    private SalesCounters counters;
+
+    @Before
+    public void setup() {
+        cola = new Product("C1", "Cola", 125, "Drink");
+        chips = new Product("A1", "Chips", 305, "Chip");
+        counters = new SalesCounters();
+    }
+
+    @Test
+    public void snapshot_should_not_change_when_more_is_sold() {
+        //Arrange
+        counters.record(cola);
+        SalesSnapshot snapshot = counters.snapshot();
+
+        //Act
+        counters.record(cola);
+        counters.record(chips);
+
+        //Assert
+        assertEquals("Because one Cola was sold when the snapshot was taken", 1, snapshot.getUnitsSold("C1"));
+        assertEquals("Because Chips were sold after the snapshot", 0, snapshot.getUnitsSold("A1"));
+        assertEquals("Because the snapshot's revenue is one Cola", 125, snapshot.getRevenue());
+        assertEquals("Because the live counters see both Colas", 2, counters.getUnitsSold("C1"));
+    }
+
+    @Test
+    public void snapshot_should_be_reused_when_nothing_was_sold() {
+        //Arrange
+        counters.record(cola);
+
+        //Act
+        SalesSnapshot first = counters.snapshot();
+        SalesSnapshot second = counters.snapshot();
+
+        //Assert
+        assertSame("Because nothing changed between the snapshots", first, second);
+    }
+
+    @Test
+    public void diff_should_list_only_what_was_sold_between_snapshots() {
+        //Arrange
+        counters.record(cola);
+        counters.record(chips);
+        SalesSnapshot earlier = counters.snapshot();
+        counters.record(chips);
+        counters.record(chips);
+
+        //Act
+        SalesDelta delta = counters.snapshot().diff(earlier);
+
+        //Assert
+        assertEquals("Because two Chips were sold since", Long.valueOf(2), delta.getUnitsSold().get("A1"));
+        assertFalse("Because no Cola was sold since", delta.getUnitsSold().containsKey("C1"));
+        assertEquals("Because two Chips make $6.10", 610, delta.getRevenue());
+        assertEquals("Because the delta ends at the later snapshot", counters.getVersion(), delta.getToVersion());
+    }
+
+    @Test
+    public void snapshots_should_survive_products_spilling_into_new_chunks() {
+        //Arrange
+        for (int i = 0; i < 100; i++) counters.add("P" + i, 1, 100);
+        SalesSnapshot earlier = counters.snapshot();
+
+        //Act
+        for (int i = 0; i < 200; i++) counters.add("P" + i, 1, 100);
+
+        //Assert
+        assertEquals("Because 100 products were sold before the snapshot", 100, earlier.getUnitsSold().size());
+        assertEquals("Because P5 was sold once before the snapshot", 1, earlier.getUnitsSold("P5"));
+        assertEquals("Because P5 was sold twice in all", 2, counters.getUnitsSold("P5"));
+        assertEquals("Because 300 sales of $1 were made", 30000, counters.getRevenue());
+        assertEquals("Because 200 sales were made after the snapshot", 200, counters.snapshot().diff(earlier).getUnitsSold().size());
+    }
+}
@@ -0,0 +1,111 @@
+package com.techelevator.models;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+import static org.junit.Assert.*;
+
+public class SalesTimeSeriesTest {
+
+    private SalesTimeSeries timeSeries;
+
+    @Before
+    public void setup() {
+        timeSeries = new SalesTimeSeries(ZoneOffset.UTC);
+    }
+
+    @Test
+    public void unitsSoldBetween_should_only_count_sales_in_the_time_window() {
+        //Arrange - one morning and one midday sale on each of the last 30 days
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (int day = 1; day <= 30; day++) {
+            record("C1", today.minusDays(day).atTime(8, 15));
+            record("C1", today.minusDays(day).atTime(12, 0));
+        }
+
+        //Act
+        long morning = timeSeries.unitsSoldBetween("C1", LocalTime.of(7, 0), LocalTime.of(9, 0), 30, today.minusDays(1));
+
+        //Assert
+        assertEquals("Because one sale a day fell between 07:00 and 09:00", 30, morning);
+    }
+
+    @Test
+    public void unitsSold_should_use_minutes_for_the_last_day() {
+        //Arrange
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        record("A1", now.minusMinutes(10));
+        record("A1", now.minusMinutes(90));
+
+        //Act
+        long lastHalfHour = timeSeries.unitsSold("A1", now.minusMinutes(30), now.plusMinutes(1));
+
+        //Assert
+        assertEquals("Because only one sale was in the last half hour", 1, lastHalfHour);
+    }
+
+    @Test
+    public void unitsSold_should_use_days_beyond_the_hour_buckets() {
+        //Arrange
+        LocalDate day = LocalDate.now(ZoneOffset.UTC).minusDays(100);
+        record("B1", day.atTime(14, 30));
+
+        //Act
+        long sold = timeSeries.unitsSold("B1", day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+
+        //Assert
+        assertEquals("Because the sale 100 days ago is still in the day buckets", 1, sold);
+    }
+
+    @Test
+    public void unitsSold_should_count_the_newest_buckets_when_the_range_ends_in_the_future() {
+        //Arrange
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        record("A1", now.minusMinutes(5));
+
+        //Act
+        long sold = timeSeries.unitsSold("A1", now.minusHours(1), now.plusDays(2));
+
+        //Assert
+        assertEquals("Because the sale five minutes ago is inside the range", 1, sold);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unitsSold_should_reject_a_range_that_cuts_an_hour_bucket() {
+        //Arrange
+        LocalDate day = LocalDate.now(ZoneOffset.UTC).minusDays(3);
+        record("C1", day.atTime(8, 15));
+
+        //Act - the 08:00 bucket would count the 08:15 sale as if it were after 08:30
+        timeSeries.unitsSold("C1", day.atTime(8, 30), day.atTime(10, 0));
+    }
+
+    @Test
+    public void load_should_restore_saved_buckets() throws Exception {
+        //Arrange
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        record("A1", now.minusMinutes(5));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        timeSeries.save(new DataOutputStream(bytes));
+
+        //Act
+        SalesTimeSeries loaded = new SalesTimeSeries(ZoneOffset.UTC);
+        loaded.load(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        //Assert
+        assertEquals("Because the saved sale should come back", 1, loaded.unitsSold("A1", now.minusHours(1), now.plusMinutes(1)));
+    }
+
+    private void record(String id, LocalDateTime time) {
+        timeSeries.record(id, 1, time.toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+}
@@ -0,0 +1,96 @@
+package com.techelevator.models;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SessionPoolTest {
+
+    private CashBoxLedger ledger;
+    private SessionPool sessions;
+
+    @Before
+    public void setup() {
+        ledger = new CashBoxLedger();
+        sessions = new SessionPool(new CashCassette(), ledger);
+    }
+
+    @Test
+    public void sessions_should_have_separate_balances() throws Exception {
+        //Arrange
+        Session first = sessions.open();
+        Session second = sessions.open();
+
+        //Act
+        first.feedMoney("5");
+        second.feedMoney("10");
+
+        //Assert
+        assertEquals("Because the first customer fed $5", 500, first.getWallet().getMoneyInMachine());
+        assertEquals("Because the second customer fed $10", 1000, second.getWallet().getMoneyInMachine());
+    }
+
+    @Test
+    public void closed_session_should_be_reused_with_an_empty_wallet() throws Exception {
+        //Arrange
+        Session session = sessions.open();
+        session.feedMoney("5");
+
+        //Act
+        String change = sessions.close(session);
+        Session next = sessions.open();
+
+        //Assert
+        assertEquals("Because the whole balance is paid back", "\n1 x $5", change);
+        assertSame("Because closed sessions are recycled", session, next);
+        assertEquals("Because a recycled session starts empty", 0, next.getWallet().getMoneyInMachine());
+    }
+
+    @Test
+    public void settling_should_post_to_the_ledger() throws Exception {
+        //Arrange
+        Session session = sessions.open();
+        session.feedMoney("10");
+        session.getWallet().pay(305);
+
+        //Act
+        sessions.close(session);
+
+        //Assert
+        assertTrue("Because the writer thread should apply the posting", ledger.awaitSettled(5000));
+        assertEquals("Because $10 was fed", 1000, ledger.getTotalFed());
+        assertEquals("Because $6.95 was paid back", 695, ledger.getTotalChange());
+        assertEquals("Because the $3.05 sale stays in the cash box", 305, ledger.getCashRetained());
+    }
+
+    @Test
+    public void closing_a_session_twice_should_not_put_it_in_the_pool_twice() throws Exception {
+        //Arrange
+        Session session = sessions.open();
+        sessions.close(session);
+
+        //Act
+        try {
+            sessions.close(session);
+            fail("Because the session was already closed");
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+
+        //Assert
+        assertEquals("Because the session is in the pool once", 1, sessions.getFreeSessions());
+        assertNotSame("Because two customers must never share a wallet", sessions.open(), sessions.open());
+    }
+
+    @Test
+    public void the_ledger_should_apply_more_postings_than_its_ring_holds() throws Exception {
+        //Act
+        for (int i = 0; i < 10000; i++) ledger.post(100, 25, 0);
+
+        //Assert
+        assertTrue("Because the writer thread should apply every posting", ledger.awaitSettled(5000));
+        assertEquals("Because $1 was fed 10000 times", 1000000, ledger.getTotalFed());
+        assertEquals("Because 25 cents was paid back 10000 times", 250000, ledger.getTotalChange());
+    }
+}
@@ -0,0 +1,99 @@
+package com.techelevator.models.file_io;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class AsyncLoggerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void close_should_write_the_same_line_as_logger() throws IOException {
+        //Arrange
+        String directory = folder.getRoot().getPath();
+        AsyncLogger logger = new AsyncLogger(directory);
+
+        //Act
+        logger.logMessage("FEED MONEY", 500, 500);
+        logger.close();
+
+        //Assert
+        List<String> lines = readLog();
+        assertEquals("Because one message was logged", 1, lines.size());
+        assertTrue("Because the line should use Logger's format", lines.get(0).matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2} FEED MONEY: \\$5\\.00 \\$5\\.00"));
+    }
+
+    @Test
+    public void blocking_logger_should_keep_every_message_from_many_threads() throws Exception {
+        //Arrange - a tiny buffer so producers have to wait for the writer
+        AsyncLogger logger = new AsyncLogger(folder.getRoot().getPath(), 16, AsyncLogger.OverflowPolicy.BLOCK);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        //Act
+        for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) logger.logMessage("FEED MONEY", 100, 100);
+            }));
+        }
+        for (Future<?> future : futures) future.get();
+        executor.shutdown();
+        logger.close();
+
+        //Assert
+        assertEquals("Because blocking never drops a message", 4000, readLog().size());
+        assertEquals("Because blocking never drops a message", 0, logger.getDroppedCount());
+    }
+
+    @Test
+    public void blocking_producers_should_return_when_the_logger_closes_under_them() throws Exception {
+        //Arrange
+        AsyncLogger logger = new AsyncLogger(folder.getRoot().getPath(), 16, AsyncLogger.OverflowPolicy.BLOCK);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(() -> {
+                int calls = 0;
+                for (int i = 0; i < 5000; i++) {
+                    logger.logMessage("FEED MONEY", 100, 100);
+                    calls++;
+                }
+                return calls;
+            }));
+        }
+
+        //Act
+        Thread.sleep(5);
+        logger.close();
+        int calls = 0;
+        for (Future<Integer> future : futures) calls += future.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        long written = readLog().size();
+
+        //Assert
+        assertEquals("Because every call returns once the logger is closed", 20000, calls);
+        assertTrue("Because whatever was accepted before close is written", written + logger.getDroppedCount() <= calls);
+        assertEquals("Because nothing is written after close", written, readLog().size());
+    }
+
+    private List<String> readLog() throws IOException {
+        File[] logs = folder.getRoot().listFiles((dir, name) -> name.endsWith("_log.txt"));
+        List<String> lines = new ArrayList<>();
+        for (File log : logs) lines.addAll(Files.readAllLines(log.toPath()));
+        return lines;
+    }
+}
@@ -0,0 +1,128 @@
+package com.techelevator.models.file_io;
+
+import com.techelevator.models.Catalog;
+import com.techelevator.models.products.Product;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class CatalogLoaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void load_should_parse_prices_into_exact_amounts() throws IOException {
+        //Arrange
+        File file = write("A1|Potato Crisps|3.05|Chip\nB1|Moonpie|1.80|Candy\nC1|Cola|2|Drink\n");
+
+        //Act
+        Catalog catalog = new CatalogLoader().load(file, new CatalogValidationReport());
+
+        //Assert
+        assertEquals("Because 3.05 should be read exactly", 305, catalog.findProductByID("A1").getPriceInCents());
+        assertEquals("Because 1.80 is one dollar eighty", 180, catalog.findProductByID("B1").getPriceInCents());
+        assertEquals("Because a whole dollar price has no cents", 200, catalog.findProductByID("C1").getPriceInCents());
+    }
+
+    @Test
+    public void load_should_collect_malformed_rows_in_the_report() throws IOException {
+        //Arrange
+        File file = write("A1|Potato Crisps|3.05|Chip\r\n\r\nA2|Stackers|Chip\r\nA3|Grain Waves|2.7x|Chip\r\n");
+        CatalogValidationReport report = new CatalogValidationReport();
+
+        //Act
+        Catalog catalog = new CatalogLoader().load(file, report);
+
+        //Assert
+        assertEquals("Because only one row is valid", 1, catalog.size());
+        assertEquals("Because two rows are malformed", 2, report.getIssues().size());
+        assertEquals("Because the row with a missing column is on line 3", 3, report.getIssues().get(0).getLineNumber());
+        assertEquals("Because the row with a bad price is on line 4", 4, report.getIssues().get(1).getLineNumber());
+        assertEquals("Because the reported line should not include the line break", "A2|Stackers|Chip", report.getIssues().get(0).getLine());
+    }
+
+    @Test
+    public void load_should_report_and_skip_a_repeated_id() throws IOException {
+        //Arrange
+        File file = write("A1|Potato Crisps|3.05|Chip\nB1|Moonpie|1.80|Candy\na1|Stackers|1.45|Chip\n");
+        CatalogValidationReport report = new CatalogValidationReport();
+
+        //Act
+        Catalog catalog = new CatalogLoader().load(file, report);
+
+        //Assert
+        assertEquals("Because the second A1 is skipped", 2, catalog.size());
+        assertEquals("Because the first row with the ID wins", "Potato Crisps", catalog.findProductByID("A1").getName());
+        assertEquals("Because the repeated ID is reported", "duplicate id", report.getIssues().get(0).getReason());
+        assertEquals("Because the repeated ID is on line 3", 3, report.getIssues().get(0).getLineNumber());
+    }
+
+    @Test
+    public void load_in_parallel_chunks_should_match_a_single_chunk_load() throws IOException {
+        //Arrange
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            rows.append(i % 997 == 0 ? "bad row" : "X" + i + "|Product " + i + "|" + String.format("%d.%02d", i % 10, i % 100) + "|Type" + (i % 7)).append("\n");
+        }
+        File file = write(rows.toString());
+        CatalogValidationReport singleReport = new CatalogValidationReport();
+        CatalogValidationReport parallelReport = new CatalogValidationReport();
+
+        //Act
+        Catalog single = new CatalogLoader().load(file, singleReport);
+        Catalog parallel = new CatalogLoader(1024, true).load(file, parallelReport);
+
+        //Assert
+        assertEquals("Because both loads read the same products", single.getProducts(), parallel.getProducts());
+        assertEquals("Because both loads find the same bad rows", singleReport.toString(), parallelReport.toString());
+        Product product = parallel.findProductByID("X4999");
+        assertEquals("Because the last row should be read from the last chunk", "Product 4999", product.getName());
+    }
+
+    @Test
+    public void load_should_reject_prices_without_a_digit_before_or_two_after_the_point() throws IOException {
+        //Arrange
+        File file = write("A1|Potato Crisps|.|Chip\nA2|Stackers|1.|Chip\nA3|Grain Waves|.75|Chip\nA4|Cloud Popcorn|3.6|Chip\nA5|Pretzels|0.75|Chip\n");
+        CatalogValidationReport report = new CatalogValidationReport();
+
+        //Act
+        Catalog catalog = new CatalogLoader().load(file, report);
+
+        //Assert
+        assertEquals("Because only 0.75 is a price", 1, catalog.size());
+        assertEquals("Because the other four prices are reported", 4, report.getIssues().size());
+        for (CatalogValidationReport.Issue issue : report.getIssues()) {
+            assertEquals("Because " + issue.getLine() + " has no valid price", "invalid price", issue.getReason());
+        }
+    }
+
+    @Test
+    public void load_should_report_blank_names_and_types_with_their_line() throws IOException {
+        //Arrange
+        File file = write("A1|Potato Crisps|3.05|Chip\nA2||1.45|Chip\nA3|Grain Waves|2.75| \n");
+        CatalogValidationReport report = new CatalogValidationReport();
+
+        //Act
+        Catalog catalog = new CatalogLoader().load(file, report);
+
+        //Assert
+        assertEquals("Because only the first row is complete", 1, catalog.size());
+        assertEquals("Because the row without a name is on line 2", 2, report.getIssues().get(0).getLineNumber());
+        assertEquals("Because the name is blank", "missing name", report.getIssues().get(0).getReason());
+        assertEquals("Because the row without a type is on line 3", 3, report.getIssues().get(1).getLineNumber());
+        assertEquals("Because the type is blank", "missing type", report.getIssues().get(1).getReason());
+    }
+
+    private File write(String contents) throws IOException {
+        File file = folder.newFile();
+        Files.writeString(file.toPath(), contents);
+        return file;
+    }
+}
@@ -0,0 +1,87 @@
+package com.techelevator.models.file_io;
+
+import com.techelevator.models.Catalog;
+import com.techelevator.models.Inventory;
+import com.techelevator.models.products.Product;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InventorySnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Inventory inventory;
+    private InventorySnapshot snapshot;
+
+    @Before
+    public void setup() throws IOException {
+        inventory = new Inventory(new Catalog(List.of(
+                new Product("A1", "Potato Crisps", 305, "Chip"),
+                new Product("B1", "Moonpie", 180, "Candy"))));
+        snapshot = new InventorySnapshot(new File(folder.getRoot(), "inventory.snapshot"));
+    }
+
+    @Test
+    public void load_should_return_saved_products_and_quantities() throws Exception {
+        //Arrange
+        Product product = inventory.findProductByID("B1");
+        inventory.decrementQuantity(product);
+        snapshot.save(inventory);
+
+        //Act
+        Inventory loaded = snapshot.load();
+
+        //Assert
+        assertEquals("Because the snapshot should keep the catalog", inventory.getOrganizedProducts(), loaded.getOrganizedProducts());
+        assertEquals("Because the snapshot should keep the real stock level", 4, loaded.getQuantity(product));
+        assertEquals("Because the price should survive the round trip", 180, loaded.findProductByID("B1").getPriceInCents());
+    }
+
+    @Test
+    public void load_should_return_null_when_there_is_no_snapshot() {
+        //Act
+        Inventory loaded = snapshot.load();
+
+        //Assert
+        assertNull("Because there is nothing to load", loaded);
+    }
+
+    @Test
+    public void load_should_return_null_when_the_snapshot_is_damaged() throws IOException {
+        //Arrange
+        snapshot.save(inventory);
+        try (RandomAccessFile file = new RandomAccessFile(snapshot.getFile(), "rw")) {
+            file.seek(12);
+            file.write('Z');
+        }
+
+        //Act
+        Inventory loaded = snapshot.load();
+
+        //Assert
+        assertNull("Because a snapshot that fails its checksum should not be trusted", loaded);
+    }
+
+    @Test
+    public void load_should_return_null_when_a_quantity_is_negative() throws IOException {
+        //Arrange - the checksum is fine, the quantity isn't
+        Catalog catalog = inventory.getCatalog();
+        snapshot.save(new Inventory(catalog, new int[] {5, -1}));
+
+        //Act
+        Inventory loaded = snapshot.load();
+
+        //Assert
+        assertNull("Because a slot with a negative quantity could never be bought from or carried over", loaded);
+    }
+}
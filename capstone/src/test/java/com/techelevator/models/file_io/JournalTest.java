@@ -0,0 +1,98 @@
+package com.techelevator.models.file_io;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replay_should_return_appended_records_in_order() throws Exception {
+        //Arrange
+        Journal journal = new Journal(folder.getRoot(), Journal.Durability.PER_RECORD, 0, 4096);
+        journal.append(1000, JournalRecord.FEED_MONEY, 1, "", "", 500, 500);
+        journal.append(2000, JournalRecord.PURCHASE, 1, "A1", "Potato Crisps", 305, 195);
+
+        //Act
+        List<JournalRecord> records = new ArrayList<>();
+        journal.replay(0, records::add);
+        journal.close();
+
+        //Assert
+        assertEquals("Because two records were appended", 2, records.size());
+        assertEquals("Because sequence numbers start at 1", 1, records.get(0).getSequence());
+        assertEquals("Because the purchase keeps its product", "Potato Crisps A1", records.get(1).getAction());
+        assertEquals("Because the balance after the purchase was $1.95", 195, records.get(1).getBalance());
+    }
+
+    @Test
+    public void small_segments_should_roll_over_without_losing_records() throws Exception {
+        //Arrange - room for only a few records per segment
+        Journal journal = new Journal(folder.getRoot(), Journal.Durability.NONE, 0, 256);
+
+        //Act
+        for (int i = 0; i < 50; i++) journal.append(i, JournalRecord.FEED_MONEY, 1, "", "", 100, 100 * (i + 1));
+        journal.close();
+        List<JournalRecord> records = new ArrayList<>();
+        Journal.replay(new File(folder.getRoot(), Journal.DIRECTORY), 40, records::add);
+
+        //Assert
+        assertTrue("Because 50 records don't fit in one segment", Journal.segments(new File(folder.getRoot(), Journal.DIRECTORY)).size() > 1);
+        assertEquals("Because records 41 to 50 come after 40", 10, records.size());
+        assertEquals("Because replay starts right after the given sequence", 41, records.get(0).getSequence());
+    }
+
+    @Test
+    public void reopening_should_write_over_a_torn_record() throws Exception {
+        //Arrange - damage the second record's payload, as a crash halfway through writing it would
+        Journal journal = new Journal(folder.getRoot(), Journal.Durability.PER_RECORD, 0, 4096);
+        journal.append(1000, JournalRecord.FEED_MONEY, 1, "", "", 500, 500);
+        journal.append(2000, JournalRecord.FEED_MONEY, 1, "", "", 500, 1000);
+        journal.close();
+        File segment = Journal.segments(new File(folder.getRoot(), Journal.DIRECTORY)).get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.seek(8 + 8 + 43 + 8 + 10);
+            file.writeByte(0x7F);
+        }
+
+        //Act
+        journal = new Journal(folder.getRoot(), Journal.Durability.PER_RECORD, 0, 4096);
+        long sequence = journal.append(3000, JournalRecord.DISPENSE_CHANGE, 1, "", "", 500, 0);
+        List<JournalRecord> records = new ArrayList<>();
+        journal.replay(0, records::add);
+        journal.close();
+
+        //Assert
+        assertEquals("Because the torn record's sequence number is used again", 2, sequence);
+        assertEquals("Because only the good record and the new one remain", 2, records.size());
+        assertEquals("Because the new record replaced the torn one", JournalRecord.DISPENSE_CHANGE, records.get(1).getType());
+    }
+
+    @Test
+    public void deleteSegmentsThrough_should_only_delete_fully_covered_segments() throws Exception {
+        //Arrange
+        Journal journal = new Journal(folder.getRoot(), Journal.Durability.NONE, 0, 256);
+        for (int i = 0; i < 50; i++) journal.append(i, JournalRecord.FEED_MONEY, 1, "", "", 100, 100 * (i + 1));
+
+        //Act
+        journal.deleteSegmentsThrough(30);
+        List<JournalRecord> records = new ArrayList<>();
+        journal.replay(0, records::add);
+        journal.close();
+
+        //Assert
+        assertTrue("Because records before the checkpoint may be deleted", records.get(0).getSequence() > 1);
+        assertTrue("Because the record after the checkpoint must be kept", records.get(0).getSequence() <= 31);
+        assertEquals("Because every record up to the newest is still there", 50, records.get(records.size() - 1).getSequence());
+    }
+}
@@ -0,0 +1,103 @@
+package com.techelevator.models.file_io;
+
+import com.techelevator.models.Catalog;
+import com.techelevator.models.products.Product;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+public class LogReportBuilderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void build_should_add_up_plain_and_compressed_logs() throws IOException {
+        //Arrange
+        File machine = folder.newFolder("machine");
+        write(new File(machine, "2024-01-01_log.1.txt.gz"), true,
+                "2024-01-01 09:00:00 FEED MONEY: $5.00 $5.00",
+                "2024-01-01 09:00:05 Cola Zero C2: $1.50 $3.50",
+                "2024-01-01 09:00:09 DISPENSE CHANGE: $3.50 $0.00");
+        write(new File(machine, "2024-01-02_log.txt"), false,
+                "2024-01-02 10:00:00 FEED MONEY: $1,000.00 $1,000.00",
+                "2024-01-02 10:00:01 Cola Zero C2: $1.50 $998.50",
+                "2024-01-02 10:00:02 Cola C1: $1.25 $997.25",
+                "2024-01-02 10:00:03 FEED MON");
+
+        //Act
+        LogReport report = new LogReportBuilder().build(machine);
+
+        //Assert
+        assertEquals("Because both files are read", 2, report.getFiles());
+        assertEquals("Because Cola Zero was bought on both days", 2, report.getSales().getUnitsSold("C2"));
+        assertEquals("Because $1.50 + $1.50 + $1.25 was spent", 425, report.getSales().getRevenue());
+        assertEquals("Because $5 and $1,000 were fed", 100500, report.getFed());
+        assertEquals("Because $5 was fed once", Long.valueOf(1), report.getFedByDenomination().get(500L));
+        assertEquals("Because change was given once", 350, report.getChangeDispensed());
+        assertEquals("Because the last line was cut off", 1, report.getSkippedLines());
+    }
+
+    @Test
+    public void render_should_match_the_sales_report() throws IOException {
+        //Arrange
+        File machine = folder.newFolder("machine");
+        write(new File(machine, "2024-01-01_log.txt"), false, "2024-01-01 09:00:05 Cola Zero C2: $1.50 $3.50");
+        Catalog catalog = new Catalog(List.of(new Product("C1", "Cola", 125, "Drink"), new Product("C2", "Cola Zero", 150, "Drink")));
+
+        //Act
+        LogReport report = new LogReportBuilder().build(machine);
+
+        //Assert
+        assertEquals("Because the report is rendered the same way as from the counters",
+                SalesReportPrinter.render(catalog, report.getSales()), report.render(catalog));
+        assertTrue("Because Cola Zero was sold once", report.render(catalog).contains("Cola Zero|1"));
+    }
+
+    @Test
+    public void build_should_only_read_logs_in_the_date_range() throws IOException {
+        //Arrange
+        File machine = folder.newFolder("machine");
+        write(new File(machine, "2024-01-01_log.txt"), false, "2024-01-01 09:00:05 Cola C1: $1.25 $0.00");
+        write(new File(machine, "2024-02-01_log.txt"), false, "2024-02-01 09:00:05 Cola C1: $1.25 $0.00");
+        write(new File(machine, LogRotator.MANIFEST_FILE), false, "2024-01-01_log.1.txt.gz|10|2024-01-01");
+
+        //Act
+        LogReport report = new LogReportBuilder().build(List.of(machine), LocalDate.of(2024, 2, 1), null);
+
+        //Assert
+        assertEquals("Because only February is in the range", 1, report.getFiles());
+        assertEquals("Because one Cola was sold in February", 1, report.getSales().getUnitsSold("C1"));
+    }
+
+    @Test
+    public void parseCents_should_read_formatted_amounts() {
+        //Assert
+        assertEquals("Because $1,234.50 is 123450 cents", 123450, LogReportBuilder.parseCents("$1,234.50", 0, 9));
+        assertEquals("Because $3 is 300 cents", 300, LogReportBuilder.parseCents("$3", 0, 2));
+        assertEquals("Because $1.234 isn't an amount", -1, LogReportBuilder.parseCents("$1.234", 0, 6));
+    }
+
+    private static void write(File file, boolean compressed, String... lines) throws IOException {
+        byte[] text = (String.join(System.lineSeparator(), lines) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        if (!compressed) {
+            Files.write(file.toPath(), text);
+            return;
+        }
+        try (OutputStream out = new GZIPOutputStream(new FileOutputStream(file))) {
+            out.write(text);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.techelevator.models.file_io;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+public class LogRotatorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void full_segments_should_be_compressed_and_listed_in_the_manifest() throws Exception {
+        //Arrange - each line is about 50 bytes, so a segment holds a few lines
+        String directory = folder.getRoot().getPath();
+        LogRotator rotator = new LogRotator(directory, new RotationPolicy(200, 0, 100, 1024 * 1024));
+        AsyncLogger logger = new AsyncLogger(directory, 64, AsyncLogger.OverflowPolicy.BLOCK, rotator);
+
+        //Act
+        for (int i = 0; i < 20; i++) logger.logMessage("FEED MONEY", 100, 100);
+        logger.close();
+        rotator.awaitArchived();
+
+        //Assert
+        List<String[]> manifest = rotator.readManifest();
+        assertTrue("Because 20 lines don't fit in one 200 byte segment", manifest.size() > 1);
+        int lines = Files.readAllLines(rotator.activeFile(LocalDate.now()).toPath()).size();
+        for (String[] entry : manifest) lines += countLines(new File(folder.getRoot(), entry[0]));
+        assertEquals("Because rolling must not lose any lines", 20, lines);
+    }
+
+    @Test
+    public void oldest_segments_should_be_deleted_beyond_the_retention_limit() throws Exception {
+        //Arrange
+        String directory = folder.getRoot().getPath();
+        LogRotator rotator = new LogRotator(directory, new RotationPolicy(100, 0, 2, 1024 * 1024));
+        AsyncLogger logger = new AsyncLogger(directory, 64, AsyncLogger.OverflowPolicy.BLOCK, rotator);
+
+        //Act
+        for (int i = 0; i < 20; i++) logger.logMessage("FEED MONEY", 100, 100);
+        logger.close();
+        rotator.awaitArchived();
+
+        //Assert
+        assertEquals("Because only two archived segments are kept", 2, rotator.readManifest().size());
+        assertEquals("Because deleted segments leave the directory too", 2, folder.getRoot().list((dir, name) -> name.endsWith(".gz")).length);
+    }
+
+    @Test
+    public void log_left_from_an_earlier_day_should_be_rolled_at_startup() throws Exception {
+        //Arrange
+        String directory = folder.getRoot().getPath();
+        LogRotator rotator = new LogRotator(directory);
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        Files.write(rotator.activeFile(yesterday).toPath(), List.of("2020-01-01 00:00:00 FEED MONEY: $1.00 $1.00"));
+
+        //Act
+        new AsyncLogger(directory, 16, AsyncLogger.OverflowPolicy.BLOCK, rotator).close();
+        rotator.awaitArchived();
+
+        //Assert
+        assertFalse("Because yesterday's log is closed", rotator.activeFile(yesterday).exists());
+        assertEquals("Because the closed log is in the manifest", yesterday.toString(), rotator.readManifest().get(0)[2]);
+    }
+
+    @Test
+    public void a_segment_found_twice_should_be_compressed_once_and_kept() throws Exception {
+        //Arrange - a segment rolled but not compressed, found by two loggers starting up
+        String directory = folder.getRoot().getPath();
+        LogRotator rotator = new LogRotator(directory);
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        File segment = new File(directory, yesterday + "_log.1.txt");
+        Files.write(segment.toPath(), List.of("2020-01-01 00:00:00 FEED MONEY: $1.00 $1.00"));
+
+        //Act
+        rotator.rollStale(LocalDate.now());
+        rotator.rollStale(LocalDate.now());
+        rotator.awaitArchived();
+
+        //Assert
+        assertTrue("Because a second look at the segment must not delete its .gz", new File(directory, segment.getName() + ".gz").isFile());
+        assertEquals("Because the segment is listed once", 1, rotator.readManifest().size());
+        assertEquals("Because no line is lost", 1, countLines(new File(directory, segment.getName() + ".gz")));
+    }
+
+    @Test
+    public void the_manifest_should_be_in_date_and_segment_order() throws Exception {
+        //Arrange - compressed in whatever order the directory lists them
+        String directory = folder.getRoot().getPath();
+        LogRotator rotator = new LogRotator(directory);
+        LocalDate first = LocalDate.now().minusDays(2);
+        LocalDate second = LocalDate.now().minusDays(1);
+        for (String name : List.of(second + "_log.10.txt", second + "_log.9.txt", first + "_log.1.txt")) {
+            Files.write(new File(directory, name).toPath(), List.of("2020-01-01 00:00:00 FEED MONEY: $1.00 $1.00"));
+        }
+
+        //Act
+        rotator.rollStale(LocalDate.now());
+        rotator.awaitArchived();
+
+        //Assert
+        List<String[]> manifest = rotator.readManifest();
+        assertEquals("Because the oldest day comes first", first + "_log.1.txt.gz", manifest.get(0)[0]);
+        assertEquals("Because segment 9 was closed before segment 10", second + "_log.9.txt.gz", manifest.get(1)[0]);
+        assertEquals("Because segment 10 is the newest", second + "_log.10.txt.gz", manifest.get(2)[0]);
+    }
+
+    private static int countLines(File compressed) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new FileInputStream(compressed))))) {
+            return (int) reader.lines().count();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.techelevator.models.file_io;
+
+import com.techelevator.models.Catalog;
+import com.techelevator.models.Inventory;
+import com.techelevator.models.SalesCounters;
+import com.techelevator.models.products.Product;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SalesReportPrinterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Product cola;
+    private Product colaZero;
+    private SalesCounters salesCounters;
+    private SalesReportPrinter printer;
+
+    @Before
+    public void setup() {
+        cola = new Product("C1", "Cola", 125, "Drink");
+        colaZero = new Product("C2", "Cola Zero", 150, "Drink");
+        salesCounters = new SalesCounters();
+        printer = new SalesReportPrinter(folder.getRoot().getPath(), new Inventory(new Catalog(List.of(cola, colaZero))), salesCounters);
+    }
+
+    @Test
+    public void render_should_count_products_whose_names_contain_each_other_separately() {
+        //Arrange
+        salesCounters.record(colaZero);
+        salesCounters.record(colaZero);
+
+        //Act
+        String report = printer.render();
+
+        //Assert
+        assertTrue("Because Cola wasn't sold", report.contains("Cola|0"));
+        assertTrue("Because Cola Zero was sold twice", report.contains("Cola Zero|2"));
+        assertTrue("Because two sales of $1.50 make $3.00", report.contains("**TOTAL SALES** $3.00"));
+    }
+
+    @Test
+    public void new_printer_should_write_an_empty_report() {
+        //Assert
+        assertTrue("Because a machine without a report gets an empty one", printer.checkReportExists());
+        assertTrue("Because nothing was sold", printer.render().contains("**TOTAL SALES** $0.00"));
+    }
+
+    @Test
+    public void load_should_read_back_the_totals_a_report_was_rendered_from() {
+        //Arrange
+        salesCounters.record(colaZero);
+        salesCounters.record(cola);
+        salesCounters.add("X9", 3, 0);
+        salesCounters.addRevenue(600);
+        printer.generateNewReport();
+
+        //Act
+        SalesCounters loaded = SalesReportPrinter.load(folder.getRoot().getPath(), new Catalog(List.of(cola, colaZero)));
+
+        //Assert
+        assertEquals("Because Cola Zero is matched by name", 1, loaded.getUnitsSold("C2"));
+        assertEquals("Because Cola is matched by name", 1, loaded.getUnitsSold("C1"));
+        assertEquals("Because a product listed by ID keeps its ID", 3, loaded.getUnitsSold("X9"));
+        assertEquals("Because the total is $1.25 + $1.50 + $6.00", 875, loaded.getRevenue());
+    }
+}
@@ -3,7 +3,6 @@ package com.techelevator.models.products;
 import org.junit.Before;
 import org.junit.Test;
 
-import java.math.BigDecimal;
 
 import static org.junit.Assert.*;
 
@@ -12,7 +11,7 @@ public class ProductTest {
 
     @Before
     public void setup() {
-        product = new Product("C2", "Dr. Salt", new BigDecimal("1.50"), "drink");
+        product = new Product("C2", "Dr. Salt", 150, "drink");
     }
 
     @Test
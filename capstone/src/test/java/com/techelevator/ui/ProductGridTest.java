@@ -0,0 +1,66 @@
+package com.techelevator.ui;
+
+import com.techelevator.models.Catalog;
+import com.techelevator.models.Inventory;
+import com.techelevator.models.products.Product;
+import com.techelevator.view.Colors;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ProductGridTest {
+
+    private Product cola;
+    private Inventory inventory;
+    private ProductGrid grid;
+
+    @Before
+    public void setup() {
+        cola = new Product("C1", "Cola", 125, "Drink");
+        // quantities are in slot order, and the catalog sorts by ID
+        inventory = new Inventory(new Catalog(List.of(cola, new Product("A1", "Potato Crisps", 305, "Chip"))), new int[]{5, 1});
+        grid = new ProductGrid(inventory);
+    }
+
+    @Test
+    public void render_should_reuse_the_grid_when_nothing_changed() {
+        //Act
+        String first = grid.render();
+        String second = grid.render();
+
+        //Assert
+        assertSame("Because neither the catalog nor the stock changed", first, second);
+    }
+
+    @Test
+    public void render_should_redraw_a_cell_when_its_stock_changes() throws Throwable {
+        //Arrange
+        String before = grid.render();
+
+        //Act
+        inventory.decrementQuantity(inventory.getProductByID("C1"));
+        String after = grid.render();
+
+        //Assert
+        assertTrue("Because Cola had one in stock", before.contains("| 1 in stock"));
+        assertTrue("Because the last Cola was sold", after.contains("| Out of stock"));
+        assertTrue("Because sold out products are drawn in black", after.contains(Colors.BLACK + "| Cola"));
+        assertTrue("Because the chips didn't change", after.contains("| 5 in stock"));
+    }
+
+    @Test
+    public void render_should_lay_out_the_grid_again_for_a_new_catalog() {
+        //Arrange
+        grid.render();
+
+        //Act
+        inventory.reload(new Catalog(List.of(cola, new Product("A1", "Extremely Long Potato Crisps", 305, "Chip"))));
+        String after = grid.render();
+
+        //Assert
+        assertTrue("Because cells are widened to the longest name", after.contains("| Cola                         |"));
+    }
+}
@@ -1,94 +1,102 @@
 package com.techelevator.ui;
 
-import org.junit.After;
-import org.junit.Before;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 
 import static org.junit.Assert.assertEquals;
-
-// these tests are a work in progress..
+import static org.junit.Assert.assertTrue;
 
 public class UserInputTest {
-//    private InputStream standardIn = System.in;
-//
-//    @After
-//    public void tearDown() {
-//        System.setIn(standardIn);
-//    }
-//
-//    @Test
-//    public void getSelection_should_return_whatever_user_types() {
-//        //Arrange
-//        ByteArrayInputStream in = new ByteArrayInputStream("1\n".getBytes());
-//        System.setIn(in);
-//        String expected = "1";
-//
-//        //Act
-//        String actual = UserInput.getSelection();
-//
-//        //Assert
-//        assertEquals("Because the user typed in 1", expected, actual);
-//    }
-
-//    @Test
-//    public void getPayment_should_return_whatever_user_types() {
-//        //Arrange
-//        ByteArrayInputStream in = new ByteArrayInputStream("20\n".getBytes());
-//        System.setIn(in);
-//        String expected = "20";
-//
-//        //Act
-//        String actual = UserInput.getPayment();
-//
-//        //Assert
-//        assertEquals("Because the user typed in 20", expected, actual);
-//    }
-//
-//    @Test
-//    public void addMoreMoneyPrompt_should_return_whatever_user_types() {
-//        //Arrange
-//        ByteArrayInputStream in = new ByteArrayInputStream("n\n".getBytes());
-//        System.setIn(in);
-//        String expected = "n";
-//
-//        //Act
-//        String actual = UserInput.addMoreMoneyPrompt();
-//
-//        //Assert
-//        assertEquals("Because the user typed in n", expected, actual);
-//    }
-//
-//    @Test
-//    public void buyAnotherItemPrompt_should_return_whatever_user_types() {
-//        //Arrange
-//        ByteArrayInputStream in = new ByteArrayInputStream("y\n".getBytes());
-//        System.setIn(in);
-//        String expected = "y";
-//
-//        //Act
-//        String actual = UserInput.buyAnotherItemPrompt();
-//
-//        //Assert
-//        assertEquals("Because the user typed in y", expected, actual);
-//    }
-//
-//    @Test
-//    public void getUserItemId_should_return_whatever_user_types() {
-//        //Arrange
-//        ByteArrayInputStream in = new ByteArrayInputStream("C4\n".getBytes());
-//        System.setIn(in);
-//        String expected = "C4";
-//
-//        //Act
-//        String actual = UserInput.getUserItemId();
-//
-//        //Assert
-//        assertEquals("Because the user typed in C4", expected, actual);
-//    }
-//
+
+    private ByteArrayOutputStream prompts;
+
+    // A UserInput that reads what the user typed and writes its prompts to prompts
+    private UserInput typing(String typed) {
+        prompts = new ByteArrayOutputStream();
+        return new UserInput(new ByteArrayInputStream(typed.getBytes()), new PrintStream(prompts));
+    }
+
+    @Test
+    public void getSelection_should_return_whatever_user_types() {
+        //Arrange
+        UserInput userInput = typing("1\n");
+        String expected = "1";
+
+        //Act
+        String actual = userInput.getSelection();
+
+        //Assert
+        assertEquals("Because the user typed in 1", expected, actual);
+    }
+
+    @Test
+    public void getPayment_should_return_whatever_user_types() {
+        //Arrange
+        UserInput userInput = typing("20\n");
+        String expected = "20";
+
+        //Act
+        String actual = userInput.getPayment();
+
+        //Assert
+        assertEquals("Because the user typed in 20", expected, actual);
+    }
+
+    @Test
+    public void addMoreMoneyPrompt_should_return_whatever_user_types() {
+        //Arrange
+        UserInput userInput = typing("n\n");
+        String expected = "n";
+
+        //Act
+        String actual = userInput.addMoreMoneyPrompt();
+
+        //Assert
+        assertEquals("Because the user typed in n", expected, actual);
+    }
+
+    @Test
+    public void buyAnotherItemPrompt_should_return_whatever_user_types() {
+        //Arrange
+        UserInput userInput = typing("y\n");
+        String expected = "y";
+
+        //Act
+        String actual = userInput.buyAnotherItemPrompt();
+
+        //Assert
+        assertEquals("Because the user typed in y", expected, actual);
+    }
+
+    @Test
+    public void getUserItemId_should_return_whatever_user_types() {
+        //Arrange
+        UserInput userInput = typing("C4\n");
+        String expected = "C4";
+
+        //Act
+        String actual = userInput.getUserItemId();
+
+        //Assert
+        assertEquals("Because the user typed in C4", expected, actual);
+    }
+
+    @Test
+    public void prompts_should_go_to_the_output_stream() {
+        //Arrange
+        UserInput userInput = typing("C4\n\n");
+
+        //Act
+        userInput.getUserItemId();
+        userInput.pressEnterToContinuePrompt();
+
+        //Assert
+        String written = prompts.toString();
+        assertTrue("Because the item ID prompt is written to the given stream", written.contains("Enter the ID of the item you wish to buy: "));
+        assertTrue("Because the continue prompt is written to the given stream", written.contains("Press enter to continue "));
+    }
+
 }
@@ -0,0 +1,134 @@
+package com.techelevator.view;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.Assert.*;
+
+public class ScreenTest {
+
+    private ByteArrayOutputStream terminal;
+    private PrintStream out;
+
+    @Before
+    public void setup() {
+        terminal = new ByteArrayOutputStream();
+        out = new PrintStream(new Screen(new PrintStream(terminal), 24));
+    }
+
+    @Test
+    public void repaint_should_only_write_the_lines_that_changed() {
+        //Arrange
+        draw("Vending Machine", "Balance: $1.00", "Please make a selection: ");
+        terminal.reset();
+
+        //Act
+        draw("Vending Machine", "Balance: $2.00", "Please make a selection: ");
+
+        //Assert
+        String written = terminal.toString();
+        assertFalse("Because the title didn't change", written.contains("Vending Machine"));
+        assertFalse("Because the screen isn't cleared", written.contains(Console.CLEAR_SCREEN));
+        assertTrue("Because only the changed part of the balance is written", written.contains("\033[2;11H2.00"));
+    }
+
+    @Test
+    public void repaint_should_only_write_text_added_at_the_cursor() {
+        //Arrange
+        out.print("Dispensing Cola ");
+        out.flush();
+        terminal.reset();
+
+        //Act
+        out.print(".");
+        out.flush();
+
+        //Assert
+        assertEquals("Because the dot is written where the cursor already is", ".", terminal.toString());
+    }
+
+    @Test
+    public void repaint_should_write_frames_taller_than_the_terminal_in_full() {
+        //Arrange
+        draw("Vending Machine", "Please make a selection: ");
+        terminal.reset();
+        String[] lines = new String[30];
+        for (int i = 0; i < lines.length; i++) lines[i] = "line " + i;
+
+        //Act
+        draw(lines);
+
+        //Assert
+        assertTrue("Because a frame that scrolls can't be patched with cursor moves", terminal.toString().startsWith(Console.CLEAR_SCREEN));
+    }
+
+    @Test
+    public void repaint_should_write_frames_with_lines_wider_than_the_terminal_in_full() {
+        //Arrange - a line wider than the terminal wraps, so the rows below it are one further down
+        String wide = "\033[32m" + "=".repeat(100) + "\033[0m";
+        draw("Vending Machine", wide, "Balance: $1.00", "Please make a selection: ");
+        terminal.reset();
+
+        //Act
+        draw("Vending Machine", wide, "Balance: $2.00", "Please make a selection: ");
+
+        //Assert
+        assertTrue("Because cursor moves would land a row too high", terminal.toString().startsWith(Console.CLEAR_SCREEN));
+    }
+
+    @Test
+    public void repaint_should_not_count_color_codes_towards_the_width() {
+        //Arrange - 60 columns of text in 120 characters of color codes and text
+        StringBuilder colored = new StringBuilder();
+        for (int i = 0; i < 30; i++) colored.append("\033[31m").append("ab");
+        draw("Vending Machine", colored.toString(), "Balance: $1.00", "Please make a selection: ");
+        terminal.reset();
+
+        //Act
+        draw("Vending Machine", colored.toString(), "Balance: $2.00", "Please make a selection: ");
+
+        //Assert
+        assertFalse("Because the line fits on one row of the terminal", terminal.toString().contains(Console.CLEAR_SCREEN));
+    }
+
+    @Test
+    public void repaint_should_write_every_frame_in_full_when_the_size_is_unknown() {
+        //Arrange - bash doesn't export LINES, and there may be no stty to ask
+        out = new PrintStream(new Screen(new PrintStream(terminal), 0, 0));
+        draw("Vending Machine", "Balance: $1.00", "Please make a selection: ");
+        terminal.reset();
+
+        //Act
+        draw("Vending Machine", "Balance: $2.00", "Please make a selection: ");
+
+        //Assert
+        assertTrue("Because cursor moves could land on the wrong rows of a terminal of unknown size", terminal.toString().startsWith(Console.CLEAR_SCREEN));
+    }
+
+    @Test
+    public void output_from_another_thread_should_reach_the_terminal_straight_away() throws Exception {
+        //Arrange
+        draw("Vending Machine", "Please make a selection: ");
+        terminal.reset();
+
+        //Act
+        Thread background = new Thread(() -> out.println("Could not write to the transaction journal"));
+        background.start();
+        background.join();
+        draw("Vending Machine", "Please make a selection: ");
+
+        //Assert
+        assertTrue("Because an error isn't held until the menu is drawn again", terminal.toString().startsWith("Could not write to the transaction journal"));
+        assertTrue("Because the menu is drawn again in full over the error", terminal.toString().contains(Console.CLEAR_SCREEN));
+    }
+
+    private void draw(String... lines) {
+        out.print(Console.CLEAR_SCREEN);
+        for (int i = 0; i < lines.length - 1; i++) out.println(lines[i]);
+        out.print(lines[lines.length - 1]);
+        out.flush();
+    }
+}